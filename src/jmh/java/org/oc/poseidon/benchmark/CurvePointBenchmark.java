@@ -0,0 +1,91 @@
+package org.oc.poseidon.benchmark;
+
+import org.oc.poseidon.domain.CurvePoint;
+import org.oc.poseidon.repositories.CurvePointRepository;
+import org.oc.poseidon.service.CurveEngine;
+import org.oc.poseidon.service.CurvePointService;
+import org.oc.poseidon.service.Interpolation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectures de points de courbe : accès base via {@link CurvePointService}
+ * et évaluation en mémoire via {@link CurveEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurvePointBenchmark {
+
+    private static final int CURVES = 10;
+    private static final int POINTS_PER_CURVE = 50;
+
+    private ConfigurableApplicationContext context;
+    private CurvePointService curvePointService;
+    private CurveEngine curveEngine;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("curve_point");
+        curvePointService = context.getBean(CurvePointService.class);
+        curveEngine = context.getBean(CurveEngine.class);
+
+        List<CurvePoint> points = new ArrayList<>();
+        for (int curve = 1; curve <= CURVES; curve++) {
+            for (int term = 1; term <= POINTS_PER_CURVE; term++) {
+                points.add(new CurvePoint(curve, (double) term, Math.log(term) * curve));
+            }
+        }
+        ids = context.getBean(CurvePointRepository.class).saveAll(points).stream()
+                .mapToInt(CurvePoint::getId)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object curvePointById() {
+        return curvePointService.curvePointById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Object curveAll() {
+        return curvePointService.curveAll();
+    }
+
+    @Benchmark
+    public double curveEngineLinear() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return curveEngine.valueAt(1 + random.nextInt(CURVES), random.nextDouble(POINTS_PER_CURVE));
+    }
+
+    @Benchmark
+    public double curveEngineCubicSpline() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return curveEngine.valueAt(1 + random.nextInt(CURVES), random.nextDouble(POINTS_PER_CURVE),
+                Interpolation.CUBIC_SPLINE);
+    }
+}
@@ -0,0 +1,104 @@
+package org.oc.poseidon.benchmark;
+
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.BidListRepository;
+import org.oc.poseidon.repositories.TradeRepository;
+import org.oc.poseidon.service.BidListService;
+import org.oc.poseidon.service.TradeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de l'hydratation des entités {@link Trade} et {@link BidList} par les pages de liste,
+ * comparé aux projections, selon le nombre de lignes en base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HydrationBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TradeService tradeService;
+    private BidListService bidListService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("hydration_" + rows);
+        tradeService = context.getBean(TradeService.class);
+        bidListService = context.getBean(BidListService.class);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Trade> trades = new ArrayList<>(rows);
+        List<BidList> bids = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Trade trade = new Trade("Account " + i, "Type " + (i % 10));
+            trade.setBuyQuantity((double) i);
+            trade.setSellQuantity((double) i / 2);
+            trade.setBuyPrice(100.0 + i);
+            trade.setSellPrice(101.0 + i);
+            trade.setSecurity("SEC" + (i % 100));
+            trade.setBook("Book " + (i % 5));
+            trade.setTrader("Trader");
+            trade.setStatus("OPEN");
+            trade.setTradeDate(now.toInstant());
+            trade.setCreationDate(now);
+            trade.setCreationName("benchmark");
+            trades.add(trade);
+
+            BidList bid = new BidList("Account " + i, "Type " + (i % 10), (double) i);
+            bid.setBid(99.5 + i);
+            bids.add(bid);
+        }
+        context.getBean(TradeRepository.class).saveAll(trades);
+        context.getBean(BidListRepository.class).saveAll(bids);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object tradeAll() {
+        return tradeService.tradeAll();
+    }
+
+    @Benchmark
+    public Object tradeFirstPage() {
+        return tradeService.tradePage(null, null, TradeService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object bidListAll() {
+        return bidListService.bidListAll();
+    }
+
+    @Benchmark
+    public Object bidListSummaries() {
+        return bidListService.bidListSummaries();
+    }
+}
@@ -0,0 +1,75 @@
+package org.oc.poseidon.benchmark;
+
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.repositories.BidListRepository;
+import org.oc.poseidon.service.OrderBookEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectures de carnets d'ordres dans l'état en mémoire de {@link OrderBookEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final int SECURITIES = 50;
+    private static final int BIDS = 20_000;
+
+    private ConfigurableApplicationContext context;
+    private OrderBookEngine orderBookEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("orderbook");
+        orderBookEngine = context.getBean(OrderBookEngine.class);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<BidList> bids = new ArrayList<>(BIDS);
+        for (int i = 0; i < BIDS; i++) {
+            BidList bid = new BidList("ACC", "Type", random.nextDouble(1000));
+            bid.setSecurity("SEC" + random.nextInt(SECURITIES));
+            bid.setBid(Math.rint(random.nextDouble(90, 100) * 100) / 100);
+            bid.setAsk(Math.rint(random.nextDouble(100, 110) * 100) / 100);
+            bid.setAskQuantity(random.nextDouble(1000));
+            bids.add(bid);
+        }
+        context.getBean(BidListRepository.class).saveAll(bids);
+        orderBookEngine.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object topOfBook() {
+        return orderBookEngine.topOfBook("SEC" + ThreadLocalRandom.current().nextInt(SECURITIES));
+    }
+
+    @Benchmark
+    public Object depth() {
+        return orderBookEngine.depth("SEC" + ThreadLocalRandom.current().nextInt(SECURITIES), 10);
+    }
+}
@@ -0,0 +1,77 @@
+package org.oc.poseidon.benchmark;
+
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.TradeRepository;
+import org.oc.poseidon.service.PositionEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectures de positions dans l'agrégat en mémoire de {@link PositionEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PositionBenchmark {
+
+    private static final int ACCOUNTS = 100;
+    private static final int SECURITIES = 50;
+    private static final int TRADES = 20_000;
+
+    private ConfigurableApplicationContext context;
+    private PositionEngine positionEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("position");
+        positionEngine = context.getBean(PositionEngine.class);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Trade> trades = new ArrayList<>(TRADES);
+        for (int i = 0; i < TRADES; i++) {
+            Trade trade = new Trade("ACC" + random.nextInt(ACCOUNTS), "Type");
+            trade.setBook("BOOK");
+            trade.setSecurity("SEC" + random.nextInt(SECURITIES));
+            trade.setBuyQuantity(random.nextDouble(1000));
+            trade.setBuyPrice(random.nextDouble(100));
+            trades.add(trade);
+        }
+        context.getBean(TradeRepository.class).saveAll(trades);
+        positionEngine.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object position() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return positionEngine.position("ACC" + random.nextInt(ACCOUNTS), "BOOK", "SEC" + random.nextInt(SECURITIES));
+    }
+
+    @Benchmark
+    public Object positions() {
+        return positionEngine.positions();
+    }
+}
@@ -0,0 +1,60 @@
+package org.oc.poseidon.benchmark;
+
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.service.TradeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation et insertion d'une transaction via {@link TradeService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TradeService tradeService;
+    private Trade trade;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("trade_service");
+        tradeService = context.getBean(TradeService.class);
+        trade = new Trade("Account", "Type");
+        trade.setBuyQuantity(10.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean validTrade() {
+        return tradeService.validTrade(trade);
+    }
+
+    @Benchmark
+    public boolean addTrade() {
+        Trade newTrade = new Trade("Account", "Type");
+        newTrade.setBuyQuantity(10.0);
+        return tradeService.addTrade(newTrade);
+    }
+}
@@ -0,0 +1,52 @@
+package org.oc.poseidon.benchmark;
+
+import org.oc.poseidon.validation.FlexibleDoubleEditor;
+import org.oc.poseidon.validation.password.PasswordConstraintValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de la conversion des saisies numériques et de la validation des mots de passe.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final FlexibleDoubleEditor editor = new FlexibleDoubleEditor();
+    private final PasswordConstraintValidator passwordValidator = new PasswordConstraintValidator();
+
+    @Benchmark
+    public Object flexibleDoubleWithComma() {
+        editor.setAsText("12345,678");
+        return editor.getValue();
+    }
+
+    @Benchmark
+    public Object flexibleDoubleWithDot() {
+        editor.setAsText("12345.678");
+        return editor.getValue();
+    }
+
+    @Benchmark
+    public boolean passwordValid() {
+        return passwordValidator.isValid("Password123!", null);
+    }
+
+    @Benchmark
+    public boolean passwordInvalid() {
+        return passwordValidator.isValid("password", null);
+    }
+}
@@ -7,7 +7,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Crée les comptes initiaux {@code user} et {@code admin} s'ils n'existent pas encore.
+ * <p>
+ * Chaque compte n'est recherché qu'une fois ; le mot de passe n'est haché (BCrypt) que pour un compte
+ * à créer : un redémarrage sur une base déjà initialisée ne coûte que deux lectures. Ces lectures
+ * se font dans une transaction en écriture, donc sur la base primaire et non sur une réplique en retard.
+ */
 @Component
 public class DataLoader implements CommandLineRunner {
 
@@ -23,22 +31,31 @@ public class DataLoader implements CommandLineRunner {
     }
 
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
-        // Créer des utilisateurs
+        int created = 0;
+        if (seed("user", "User", "ROLE_USER")) {
+            created++;
+        }
+        if (seed("admin", "Admin", "ROLE_ADMIN")) {
+            created++;
+        }
+
+        if (created > 0) {
+            logger.info("Données initiales insérées avec succès ({} utilisateur(s)) !", created);
+        }
+    }
+
+    private boolean seed(String username, String fullname, String role) {
+        if (userRepository.findByUsername(username) != null) {
+            return false;
+        }
         User user = new User();
-        user.setUsername("user");
+        user.setUsername(username);
         user.setPassword(passwordEncoder.encode("password"));
-        user.setFullname("User");
-        user.setRole("ROLE_USER");
+        user.setFullname(fullname);
+        user.setRole(role);
         userRepository.save(user);
-
-        User admin = new User();
-        admin.setUsername("admin");
-        admin.setPassword(passwordEncoder.encode("password"));
-        admin.setFullname("Admin");
-        admin.setRole("ROLE_ADMIN");
-        userRepository.save(admin);
-
-        logger.info("Données initiales insérées avec succès !");
+        return true;
     }
-}
\ No newline at end of file
+}
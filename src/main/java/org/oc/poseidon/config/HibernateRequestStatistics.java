@@ -0,0 +1,57 @@
+package org.oc.poseidon.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Compte, pour le thread courant, les requêtes SQL préparées par Hibernate et les entités chargées.
+ * <p>
+ * Enregistré à la fois comme {@link StatementInspector} et comme {@link Interceptor} de la
+ * session factory ; {@link RequestStatisticsFilter} remet les compteurs à zéro au début de
+ * chaque requête HTTP et publie leurs valeurs à la fin.
+ */
+public class HibernateRequestStatistics implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<Counters> COUNTERS = ThreadLocal.withInitial(Counters::new);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTERS.get().queries++;
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        COUNTERS.get().entities++;
+        return false;
+    }
+
+    /**
+     * Remet à zéro les compteurs du thread courant.
+     */
+    public void reset() {
+        Counters counters = COUNTERS.get();
+        counters.queries = 0;
+        counters.entities = 0;
+    }
+
+    /**
+     * @return le nombre de requêtes SQL préparées depuis le dernier {@link #reset()}
+     */
+    public long queries() {
+        return COUNTERS.get().queries;
+    }
+
+    /**
+     * @return le nombre d'entités chargées depuis le dernier {@link #reset()}
+     */
+    public long entities() {
+        return COUNTERS.get().entities;
+    }
+
+    private static final class Counters {
+        private long queries;
+        private long entities;
+    }
+}
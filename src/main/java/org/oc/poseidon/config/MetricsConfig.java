@@ -0,0 +1,50 @@
+package org.oc.poseidon.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration de l'instrumentation de l'application.
+ * <p>
+ * Les routes des contrôleurs sont mesurées par Spring Boot ({@code http.server.requests}),
+ * cette classe ajoute :
+ * <ul>
+ *     <li>le chronométrage des méthodes de service via {@link ServiceMetricsAspect}</li>
+ *     <li>le nombre de requêtes SQL et d'entités chargées par requête HTTP via {@link RequestStatisticsFilter}</li>
+ * </ul>
+ * L'ensemble est exposé au format Prometheus sur {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ServiceMetricsAspect serviceMetricsAspect(MeterRegistry registry) {
+        return new ServiceMetricsAspect(registry);
+    }
+
+    @Bean
+    public HibernateRequestStatistics hibernateRequestStatistics() {
+        return new HibernateRequestStatistics();
+    }
+
+    /**
+     * Branche {@link HibernateRequestStatistics} sur la session factory.
+     *
+     * @param statistics les compteurs à alimenter
+     * @return le customizer des propriétés Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateRequestStatisticsCustomizer(HibernateRequestStatistics statistics) {
+        return properties -> {
+            properties.put("hibernate.session_factory.statement_inspector", statistics);
+            properties.put("hibernate.session_factory.interceptor", statistics);
+        };
+    }
+
+    @Bean
+    public RequestStatisticsFilter requestStatisticsFilter(HibernateRequestStatistics statistics, MeterRegistry registry) {
+        return new RequestStatisticsFilter(statistics, registry);
+    }
+}
@@ -0,0 +1,111 @@
+package org.oc.poseidon.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encodeur de mots de passe exécutant le hachage BCrypt sur un pool de threads dédié et borné.
+ * <p>
+ * Il s'agit uniquement d'une limite de concurrence : le nombre de hachages simultanés est borné
+ * à la taille du pool, de sorte qu'un pic de connexions ne fait pas calculer plus de BCrypt
+ * en parallèle qu'il n'y a de cœurs, au détriment des autres requêtes. Le thread appelant
+ * n'est pas libéré pour autant : il attend la fin du hachage, file d'attente comprise, et ne
+ * traite aucune autre requête pendant ce temps. Seul un thread virtuel
+ * ({@link VirtualThreadConfig}) rend son thread porteur pendant cette attente. Si la file est pleine
+ * ou si l'attente dépasse le délai configuré, une {@link AuthenticationServiceException} est levée.
+ * <p>
+ * Les hachages sont préfixés par l'identifiant de l'algorithme ({@code {bcrypt}...}), à la manière
+ * de {@link DelegatingPasswordEncoder}. Les anciens hachages sans préfixe restent vérifiables et
+ * {@link #upgradeEncoding(String)} signale qu'ils doivent être réencodés, de même que ceux dont
+ * le coût est inférieur au coût configuré.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String BCRYPT = "bcrypt";
+
+    private final DelegatingPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    /**
+     * @param strength      le coût BCrypt (entre 4 et 31)
+     * @param threads       le nombre de hachages exécutés en parallèle
+     * @param queueCapacity le nombre de hachages pouvant attendre un thread libre
+     * @param timeout       le délai maximal d'attente d'un hachage
+     */
+    public PooledPasswordEncoder(int strength, int threads, int queueCapacity, Duration timeout) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        this.delegate = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Service de hachage des mots de passe saturé", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new AuthenticationServiceException("Délai de hachage du mot de passe dépassé", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Hachage du mot de passe interrompu", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new AuthenticationServiceException("Échec du hachage du mot de passe", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.oc.poseidon.config;
+
+import org.oc.poseidon.domain.AuditEntry;
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.BidListSummary;
+import org.oc.poseidon.domain.CurvePoint;
+import org.oc.poseidon.domain.CurvePointSummary;
+import org.oc.poseidon.domain.Rating;
+import org.oc.poseidon.domain.RatingSummary;
+import org.oc.poseidon.domain.RuleName;
+import org.oc.poseidon.domain.RuleNameSummary;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.domain.TradeSummary;
+import org.oc.poseidon.domain.User;
+import org.oc.poseidon.service.BidListImportResult;
+import org.oc.poseidon.service.ChangeEvent;
+import org.oc.poseidon.service.KeysetPage;
+import org.oc.poseidon.service.OrderBookDepth;
+import org.oc.poseidon.service.Position;
+import org.oc.poseidon.service.PriceLevel;
+import org.oc.poseidon.service.TopOfBook;
+import org.oc.poseidon.validation.password.PasswordConstraintValidator;
+import org.oc.poseidon.validation.rulesql.ReadOnlyRuleSqlValidator;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Indications d'exécution de l'image native, en complément de celles produites par Spring AOT.
+ * <p>
+ * Spring AOT ne voit pas les accès faits par réflexion depuis les gabarits Thymeleaf (formulaires
+ * liés aux entités, enregistrements affichés dans les listes), les sérialisations Jackson du flux
+ * de modifications et des meilleurs prix, ni les constructeurs appelés par les requêtes JPQL
+ * {@code select new}. Les gabarits, les ressources statiques et les migrations Flyway doivent
+ * aussi être embarqués dans l'image.
+ */
+public class PoseidonRuntimeHints implements RuntimeHintsRegistrar {
+
+    /** Entités liées aux formulaires et types affichés par les gabarits ou sérialisés en JSON. */
+    private static final Class<?>[] BOUND_TYPES = {
+            BidList.class, CurvePoint.class, Rating.class, RuleName.class, Trade.class, User.class,
+            AuditEntry.class, BidListSummary.class, CurvePointSummary.class, RatingSummary.class,
+            RuleNameSummary.class, TradeSummary.class, KeysetPage.class, Position.class, TopOfBook.class,
+            PriceLevel.class, OrderBookDepth.class, BidListImportResult.class, ChangeEvent.class
+    };
+
+    /** Projections instanciées par les requêtes JPQL {@code select new}. */
+    private static final Class<?>[] PROJECTIONS = {
+            BidListSummary.class, CurvePointSummary.class, RatingSummary.class,
+            RuleNameSummary.class, TradeSummary.class
+    };
+
+    /** Validateurs des contraintes personnalisées, instanciés par Hibernate Validator. */
+    private static final Class<?>[] CONSTRAINT_VALIDATORS = {
+            PasswordConstraintValidator.class, ReadOnlyRuleSqlValidator.class
+    };
+
+    /** Racine des expressions {@code @PreAuthorize}, classe non publique de Spring Security. */
+    private static final String METHOD_SECURITY_ROOT =
+            "org.springframework.security.access.expression.method.MethodSecurityExpressionRoot";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources()
+                .registerPattern("templates/**")
+                .registerPattern("static/**")
+                .registerPattern("db/migration/*.sql")
+                .registerPattern("messages.properties");
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), BOUND_TYPES);
+        for (Class<?> projection : PROJECTIONS) {
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        for (Class<?> validator : CONSTRAINT_VALIDATORS) {
+            hints.reflection().registerType(validator, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.reflection().registerType(TypeReference.of(METHOD_SECURITY_ROOT), MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -0,0 +1,91 @@
+package org.oc.poseidon.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routage des transactions en lecture seule vers une réplique MySQL.
+ * <p>
+ * Activé lorsque {@code poseidon.datasource.replica.url} est renseignée. La source de données
+ * principale de l'application devient alors une {@link ReplicaRoutingDataSource} sur deux pools
+ * Hikari : {@code primary} (propriétés {@code spring.datasource.*}) et {@code replica}
+ * (propriétés {@code poseidon.datasource.replica.*}).
+ * <p>
+ * Une réplique peut avoir jusqu'à {@code max-lag} de retard : les lectures dont le résultat est
+ * conservé au-delà de la requête (cache de requêtes des notations, cache des utilisateurs) ne sont
+ * pas marquées en lecture seule et restent sur la primaire.
+ */
+@Configuration
+@ConditionalOnProperty(name = "poseidon.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * @param properties les propriétés {@code spring.datasource.*}
+     * @return le pool de connexions de la base primaire
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * @param url      l'URL JDBC de la réplique
+     * @param username l'utilisateur (par défaut celui de la primaire)
+     * @param password le mot de passe (par défaut celui de la primaire)
+     * @return le pool de connexions de la réplique
+     */
+    @Bean
+    @ConfigurationProperties("poseidon.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${poseidon.datasource.replica.url}") String url,
+            @Value("${poseidon.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${poseidon.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${poseidon.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${poseidon.datasource.replica.max-lag:10s}") Duration maxLag,
+            @Value("${poseidon.datasource.replica.check-interval:5s}") Duration checkInterval) {
+        return new ReplicaRoutingDataSource(primary, replica, lagQuery, maxLag, checkInterval);
+    }
+
+    /**
+     * Source de données utilisée par JPA : la connexion n'est obtenue qu'à la première requête,
+     * lorsque le caractère lecture seule de la transaction est connu.
+     *
+     * @param routingDataSource la source de routage primaire / réplique
+     * @return la source de données principale de l'application
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
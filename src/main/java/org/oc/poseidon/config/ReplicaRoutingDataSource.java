@@ -0,0 +1,171 @@
+package org.oc.poseidon.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DataSource} envoyant les transactions en lecture seule vers une réplique
+ * et tout le reste vers la base primaire.
+ * <p>
+ * La réplique est vérifiée périodiquement : connexion, puis retard de réplication via la requête
+ * configurée (par exemple {@code SHOW REPLICA STATUS} sous MySQL). Tant qu'elle est injoignable
+ * ou que son retard dépasse le seuil, les lectures sont servies par la primaire ; il en va de même
+ * si l'obtention d'une connexion à la réplique échoue.
+ * <p>
+ * Le caractère lecture seule n'est connu qu'une fois la transaction démarrée : cette source doit
+ * être enveloppée dans une {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean replicaAvailable;
+
+    /**
+     * @param primary       la base primaire, qui reçoit les écritures
+     * @param replica       la réplique, qui reçoit les transactions en lecture seule
+     * @param lagQuery      la requête donnant le retard de réplication en secondes, ou {@code null}
+     *                      pour ne vérifier que la connexion
+     * @param maxLag        le retard au-delà duquel la réplique n'est plus utilisée
+     * @param checkInterval l'intervalle entre deux vérifications ({@link Duration#ZERO} : pas de vérification périodique)
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery,
+                                    Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+
+        checkReplica();
+        if (checkInterval.isZero()) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = checkInterval.toMillis();
+            this.scheduler.scheduleWithFixedDelay(this::checkReplica, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markUnavailable(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                markUnavailable(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * @return {@code true} si la réplique reçoit actuellement les lectures
+     */
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /**
+     * Vérifie la connexion à la réplique et son retard de réplication.
+     */
+    public void checkReplica() {
+        boolean available;
+        try (Connection connection = replica.getConnection()) {
+            long lag = lagQuery == null ? 0 : lag(connection);
+            available = lag <= maxLagSeconds;
+            if (!available && replicaAvailable) {
+                logger.warn("Réplique en retard de {} s (maximum {} s), lectures redirigées vers la primaire",
+                        lag == Long.MAX_VALUE ? "?" : lag, maxLagSeconds);
+            }
+        } catch (SQLException e) {
+            available = false;
+            if (replicaAvailable) {
+                logger.warn("Réplique injoignable, lectures redirigées vers la primaire : {}", e.getMessage());
+            }
+        }
+        if (available && !replicaAvailable) {
+            logger.info("Réplique disponible, lectures en lecture seule servies par la réplique");
+        }
+        replicaAvailable = available;
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private boolean useReplica() {
+        return replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void markUnavailable(SQLException e) {
+        if (replicaAvailable) {
+            logger.warn("Connexion à la réplique impossible, lectures redirigées vers la primaire : {}", e.getMessage());
+        }
+        replicaAvailable = false;
+    }
+
+    /**
+     * @return le retard en secondes, ou {@link Long#MAX_VALUE} si la réplication est arrêtée
+     */
+    private long lag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return Long.MAX_VALUE;
+            }
+            long lag = resultSet.getLong(lagColumn(resultSet.getMetaData()));
+            return resultSet.wasNull() ? Long.MAX_VALUE : lag;
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (String name : LAG_COLUMNS) {
+                if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,60 @@
+package org.oc.poseidon.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publie, pour chaque route, le nombre de requêtes SQL et d'entités chargées par requête HTTP.
+ * <p>
+ * Les mesures sont étiquetées avec le motif de la route ({@code /trade/update/{id}})
+ * et non l'URL brute, afin de garder un nombre de séries borné.
+ */
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    /** Nombre de requêtes SQL par requête HTTP. */
+    public static final String QUERIES_METRIC = "poseidon.http.queries";
+    /** Nombre d'entités chargées par requête HTTP. */
+    public static final String ENTITIES_METRIC = "poseidon.http.entities.loaded";
+
+    private final HibernateRequestStatistics statistics;
+    private final MeterRegistry registry;
+
+    /**
+     * @param statistics les compteurs alimentés par Hibernate
+     * @param registry   le registre Micrometer dans lequel publier les mesures
+     */
+    public RequestStatisticsFilter(HibernateRequestStatistics statistics, MeterRegistry registry) {
+        this.statistics = statistics;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        statistics.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            summary(QUERIES_METRIC, "Requêtes SQL par requête HTTP", uri).record(statistics.queries());
+            summary(ENTITIES_METRIC, "Entités chargées par requête HTTP", uri).record(statistics.entities());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
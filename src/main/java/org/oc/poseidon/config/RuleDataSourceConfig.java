@@ -0,0 +1,54 @@
+package org.oc.poseidon.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.oc.poseidon.service.RuleSqlExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Accès JDBC utilisé par le moteur de règles pour exécuter le SQL saisi dans les règles.
+ * <p>
+ * Lorsque {@code poseidon.rules.datasource.username} est renseigné, les requêtes passent par un petit
+ * pool Hikari en lecture seule ouvert avec ce compte, qui ne doit avoir que le droit {@code SELECT}
+ * sur les tables interrogées par les règles (ni {@code users}, ni {@code audit_history}).
+ * Le pool n'est pas déclaré comme {@link javax.sql.DataSource}, pour ne pas remplacer
+ * la source de données de l'application. Sans compte dédié, l'accès JDBC de l'application est utilisé.
+ */
+@Configuration
+public class RuleDataSourceConfig {
+
+    /**
+     * @param jdbcTemplate l'accès JDBC de l'application, utilisé sans compte dédié
+     * @param properties   les propriétés {@code spring.datasource.*}, dont l'URL par défaut
+     * @param url          l'URL JDBC du compte dédié (par défaut celle de l'application)
+     * @param username     l'utilisateur dédié aux règles, vide pour utiliser celui de l'application
+     * @param password     son mot de passe
+     * @param poolSize     le nombre maximal de connexions du compte dédié
+     * @return l'accès JDBC du moteur de règles
+     */
+    @Bean
+    public RuleSqlExecutor ruleSqlExecutor(
+            JdbcTemplate jdbcTemplate, DataSourceProperties properties,
+            @Value("${poseidon.rules.datasource.url:}") String url,
+            @Value("${poseidon.rules.datasource.username:}") String username,
+            @Value("${poseidon.rules.datasource.password:}") String password,
+            @Value("${poseidon.rules.datasource.maximum-pool-size:2}") int poolSize) {
+        if (username.isBlank()) {
+            return new RuleSqlExecutor(jdbcTemplate);
+        }
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url.isBlank() ? properties.determineUrl() : url)
+                .username(username)
+                .password(password)
+                .build();
+        pool.setPoolName("rules");
+        pool.setReadOnly(true);
+        pool.setMaximumPoolSize(poolSize);
+        return new RuleSqlExecutor(pool);
+    }
+}
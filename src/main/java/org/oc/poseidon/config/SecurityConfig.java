@@ -1,25 +1,33 @@
 package org.oc.poseidon.config;
 
 import org.oc.poseidon.service.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
+import static org.springframework.security.config.Customizer.withDefaults;
+
 /**
  * Configuration principale de la sécurité de l'application.
  * <p>
  * Cette classe configure :
  * <ul>
- *     <li>L'encodeur de mot de passe (BCrypt)</li>
+ *     <li>L'encodeur de mot de passe (BCrypt sur un pool de threads dédié)</li>
  *     <li>Le filtre de sécurité (pages protégées, login, logout, redirection, etc.)</li>
+ *     <li>L'accès aux endpoints de supervision Actuator, authentifié sauf {@code /actuator/health}</li>
  *     <li>L'authentification personnalisée via {@link CustomUserDetailsService}</li>
  * </ul>
  */
@@ -43,13 +51,50 @@ public class SecurityConfig {
     }
 
     /**
-     * Bean Spring pour encoder les mots de passe avec BCrypt.
+     * Bean Spring pour encoder les mots de passe avec BCrypt, sur un pool de threads borné
+     * qui limite le nombre de hachages simultanés ; la requête attend la fin de son hachage.
      *
-     * @return un encodeur BCrypt
+     * @param strength      le coût BCrypt
+     * @param threads       le nombre de hachages simultanés ({@code 0} : un par processeur)
+     * @param queueCapacity le nombre de hachages en attente acceptés
+     * @param timeout       le délai maximal d'attente d'un hachage par la requête
+     * @return un encodeur {@link PooledPasswordEncoder}
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${poseidon.security.bcrypt.strength:10}") int strength,
+            @Value("${poseidon.security.hashing.threads:0}") int threads,
+            @Value("${poseidon.security.hashing.queue-capacity:1000}") int queueCapacity,
+            @Value("${poseidon.security.hashing.timeout:10s}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PooledPasswordEncoder(strength, poolSize, queueCapacity, timeout);
+    }
+
+    /**
+     * Chaîne de filtres des endpoints Actuator, évaluée avant celle de l'application.
+     * <p>
+     * Seul {@code /actuator/health} est public. Les autres endpoints exposés ({@code prometheus},
+     * {@code startup}) exigent le rôle {@code ADMIN} ou {@code MONITORING}, par authentification HTTP Basic
+     * (configurée côté Prometheus par {@code basic_auth}), sans session ni redirection vers le formulaire.
+     *
+     * @param http l'objet de configuration de la sécurité HTTP
+     * @return la configuration finalisée de la sécurité des endpoints Actuator
+     * @throws Exception en cas d'erreur de configuration
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeHttpRequests(requests -> requests
+                        .requestMatchers(EndpointRequest.to("health")).permitAll()
+                        .anyRequest().hasAnyRole("ADMIN", "MONITORING")
+                )
+                .httpBasic(withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(csrf -> csrf.disable());
+
+        return http.build();
     }
 
     /**
@@ -70,6 +115,7 @@ public class SecurityConfig {
      * @throws Exception en cas d'erreur de configuration
      */
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .securityMatcher("/**")
@@ -97,6 +143,9 @@ public class SecurityConfig {
 
     /**
      * Déclare le gestionnaire d'authentification avec le provider personnalisé.
+     * <p>
+     * Lorsqu'un hachage doit être mis à niveau (ancien format ou coût inférieur),
+     * le mot de passe est réencodé lors de la connexion via {@link CustomUserDetailsService}.
      *
      * @param passwordEncoder l'encodeur de mot de passe à utiliser
      * @return le {@link AuthenticationManager} configuré
@@ -106,6 +155,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(this.userDetailService);
         authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationProvider.setUserDetailsPasswordService(this.userDetailService);
 
         return new ProviderManager(authenticationProvider);
     }
@@ -0,0 +1,103 @@
+package org.oc.poseidon.config;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect chronométrant chaque méthode publique des services de l'application.
+ * <p>
+ * Chaque appel alimente le timer {@value #METRIC_NAME}, étiqueté par classe, méthode
+ * et exception levée ({@code none} en cas de succès) : on obtient ainsi le nombre d'appels,
+ * la durée totale et maximale et le taux d'erreur de chaque méthode. Les timers sont créés
+ * une fois par méthode et par type d'exception, puis réutilisés. Leur histogramme de latence
+ * est activé par configuration, comme pour les routes HTTP
+ * ({@code management.metrics.distribution.percentiles-histogram.poseidon.service}).
+ * <p>
+ * Les moteurs en mémoire ({@code *Engine} : courbes, carnets d'ordres, positions, règles) ne sont
+ * pas chronométrés : leurs lectures, très fréquentes et sans allocation, coûteraient moins
+ * que leur mesure.
+ */
+@Aspect
+public class ServiceMetricsAspect {
+
+    /** Nom du timer publié pour les méthodes de service. */
+    public static final String METRIC_NAME = "poseidon.service";
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry le registre Micrometer dans lequel publier les mesures
+     */
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+        this.clock = registry.config().clock();
+    }
+
+    /**
+     * Mesure la durée d'une méthode publique d'un bean du package {@code service}, hors moteurs en mémoire.
+     *
+     * @param joinPoint l'appel intercepté
+     * @return le résultat de la méthode
+     * @throws Throwable l'exception levée par la méthode, relancée telle quelle
+     */
+    @Around("execution(public * org.oc.poseidon.service..*.*(..)) && !within(org.oc.poseidon.service..*Engine)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = clock.monotonicTime();
+        try {
+            Object result = joinPoint.proceed();
+            timers(joinPoint).success.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timers(joinPoint).failure(e.getClass()).record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private MethodTimers timers(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        return timers.computeIfAbsent(signature.getMethod(), method -> new MethodTimers(
+                signature.getDeclaringType().getSimpleName(), signature.getName()));
+    }
+
+    /**
+     * Timers d'une méthode : un pour les appels réussis, un par type d'exception levée.
+     */
+    private final class MethodTimers {
+
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodTimers(String className, String methodName) {
+            this.className = className;
+            this.methodName = methodName;
+            this.success = timer("none");
+        }
+
+        private Timer failure(Class<?> exceptionType) {
+            return failures.computeIfAbsent(exceptionType, type -> timer(type.getSimpleName()));
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Durée des appels aux méthodes de service")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("exception", exception)
+                    .register(registry);
+        }
+    }
+}
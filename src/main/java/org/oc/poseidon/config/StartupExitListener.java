@@ -0,0 +1,40 @@
+package org.oc.poseidon.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Arrête l'application dès qu'elle est prête, après avoir journalisé la durée de démarrage.
+ * <p>
+ * Activé par la propriété {@code poseidon.startup.exit=true}, utilisée par le profil Maven {@code cds} :
+ * le démarrage d'entraînement produit l'archive CDS à l'arrêt de la JVM, puis les démarrages
+ * avec et sans archive sont chronométrés de la même manière.
+ */
+@Component
+@ConditionalOnProperty(name = "poseidon.startup.exit", havingValue = "true")
+public class StartupExitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final Logger logger = LoggerFactory.getLogger(StartupExitListener.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        logger.info("Application prête en {} ms depuis le lancement de la JVM (archive CDS : {})",
+                ManagementFactory.getRuntimeMXBean().getUptime(), sharedArchive());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+    private static String sharedArchive() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> argument.startsWith("-XX:SharedArchiveFile="))
+                .map(argument -> argument.substring("-XX:SharedArchiveFile=".length()))
+                .findFirst()
+                .orElse("aucune");
+    }
+}
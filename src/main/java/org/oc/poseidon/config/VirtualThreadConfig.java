@@ -0,0 +1,90 @@
+package org.oc.poseidon.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Exécution des requêtes HTTP et des traitements asynchrones de Spring MVC sur des threads virtuels.
+ * <p>
+ * Activée par la propriété {@code poseidon.threads.virtual.enabled=true}, lue au démarrage.
+ * Le temps de traitement étant surtout passé à attendre MySQL, chaque requête dispose de son
+ * propre thread virtuel au lieu de se disputer les 200 threads du pool Tomcat.
+ * <p>
+ * Pour ne pas submerger le pool HikariCP, la source de données est enveloppée dans une
+ * {@link ConnectionLimitingDataSource} bornée à la taille maximale du pool.
+ * <p>
+ * Épinglage : un thread virtuel qui bloque dans un bloc {@code synchronized} reste attaché à son
+ * thread porteur, dont le nombre est celui des cœurs. Le pilote MySQL Connector/J 8.0.x protège
+ * ses entrées/sorties par des blocs {@code synchronized} : chaque requête SQL épingle son thread,
+ * et le nombre de requêtes en cours reste borné par le nombre de porteurs tant que le pilote
+ * n'est pas passé en 9.x, qui utilise des {@code ReentrantLock}. Le code de l'application
+ * n'ajoute pas d'épinglage : les moteurs en mémoire sérialisent leurs écritures avec des
+ * {@code ReentrantLock}. L'option {@code -Djdk.tracePinnedThreads=short} signale les épinglages restants.
+ */
+@Configuration
+@ConditionalOnProperty(name = "poseidon.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /** Taille du pool Hikari lorsqu'elle n'est pas configurée ({@code maximumPoolSize} vaut alors -1 avant le démarrage du pool). */
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    private final Executor virtualThreads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("virtual-", 0).factory());
+
+    /**
+     * Remplace le pool de threads des connecteurs Tomcat par un thread virtuel par requête.
+     *
+     * @return le customizer du protocole Tomcat
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreads);
+    }
+
+    /**
+     * Exécuteur utilisé pour les traitements asynchrones de Spring MVC (exports en flux)
+     * et remplaçant le pool créé par défaut par Spring Boot.
+     *
+     * @return un exécuteur démarrant un thread virtuel par tâche
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(virtualThreads);
+    }
+
+    /**
+     * Enveloppe la source de données Hikari dans un limiteur de connexions.
+     *
+     * @param environment l'environnement, pour lire le délai d'attente d'une connexion
+     * @return le post-processeur de la source de données
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    Duration timeout = environment.getProperty("poseidon.threads.virtual.connection-timeout",
+                            Duration.class, Duration.ofMillis(hikari.getConnectionTimeout()));
+                    int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+                    return new ConnectionLimitingDataSource(hikari, poolSize, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,17 +2,31 @@ package org.oc.poseidon.controllers;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.service.BidListImportResult;
+import org.oc.poseidon.service.BidListImportService;
 import org.oc.poseidon.service.BidListService;
+import org.oc.poseidon.service.BulkCriteria;
+import org.oc.poseidon.service.BulkEditService;
+import org.oc.poseidon.service.DateRange;
 import org.oc.poseidon.validation.FlexibleDoubleEditor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Contrôleur Spring MVC pour gérer les opérations CRUD sur l'entité {@link BidList}.
  * <p>
@@ -26,6 +40,9 @@ import jakarta.validation.Valid;
  *     <li>GET /bidList/update/{id}</li>
  *     <li>POST /bidList/update/{id}</li>
  *     <li>GET /bidList/delete/{id}</li>
+ *     <li>POST /bidList/import</li>
+ *     <li>POST /bidList/bulk/delete</li>
+ *     <li>POST /bidList/bulk/update</li>
  * </ul>
  */
 @PreAuthorize("hasRole('ADMIN')")
@@ -33,28 +50,42 @@ import jakarta.validation.Valid;
 public class BidListController {
 
     private final BidListService bidListService;
+    private final BidListImportService bidListImportService;
+    private final BulkEditService bulkEditService;
     private static final String REDIRECT_BIDLIST = "redirect:/bidList/list";
 
     /**
-     * Constructeur avec injection du service métier.
+     * Constructeur avec injection des services métier.
      *
-     * @param bidListService service pour gérer les bidLists
+     * @param bidListService       service pour gérer les bidLists
+     * @param bidListImportService service d'import en masse des bidLists
+     * @param bulkEditService      service des suppressions et mises à jour en masse
      */
-    public BidListController(BidListService bidListService) {
+    public BidListController(BidListService bidListService, BidListImportService bidListImportService,
+                             BulkEditService bulkEditService) {
         this.bidListService = bidListService;
+        this.bidListImportService = bidListImportService;
+        this.bulkEditService = bulkEditService;
     }
 
     /**
-     * Affiche la liste des {@link BidList}.
+     * Affiche la liste des {@link BidList}, éventuellement limitée aux offres datées d'une plage de journées.
      *
      * @param request la requête HTTP (utilisée pour obtenir l'utilisateur connecté)
+     * @param from    première journée affichée, optionnelle
+     * @param to      dernière journée affichée, optionnelle ; {@code from} par défaut
      * @param model   le modèle envoyé à la vue
      * @return la vue "bidList/list"
      */
     @RequestMapping("/bidList/list")
-    public String home(HttpServletRequest request, Model model) {
+    public String home(HttpServletRequest request,
+                       @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                       @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                       Model model) {
         model.addAttribute("remoteUser", request.getRemoteUser());
-        model.addAttribute("bidLists", bidListService.bidListAll());
+        model.addAttribute("from", from);
+        model.addAttribute("to", to);
+        model.addAttribute("bidLists", bidListService.bidListSummaries(DateRange.ofDays(from, to)));
         return "bidList/list";
     }
 
@@ -110,8 +141,12 @@ public class BidListController {
      */
     @PostMapping("/bidList/update/{id}")
     public String updateBid(@PathVariable("id") Integer id, @Valid BidList bidList, BindingResult result) {
-        if (!result.hasErrors() && bidListService.updateBidList(bidList, id)) {
-            return REDIRECT_BIDLIST;
+        try {
+            if (!result.hasErrors() && bidListService.updateBidList(bidList, id)) {
+                return REDIRECT_BIDLIST;
+            }
+        } catch (OptimisticLockingFailureException e) {
+            result.reject("update.conflict", "Cet élément a été modifié ou supprimé depuis l'ouverture du formulaire.");
         }
         return "bidList/update";
     }
@@ -128,6 +163,86 @@ public class BidListController {
         return REDIRECT_BIDLIST;
     }
 
+    /**
+     * Importe en masse des {@link BidList} depuis un fichier CSV ({@code account,type,bidQuantity}).
+     *
+     * @param file               le fichier CSV envoyé
+     * @param redirectAttributes attributs transmis à la liste après redirection
+     * @return redirection vers la liste avec le bilan de l'import
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    @PostMapping("/bidList/import")
+    public String importBids(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes)
+            throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            BidListImportResult result = bidListImportService.importCsv(in);
+            redirectAttributes.addFlashAttribute("importResult", result);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("importError", e.getMessage());
+        }
+        return REDIRECT_BIDLIST;
+    }
+
+    /**
+     * Supprime en masse les {@link BidList} désignés par leurs identifiants ou, à défaut, par des critères.
+     *
+     * @param ids                identifiants des bids, optionnels
+     * @param account            compte des bids, optionnel
+     * @param book               book des bids, optionnel
+     * @param from               première journée d'offre, optionnelle
+     * @param to                 dernière journée d'offre, optionnelle ; {@code from} par défaut
+     * @param redirectAttributes attributs transmis à la liste après redirection
+     * @return redirection vers la liste avec le nombre de bids supprimés
+     */
+    @PostMapping("/bidList/bulk/delete")
+    public String bulkDelete(@RequestParam(value = "ids", required = false) List<Integer> ids,
+                             @RequestParam(value = "account", required = false) String account,
+                             @RequestParam(value = "book", required = false) String book,
+                             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int deleted = ids == null || ids.isEmpty()
+                    ? bulkEditService.deleteBidLists(new BulkCriteria(account, book, DateRange.ofDays(from, to)))
+                    : bulkEditService.deleteBidLists(ids);
+            redirectAttributes.addFlashAttribute("bulkDeleted", deleted);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return REDIRECT_BIDLIST;
+    }
+
+    /**
+     * Change en masse le statut des {@link BidList} désignés par leurs identifiants ou, à défaut, par des critères.
+     *
+     * @param ids                identifiants des bids, optionnels
+     * @param account            compte des bids, optionnel
+     * @param book               book des bids, optionnel
+     * @param from               première journée d'offre, optionnelle
+     * @param to                 dernière journée d'offre, optionnelle ; {@code from} par défaut
+     * @param status             le nouveau statut
+     * @param redirectAttributes attributs transmis à la liste après redirection
+     * @return redirection vers la liste avec le nombre de bids modifiés
+     */
+    @PostMapping("/bidList/bulk/update")
+    public String bulkUpdate(@RequestParam(value = "ids", required = false) List<Integer> ids,
+                             @RequestParam(value = "account", required = false) String account,
+                             @RequestParam(value = "book", required = false) String book,
+                             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             @RequestParam(value = "status", required = false) String status,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int updated = ids == null || ids.isEmpty()
+                    ? bulkEditService.updateBidListStatus(new BulkCriteria(account, book, DateRange.ofDays(from, to)), status)
+                    : bulkEditService.updateBidListStatus(ids, status);
+            redirectAttributes.addFlashAttribute("bulkUpdated", updated);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return REDIRECT_BIDLIST;
+    }
+
     /**
      * Permet de modifier une value de format double qu'elle soit accepter (12.5 et 12,5)
      * @param binder
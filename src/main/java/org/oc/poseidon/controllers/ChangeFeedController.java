@@ -0,0 +1,69 @@
+package org.oc.poseidon.controllers;
+
+import org.oc.poseidon.service.ChangeFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+/**
+ * Contrôleur des flux d'événements serveur (SSE) des pages de liste.
+ * <p>
+ * Les pages de liste s'abonnent au flux de leur entité et appliquent chaque modification
+ * à la ligne concernée, au lieu de recharger toute la table. Passé le délai de connexion,
+ * le navigateur se reconnecte et recharge la page pour rattraper les modifications manquées.
+ * <p>
+ * Gère les routes suivantes :
+ * <ul>
+ *     <li>GET /trade/feed</li>
+ *     <li>GET /bidList/feed</li>
+ * </ul>
+ */
+@PreAuthorize("hasRole('ADMIN')")
+@Controller
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+    private final Duration timeout;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param changeFeed le flux des modifications
+     * @param timeout    la durée maximale d'une connexion SSE
+     */
+    public ChangeFeedController(ChangeFeed changeFeed, @Value("${poseidon.feed.timeout:30m}") Duration timeout) {
+        this.changeFeed = changeFeed;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Ouvre le flux des modifications de transactions.
+     *
+     * @return la connexion SSE
+     */
+    @GetMapping(path = "/trade/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tradeFeed() {
+        return subscribe(ChangeFeed.TRADE);
+    }
+
+    /**
+     * Ouvre le flux des modifications d'offres.
+     *
+     * @return la connexion SSE
+     */
+    @GetMapping(path = "/bidList/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter bidListFeed() {
+        return subscribe(ChangeFeed.BID_LIST);
+    }
+
+    private SseEmitter subscribe(String entity) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        changeFeed.subscribe(entity, emitter);
+        return emitter;
+    }
+}
@@ -0,0 +1,53 @@
+package org.oc.poseidon.controllers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.oc.poseidon.service.ListVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Requêtes conditionnelles des pages de liste.
+ * <p>
+ * La page est stockée par le navigateur seul ({@code private}) et revalidée à chaque affichage
+ * ({@code no-cache}) : si l'ETag envoyé correspond à la {@link ListVersion} courante, la réponse
+ * est un {@code 304 Not Modified} sans requête ni rendu.
+ * <p>
+ * La date de dernière modification est tenue en mémoire par chaque instance et tronquée à la seconde :
+ * une écriture dans la même seconde, ou une requête servie par une autre instance, ne la fait pas
+ * forcément avancer. Elle est envoyée à titre indicatif, mais un {@code If-Modified-Since} sans
+ * {@code If-None-Match} n'aboutit jamais à un 304.
+ */
+final class ConditionalGet {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Renseigne les en-têtes de validation de la page et vérifie si la copie du client est à jour.
+     *
+     * @param request la requête, dont la réponse reçoit les en-têtes et, le cas échéant, le statut 304
+     * @param version la version courante de la liste affichée
+     * @return true si la réponse 304 est prête et que la page ne doit pas être rendue
+     */
+    static boolean isNotModified(ServletWebRequest request, ListVersion version) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        HttpSession session = request.getRequest().getSession(false);
+        String variant = request.getRemoteUser() + "|" + (session == null ? "" : session.getId());
+        String etag = version.etag(variant);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            return request.checkNotModified(etag, version.lastModified());
+        }
+        request.checkNotModified(etag);
+        if (response != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, version.lastModified());
+        }
+        return false;
+    }
+}
@@ -1,15 +1,16 @@
 package org.oc.poseidon.controllers;
 
-import jakarta.servlet.http.HttpServletRequest;
 import org.oc.poseidon.domain.CurvePoint;
 import org.oc.poseidon.service.CurvePointService;
 import org.oc.poseidon.validation.FlexibleDoubleEditor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import jakarta.validation.Valid;
 
@@ -46,15 +47,19 @@ public class CurvePointController {
 
     /**
      * Affiche la liste des {@link CurvePoint}.
+     * Répond {@code 304 Not Modified}, sans requête ni rendu, si la copie du client est à jour.
      *
      * @param request la requête HTTP (pour obtenir l'utilisateur connecté)
      * @param model   modèle de données pour la vue
-     * @return la vue "curvePoint/list"
+     * @return la vue "curvePoint/list", ou {@code null} pour une réponse 304
      */
     @RequestMapping("/curvePoint/list")
-    public String home(HttpServletRequest request, Model model) {
+    public String home(ServletWebRequest request, Model model) {
+        if (ConditionalGet.isNotModified(request, curvePointService.listVersion())) {
+            return null;
+        }
         model.addAttribute("remoteUser", request.getRemoteUser());
-        model.addAttribute("curvePoints", curvePointService.curveAll());
+        model.addAttribute("curvePoints", curvePointService.curveSummaries());
         return "curvePoint/list";
     }
 
@@ -112,8 +117,12 @@ public class CurvePointController {
     @PostMapping("/curvePoint/update/{id}")
     public String updateBid(@PathVariable("id") Integer id, @Valid CurvePoint curvePoint,
                             BindingResult result, Model model) {
-        if (!result.hasErrors() && curvePointService.updateCurvePoint(curvePoint, id)) {
-            return REDIRECT_CURVEPOINTLIST;
+        try {
+            if (!result.hasErrors() && curvePointService.updateCurvePoint(curvePoint, id)) {
+                return REDIRECT_CURVEPOINTLIST;
+            }
+        } catch (OptimisticLockingFailureException e) {
+            result.reject("update.conflict", "Cet élément a été modifié ou supprimé depuis l'ouverture du formulaire.");
         }
         return "curvePoint/update";
     }
@@ -0,0 +1,105 @@
+package org.oc.poseidon.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.oc.poseidon.service.OrderBookEngine;
+import org.oc.poseidon.service.TopOfBook;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * Contrôleur des carnets d'ordres par titre.
+ * <p>
+ * Les carnets sont lus dans l'état en mémoire de {@link OrderBookEngine}, sans requête SQL.
+ * <p>
+ * Gère les routes suivantes :
+ * <ul>
+ *     <li>GET /bidList/books</li>
+ *     <li>GET /bidList/books/{security}</li>
+ *     <li>GET /bidList/books/{security}/top</li>
+ *     <li>POST /bidList/books/rebuild</li>
+ * </ul>
+ */
+@PreAuthorize("hasRole('ADMIN')")
+@Controller
+public class OrderBookController {
+
+    private static final int DEFAULT_LEVELS = 10;
+    private static final int MAX_LEVELS = 100;
+
+    private final OrderBookEngine orderBookEngine;
+
+    /**
+     * Constructeur avec injection du moteur {@link OrderBookEngine}.
+     *
+     * @param orderBookEngine les carnets d'ordres
+     */
+    public OrderBookController(OrderBookEngine orderBookEngine) {
+        this.orderBookEngine = orderBookEngine;
+    }
+
+    /**
+     * Affiche les meilleurs prix de chaque titre.
+     *
+     * @param request la requête HTTP pour obtenir l'utilisateur connecté
+     * @param model   le modèle utilisé pour transmettre les données à la vue
+     * @return la vue "bidList/books"
+     */
+    @GetMapping("/bidList/books")
+    public String books(HttpServletRequest request, Model model) {
+        model.addAttribute("books", orderBookEngine.topOfBooks());
+        model.addAttribute("remoteUser", request.getRemoteUser());
+        return "bidList/books";
+    }
+
+    /**
+     * Affiche la profondeur du carnet d'un titre.
+     *
+     * @param security le titre
+     * @param levels   le nombre de niveaux de prix par côté, borné à {@value #MAX_LEVELS}
+     * @param request  la requête HTTP pour obtenir l'utilisateur connecté
+     * @param model    le modèle utilisé pour transmettre les données à la vue
+     * @return la vue "bidList/book", ou redirection vers la liste des carnets si le titre est inconnu
+     */
+    @GetMapping("/bidList/books/{security}")
+    public String book(@PathVariable("security") String security,
+                       @RequestParam(name = "levels", defaultValue = "" + DEFAULT_LEVELS) int levels,
+                       HttpServletRequest request, Model model) {
+        return orderBookEngine.depth(security, Math.min(Math.max(levels, 1), MAX_LEVELS))
+                .map(depth -> {
+                    model.addAttribute("depth", depth);
+                    model.addAttribute("remoteUser", request.getRemoteUser());
+                    return "bidList/book";
+                })
+                .orElse("redirect:/bidList/books");
+    }
+
+    /**
+     * Renvoie en JSON les meilleurs prix d'un titre.
+     *
+     * @param security le titre
+     * @return les meilleurs prix, ou 404 si aucune offre ne porte sur ce titre
+     */
+    @GetMapping("/bidList/books/{security}/top")
+    public ResponseEntity<TopOfBook> top(@PathVariable("security") String security) {
+        return ResponseEntity.of(orderBookEngine.topOfBook(security));
+    }
+
+    /**
+     * Reconstruit les carnets d'ordres à partir de la base.
+     *
+     * @param redirectAttributes attributs transmis à la page des carnets
+     * @return redirection vers la page des carnets
+     */
+    @PostMapping("/bidList/books/rebuild")
+    public String rebuild(RedirectAttributes redirectAttributes) {
+        redirectAttributes.addFlashAttribute("rebuiltBids", orderBookEngine.rebuild());
+        return "redirect:/bidList/books";
+    }
+}
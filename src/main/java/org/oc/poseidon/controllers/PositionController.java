@@ -0,0 +1,63 @@
+package org.oc.poseidon.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.oc.poseidon.service.PositionEngine;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * Contrôleur des positions agrégées par compte, book et titre.
+ * <p>
+ * Les positions sont lues dans l'agrégat en mémoire de {@link PositionEngine}, sans requête SQL.
+ * <p>
+ * Gère les routes suivantes :
+ * <ul>
+ *     <li>GET /trade/positions</li>
+ *     <li>POST /trade/positions/rebuild</li>
+ * </ul>
+ */
+@PreAuthorize("hasRole('ADMIN')")
+@Controller
+public class PositionController {
+
+    private final PositionEngine positionEngine;
+
+    /**
+     * Constructeur avec injection du moteur {@link PositionEngine}.
+     *
+     * @param positionEngine l'agrégat des positions
+     */
+    public PositionController(PositionEngine positionEngine) {
+        this.positionEngine = positionEngine;
+    }
+
+    /**
+     * Affiche l'instantané des positions.
+     *
+     * @param request la requête HTTP pour obtenir l'utilisateur connecté
+     * @param model   le modèle utilisé pour transmettre les données à la vue
+     * @return la vue "trade/positions"
+     */
+    @GetMapping("/trade/positions")
+    public String positions(HttpServletRequest request, Model model) {
+        model.addAttribute("positions", positionEngine.positions());
+        model.addAttribute("remoteUser", request.getRemoteUser());
+        return "trade/positions";
+    }
+
+    /**
+     * Reconstruit l'agrégat des positions à partir de la base.
+     *
+     * @param redirectAttributes attributs transmis à la page des positions
+     * @return redirection vers la page des positions
+     */
+    @PostMapping("/trade/positions/rebuild")
+    public String rebuild(RedirectAttributes redirectAttributes) {
+        redirectAttributes.addFlashAttribute("rebuiltTrades", positionEngine.rebuild());
+        return "redirect:/trade/positions";
+    }
+}
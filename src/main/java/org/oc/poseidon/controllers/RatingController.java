@@ -1,13 +1,14 @@
 package org.oc.poseidon.controllers;
 
-import jakarta.servlet.http.HttpServletRequest;
 import org.oc.poseidon.domain.Rating;
 import org.oc.poseidon.service.RatingService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import jakarta.validation.Valid;
 
@@ -44,15 +45,19 @@ public class RatingController {
 
     /**
      * Affiche la liste des ratings.
+     * Répond {@code 304 Not Modified}, sans requête ni rendu, si la copie du client est à jour.
      *
      * @param request la requête HTTP pour obtenir l'utilisateur connecté
      * @param model   le modèle utilisé pour passer les attributs à la vue
-     * @return le nom de la vue "rating/list"
+     * @return le nom de la vue "rating/list", ou {@code null} pour une réponse 304
      */
     @RequestMapping("/rating/list")
-    public String home(HttpServletRequest request, Model model) {
+    public String home(ServletWebRequest request, Model model) {
+        if (ConditionalGet.isNotModified(request, ratingService.listVersion())) {
+            return null;
+        }
         model.addAttribute("remoteUser", request.getRemoteUser());
-        model.addAttribute("ratings", ratingService.ratingAll());
+        model.addAttribute("ratings", ratingService.ratingSummaries());
         return "rating/list";
     }
 
@@ -111,8 +116,12 @@ public class RatingController {
     @PostMapping("/rating/update/{id}")
     public String updateRating(@PathVariable("id") Integer id, @Valid Rating rating,
                                BindingResult result, Model model) {
-        if (!result.hasErrors() && ratingService.updateRating(rating, id)) {
-            return REDIRECT_RATING;
+        try {
+            if (!result.hasErrors() && ratingService.updateRating(rating, id)) {
+                return REDIRECT_RATING;
+            }
+        } catch (OptimisticLockingFailureException e) {
+            result.reject("update.conflict", "Cet élément a été modifié ou supprimé depuis l'ouverture du formulaire.");
         }
         return "rating/update";
     }
@@ -1,8 +1,8 @@
 package org.oc.poseidon.controllers;
 
-import jakarta.servlet.http.HttpServletRequest;
 import org.oc.poseidon.domain.RuleName;
 import org.oc.poseidon.service.RuleNameService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import jakarta.validation.Valid;
 
@@ -47,15 +48,19 @@ public class RuleNameController {
 
     /**
      * Affiche la liste des règles (RuleName).
+     * Répond {@code 304 Not Modified}, sans requête ni rendu, si la copie du client est à jour.
      *
      * @param request la requête HTTP permettant de récupérer l'utilisateur connecté
      * @param model   le modèle utilisé pour passer les données à la vue
-     * @return le nom de la vue "ruleName/list"
+     * @return le nom de la vue "ruleName/list", ou {@code null} pour une réponse 304
      */
     @RequestMapping("/ruleName/list")
-    public String home(HttpServletRequest request, Model model) {
+    public String home(ServletWebRequest request, Model model) {
+        if (ConditionalGet.isNotModified(request, ruleNameService.listVersion())) {
+            return null;
+        }
         model.addAttribute("remoteUser", request.getRemoteUser());
-        model.addAttribute("ruleNames", ruleNameService.ruleNameAll());
+        model.addAttribute("ruleNames", ruleNameService.ruleNameSummaries());
         return "ruleName/list";
     }
 
@@ -112,8 +117,12 @@ public class RuleNameController {
     @PostMapping("/ruleName/update/{id}")
     public String updateRuleName(@PathVariable("id") Integer id, @Valid RuleName ruleName,
                                  BindingResult result) {
-        if (!result.hasErrors() && ruleNameService.updateRuleName(ruleName, id)) {
-            return REDIRECT_RULE_NAME;
+        try {
+            if (!result.hasErrors() && ruleNameService.updateRuleName(ruleName, id)) {
+                return REDIRECT_RULE_NAME;
+            }
+        } catch (OptimisticLockingFailureException e) {
+            result.reject("update.conflict", "Cet élément a été modifié ou supprimé depuis l'ouverture du formulaire.");
         }
         return "ruleName/update";
     }
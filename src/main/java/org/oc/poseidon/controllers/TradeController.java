@@ -2,17 +2,28 @@ package org.oc.poseidon.controllers;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.domain.TradeSummary;
+import org.oc.poseidon.service.BulkCriteria;
+import org.oc.poseidon.service.BulkEditService;
+import org.oc.poseidon.service.DateRange;
+import org.oc.poseidon.service.KeysetPage;
 import org.oc.poseidon.service.TradeService;
 import org.oc.poseidon.validation.FlexibleDoubleEditor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Contrôleur Spring MVC pour la gestion des entités {@link Trade}.
  * <p>
@@ -26,6 +37,9 @@ import jakarta.validation.Valid;
  *     <li>GET /trade/update/{id}</li>
  *     <li>POST /trade/update/{id}</li>
  *     <li>GET /trade/delete/{id}</li>
+ *     <li>GET /trade/history/{id}</li>
+ *     <li>POST /trade/bulk/delete</li>
+ *     <li>POST /trade/bulk/update</li>
  * </ul>
  */
 @PreAuthorize("hasRole('ADMIN')")
@@ -33,28 +47,47 @@ import jakarta.validation.Valid;
 public class TradeController {
 
     private final TradeService tradeService;
+    private final BulkEditService bulkEditService;
     private static final String REDIRECT_TRADE = "redirect:/trade/list";
 
     /**
-     * Constructeur avec injection du service {@link TradeService}.
+     * Constructeur avec injection des services métier.
      *
-     * @param tradeService le service métier pour la gestion des transactions
+     * @param tradeService    le service métier pour la gestion des transactions
+     * @param bulkEditService le service des suppressions et mises à jour en masse
      */
-    public TradeController(TradeService tradeService) {
+    public TradeController(TradeService tradeService, BulkEditService bulkEditService) {
         this.tradeService = tradeService;
+        this.bulkEditService = bulkEditService;
     }
 
     /**
-     * Affiche la liste de toutes les transactions.
+     * Affiche une page de la liste des transactions (pagination keyset sur l'identifiant),
+     * éventuellement limitée aux transactions datées d'une plage de journées.
      *
      * @param request la requête HTTP pour obtenir l'utilisateur connecté
+     * @param after   curseur de la page suivante, optionnel
+     * @param before  curseur de la page précédente, optionnel
+     * @param size    nombre de transactions par page
+     * @param from    première journée affichée, optionnelle
+     * @param to      dernière journée affichée, optionnelle ; {@code from} par défaut
      * @param model   le modèle utilisé pour transmettre les données à la vue
      * @return la vue "trade/list"
      */
     @RequestMapping("/trade/list")
-    public String home(HttpServletRequest request, Model model) {
+    public String home(HttpServletRequest request,
+                       @RequestParam(value = "after", required = false) Integer after,
+                       @RequestParam(value = "before", required = false) Integer before,
+                       @RequestParam(value = "size", defaultValue = "" + TradeService.DEFAULT_PAGE_SIZE) int size,
+                       @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                       @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                       Model model) {
+        KeysetPage<TradeSummary> page = tradeService.tradePage(after, before, size, DateRange.ofDays(from, to));
         model.addAttribute("remoteUser", request.getRemoteUser());
-        model.addAttribute("trades", tradeService.tradeAll());
+        model.addAttribute("from", from);
+        model.addAttribute("to", to);
+        model.addAttribute("trades", page.content());
+        model.addAttribute("page", page);
         return "trade/list";
     }
 
@@ -110,8 +143,12 @@ public class TradeController {
      */
     @PostMapping("/trade/update/{id}")
     public String updateTrade(@PathVariable("id") Integer id, @Valid Trade trade, BindingResult result) {
-        if (!result.hasErrors() && tradeService.updateTrade(trade, id)) {
-            return REDIRECT_TRADE;
+        try {
+            if (!result.hasErrors() && tradeService.updateTrade(trade, id)) {
+                return REDIRECT_TRADE;
+            }
+        } catch (OptimisticLockingFailureException e) {
+            result.reject("update.conflict", "Cet élément a été modifié ou supprimé depuis l'ouverture du formulaire.");
         }
         return "trade/update";
     }
@@ -129,6 +166,80 @@ public class TradeController {
         return REDIRECT_TRADE;
     }
 
+    /**
+     * Affiche l'historique des modifications d'une transaction, y compris supprimée.
+     *
+     * @param id    identifiant de la transaction
+     * @param model modèle contenant l'identifiant et l'historique
+     * @return la vue "trade/history"
+     */
+    @GetMapping("/trade/history/{id}")
+    public String showHistory(@PathVariable("id") Integer id, Model model) {
+        model.addAttribute("tradeId", id);
+        model.addAttribute("history", tradeService.tradeHistory(id));
+        return "trade/history";
+    }
+
+    /**
+     * Supprime en masse les transactions désignées par leurs identifiants ou, à défaut, par des critères.
+     *
+     * @param ids                identifiants des transactions, optionnels
+     * @param account            compte des transactions, optionnel
+     * @param book               book des transactions, optionnel
+     * @param from               première journée de transaction, optionnelle
+     * @param to                 dernière journée de transaction, optionnelle ; {@code from} par défaut
+     * @param redirectAttributes attributs transmis à la liste après redirection
+     * @return redirection vers la liste avec le nombre de transactions supprimées
+     */
+    @PostMapping("/trade/bulk/delete")
+    public String bulkDelete(@RequestParam(value = "ids", required = false) List<Integer> ids,
+                             @RequestParam(value = "account", required = false) String account,
+                             @RequestParam(value = "book", required = false) String book,
+                             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int deleted = ids == null || ids.isEmpty()
+                    ? bulkEditService.deleteTrades(new BulkCriteria(account, book, DateRange.ofDays(from, to)))
+                    : bulkEditService.deleteTrades(ids);
+            redirectAttributes.addFlashAttribute("bulkDeleted", deleted);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return REDIRECT_TRADE;
+    }
+
+    /**
+     * Change en masse le statut des transactions désignées par leurs identifiants ou, à défaut, par des critères.
+     *
+     * @param ids                identifiants des transactions, optionnels
+     * @param account            compte des transactions, optionnel
+     * @param book               book des transactions, optionnel
+     * @param from               première journée de transaction, optionnelle
+     * @param to                 dernière journée de transaction, optionnelle ; {@code from} par défaut
+     * @param status             le nouveau statut
+     * @param redirectAttributes attributs transmis à la liste après redirection
+     * @return redirection vers la liste avec le nombre de transactions modifiées
+     */
+    @PostMapping("/trade/bulk/update")
+    public String bulkUpdate(@RequestParam(value = "ids", required = false) List<Integer> ids,
+                             @RequestParam(value = "account", required = false) String account,
+                             @RequestParam(value = "book", required = false) String book,
+                             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             @RequestParam(value = "status", required = false) String status,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            int updated = ids == null || ids.isEmpty()
+                    ? bulkEditService.updateTradeStatus(new BulkCriteria(account, book, DateRange.ofDays(from, to)), status)
+                    : bulkEditService.updateTradeStatus(ids, status);
+            redirectAttributes.addFlashAttribute("bulkUpdated", updated);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("bulkError", e.getMessage());
+        }
+        return REDIRECT_TRADE;
+    }
+
     /**
      * Permet de modifier une value de format double qu'elle soit accepter (12.5 et 12,5)
      * @param binder
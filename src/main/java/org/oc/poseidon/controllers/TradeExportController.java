@@ -0,0 +1,84 @@
+package org.oc.poseidon.controllers;
+
+import org.oc.poseidon.service.DateRange;
+import org.oc.poseidon.service.TradeExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Contrôleur d'export de la table des transactions.
+ * <p>
+ * Les réponses sont produites en flux ({@link StreamingResponseBody}) : l'envoi commence
+ * immédiatement et aucune liste complète n'est construite en mémoire. Les paramètres optionnels
+ * {@code from} et {@code to} (journées incluses, au format ISO) limitent l'export à une plage de dates.
+ * <p>
+ * Gère les routes suivantes :
+ * <ul>
+ *     <li>GET /trade/export/csv</li>
+ *     <li>GET /trade/export/ndjson</li>
+ * </ul>
+ */
+@PreAuthorize("hasRole('ADMIN')")
+@Controller
+public class TradeExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+
+    private final TradeExportService exportService;
+
+    /**
+     * Constructeur avec injection du service {@link TradeExportService}.
+     *
+     * @param exportService le service d'export des transactions
+     */
+    public TradeExportController(TradeExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Exporte les transactions au format CSV, toutes ou celles d'une plage de dates.
+     *
+     * @param from la première journée exportée, optionnelle
+     * @param to   la dernière journée exportée, optionnelle ; {@code from} par défaut
+     * @return le flux CSV en pièce jointe
+     */
+    @GetMapping("/trade/export/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        DateRange range = DateRange.ofDays(from, to);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trades.csv\"")
+                .body(out -> exportService.exportCsv(out, range));
+    }
+
+    /**
+     * Exporte les transactions au format NDJSON, toutes ou celles d'une plage de dates.
+     *
+     * @param from la première journée exportée, optionnelle
+     * @param to   la dernière journée exportée, optionnelle ; {@code from} par défaut
+     * @return le flux NDJSON en pièce jointe
+     */
+    @GetMapping("/trade/export/ndjson")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        DateRange range = DateRange.ofDays(from, to);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trades.ndjson\"")
+                .body(out -> exportService.exportNdjson(out, range));
+    }
+}
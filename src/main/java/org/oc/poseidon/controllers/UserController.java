@@ -2,9 +2,10 @@ package org.oc.poseidon.controllers;
 
 import org.oc.poseidon.domain.User;
 import org.oc.poseidon.repositories.UserRepository;
+import org.oc.poseidon.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -34,6 +35,12 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     /**
      * Affiche la liste de tous les utilisateurs.
      *
@@ -69,8 +76,7 @@ public class UserController {
     @PostMapping("/user/validate")
     public String validate(@Valid User user, BindingResult result, Model model) {
         if (!result.hasErrors()) {
-            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-            user.setPassword(encoder.encode(user.getPassword()));
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
             userRepository.save(user);
             model.addAttribute("users", userRepository.findAll());
             return "redirect:/user/list";
@@ -97,7 +103,7 @@ public class UserController {
 
     /**
      * Met à jour les données d'un utilisateur existant.
-     * Le mot de passe est ré-encodé.
+     * Le mot de passe est ré-encodé et l'ancien nom d'utilisateur est retiré du cache d'authentification.
      *
      * @param id     l'identifiant de l'utilisateur
      * @param user   les données mises à jour
@@ -112,16 +118,17 @@ public class UserController {
             return "user/update";
         }
 
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        user.setPassword(encoder.encode(user.getPassword()));
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setId(id);
+        userRepository.findById(id).ifPresent(previous -> userDetailsService.evict(previous.getUsername()));
         userRepository.save(user);
+        userDetailsService.evict(user.getUsername());
         model.addAttribute("users", userRepository.findAll());
         return "redirect:/user/list";
     }
 
     /**
-     * Supprime un utilisateur à partir de son identifiant.
+     * Supprime un utilisateur à partir de son identifiant et le retire du cache d'authentification.
      *
      * @param id    l'identifiant de l'utilisateur
      * @param model le modèle
@@ -132,6 +139,7 @@ public class UserController {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid user Id:" + id));
         userRepository.delete(user);
+        userDetailsService.evict(user.getUsername());
         model.addAttribute("users", userRepository.findAll());
         return "redirect:/user/list";
     }
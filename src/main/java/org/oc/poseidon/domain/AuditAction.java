@@ -0,0 +1,10 @@
+package org.oc.poseidon.domain;
+
+/**
+ * Nature d'une modification enregistrée dans l'historique d'audit.
+ */
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    DELETE
+}
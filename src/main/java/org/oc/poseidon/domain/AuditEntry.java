@@ -0,0 +1,74 @@
+package org.oc.poseidon.domain;
+
+import jakarta.persistence.*;
+
+import java.sql.Timestamp;
+
+/**
+ * Ligne de l'historique d'audit : une création, modification ou suppression d'une entité métier.
+ * <p>
+ * La table est en ajout seul : les lignes sont insérées par lots par
+ * {@link org.oc.poseidon.service.AuditTrail} et ne sont jamais modifiées.
+ */
+@Entity
+@Table(name = "audit_history", indexes = @Index(name = "idx_audit_history_entity", columnList = "entityType, entityId"))
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, length = 30)
+    private String entityType;
+    @Column(nullable = false)
+    private Integer entityId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private AuditAction action;
+    @Column(length = 125)
+    private String username;
+    @Column(nullable = false)
+    private Timestamp changedAt;
+    @Column(length = 4000)
+    private String details;
+
+    public AuditEntry(String entityType, Integer entityId, AuditAction action, String username,
+                      Timestamp changedAt, String details) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.action = action;
+        this.username = username;
+        this.changedAt = changedAt;
+        this.details = details;
+    }
+
+    protected AuditEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public AuditAction getAction() {
+        return action;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Timestamp getChangedAt() {
+        return changedAt;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+}
@@ -5,13 +5,18 @@ import jakarta.validation.constraints.NotBlank;
 import org.springframework.format.annotation.NumberFormat;
 
 import java.sql.Timestamp;
+import java.time.Instant;
 
 @Entity
-@Table(name = "bidlist")
+@Table(name = "bidlist", indexes = @Index(name = "idx_bidlist_date_account", columnList = "bidListDate, account"))
 public class BidList {
     @Id
-    @GeneratedValue(strategy= GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bidlist_seq")
+    @SequenceGenerator(name = "bidlist_seq", sequenceName = "BidList_SEQ", allocationSize = 50)
     private Integer BidListId;
+    @Version
+    @Column(nullable = false)
+    private Integer version;
     @NotBlank(message = "Account is mandatory")
     private String account;
     @NotBlank(message = "Type is mandatory")
@@ -22,7 +27,7 @@ public class BidList {
     private Double bid;
     private Double ask;
     private String benchmark;
-    private Timestamp bidListDate;
+    private Instant bidListDate;
     private String commentary;
     private String security;
     private String status;
@@ -51,6 +56,14 @@ public class BidList {
         return BidListId;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public String getType() {
         return type;
     }
@@ -82,4 +95,76 @@ public class BidList {
     public void setAccount(String account) {
         this.account = account;
     }
+
+    public Double getAskQuantity() {
+        return askQuantity;
+    }
+
+    public void setAskQuantity(Double askQuantity) {
+        this.askQuantity = askQuantity;
+    }
+
+    public Double getAsk() {
+        return ask;
+    }
+
+    public void setAsk(Double ask) {
+        this.ask = ask;
+    }
+
+    public String getSecurity() {
+        return security;
+    }
+
+    public void setSecurity(String security) {
+        this.security = security;
+    }
+
+    public String getSide() {
+        return side;
+    }
+
+    public void setSide(String side) {
+        this.side = side;
+    }
+
+    public Instant getBidListDate() {
+        return bidListDate;
+    }
+
+    public void setBidListDate(Instant bidListDate) {
+        this.bidListDate = bidListDate;
+    }
+
+    public String getCreationName() {
+        return creationName;
+    }
+
+    public void setCreationName(String creationName) {
+        this.creationName = creationName;
+    }
+
+    public Timestamp getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(Timestamp creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public String getRevisionName() {
+        return revisionName;
+    }
+
+    public void setRevisionName(String revisionName) {
+        this.revisionName = revisionName;
+    }
+
+    public Timestamp getRevisionDate() {
+        return revisionDate;
+    }
+
+    public void setRevisionDate(Timestamp revisionDate) {
+        this.revisionDate = revisionDate;
+    }
 }
@@ -0,0 +1,7 @@
+package org.oc.poseidon.domain;
+
+/**
+ * Projection d'un {@link BidList} limitée aux colonnes affichées par la liste des offres.
+ */
+public record BidListSummary(Integer bidListId, String account, String type, Double bidQuantity) {
+}
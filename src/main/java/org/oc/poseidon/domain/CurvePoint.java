@@ -14,6 +14,9 @@ public class CurvePoint {
     @Id
     @GeneratedValue(strategy= GenerationType.AUTO)
     private Integer id;
+    @Version
+    @Column(nullable = false)
+    private Integer version;
     @NumberFormat(style = NumberFormat.Style.NUMBER)
     @NotNull(message = "Must not be null")
     private Integer curveId;
@@ -42,6 +45,14 @@ public class CurvePoint {
         this.id = id;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public Integer getCurveId() {
         return curveId;
     }
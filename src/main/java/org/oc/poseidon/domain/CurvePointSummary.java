@@ -0,0 +1,7 @@
+package org.oc.poseidon.domain;
+
+/**
+ * Projection d'un {@link CurvePoint} limitée aux colonnes affichées par la liste des points de courbe.
+ */
+public record CurvePointSummary(Integer id, Integer curveId, Double term, Double value) {
+}
@@ -0,0 +1,10 @@
+package org.oc.poseidon.domain;
+
+import java.time.Instant;
+
+/**
+ * Identifiant et date d'une transaction ou d'une offre, clé de pagination keyset
+ * des parcours par plage de dates.
+ */
+public record DatedId(Integer id, Instant date) {
+}
@@ -1,14 +1,21 @@
 package org.oc.poseidon.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.format.annotation.NumberFormat;
 
 @Entity
 @Table(name = "rating")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rating")
 public class Rating {
     @Id
     @GeneratedValue(strategy= GenerationType.AUTO)
     private Integer id;
+    @Version
+    @Column(nullable = false)
+    private Integer version;
     private String moodysRating;
     private String sandPRating;
     private String fitchRating;
@@ -34,6 +41,14 @@ public class Rating {
         this.id = id;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public Integer getOrderNumber() {
         return orderNumber;
     }
@@ -0,0 +1,8 @@
+package org.oc.poseidon.domain;
+
+/**
+ * Projection d'un {@link Rating} pour la liste des notations.
+ */
+public record RatingSummary(Integer id, String moodysRating, String sandPRating, String fitchRating,
+                            Integer orderNumber) {
+}
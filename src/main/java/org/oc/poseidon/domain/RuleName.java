@@ -1,14 +1,19 @@
 package org.oc.poseidon.domain;
 
 import jakarta.persistence.*;
+import org.oc.poseidon.validation.rulesql.ReadOnlyRuleSql;
 
 @Entity
 @Table(name = "rulename")
+@ReadOnlyRuleSql
 public class RuleName {
 
     @Id
     @GeneratedValue(strategy= GenerationType.AUTO)
     private Integer id;
+    @Version
+    @Column(nullable = false)
+    private Integer version;
     private String name;
     private String description;
     private String json;
@@ -37,6 +42,14 @@ public class RuleName {
         this.id = id;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
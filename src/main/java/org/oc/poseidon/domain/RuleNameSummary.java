@@ -0,0 +1,8 @@
+package org.oc.poseidon.domain;
+
+/**
+ * Projection d'un {@link RuleName} pour la liste des règles, sans entité gérée par la session.
+ */
+public record RuleNameSummary(Integer id, String name, String description, String json, String template,
+                              String sqlStr, String sqlPart) {
+}
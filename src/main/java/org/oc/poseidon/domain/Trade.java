@@ -4,15 +4,19 @@ import jakarta.persistence.*;
 import org.springframework.format.annotation.NumberFormat;
 
 import java.sql.Timestamp;
+import java.time.Instant;
 
 
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = @Index(name = "idx_trade_date_account", columnList = "tradeDate, account"))
 public class Trade {
 
     @Id
     @GeneratedValue(strategy= GenerationType.AUTO)
     private Integer tradeId;
+    @Version
+    @Column(nullable = false)
+    private Integer version;
     private String account;
     private String type;
     @NumberFormat(style = NumberFormat.Style.CURRENCY)
@@ -21,7 +25,7 @@ public class Trade {
     private Double buyPrice;
     private Double sellPrice;
     private String benchmark;
-    private Timestamp tradeDate;
+    private Instant tradeDate;
     private String security;
     private String status;
     private String trader;
@@ -50,6 +54,14 @@ public class Trade {
         this.tradeId = tradeId;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public String getAccount() {
         return account;
     }
@@ -73,4 +85,140 @@ public class Trade {
     public void setBuyQuantity(Double buyQuantity) {
         this.buyQuantity = buyQuantity;
     }
+
+    public Double getSellQuantity() {
+        return sellQuantity;
+    }
+
+    public void setSellQuantity(Double sellQuantity) {
+        this.sellQuantity = sellQuantity;
+    }
+
+    public Double getBuyPrice() {
+        return buyPrice;
+    }
+
+    public void setBuyPrice(Double buyPrice) {
+        this.buyPrice = buyPrice;
+    }
+
+    public Double getSellPrice() {
+        return sellPrice;
+    }
+
+    public void setSellPrice(Double sellPrice) {
+        this.sellPrice = sellPrice;
+    }
+
+    public String getBenchmark() {
+        return benchmark;
+    }
+
+    public void setBenchmark(String benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    public Instant getTradeDate() {
+        return tradeDate;
+    }
+
+    public void setTradeDate(Instant tradeDate) {
+        this.tradeDate = tradeDate;
+    }
+
+    public String getSecurity() {
+        return security;
+    }
+
+    public void setSecurity(String security) {
+        this.security = security;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getTrader() {
+        return trader;
+    }
+
+    public void setTrader(String trader) {
+        this.trader = trader;
+    }
+
+    public String getBook() {
+        return book;
+    }
+
+    public void setBook(String book) {
+        this.book = book;
+    }
+
+    public String getCreationName() {
+        return creationName;
+    }
+
+    public void setCreationName(String creationName) {
+        this.creationName = creationName;
+    }
+
+    public Timestamp getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(Timestamp creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public String getRevisionName() {
+        return revisionName;
+    }
+
+    public void setRevisionName(String revisionName) {
+        this.revisionName = revisionName;
+    }
+
+    public Timestamp getRevisionDate() {
+        return revisionDate;
+    }
+
+    public void setRevisionDate(Timestamp revisionDate) {
+        this.revisionDate = revisionDate;
+    }
+
+    public String getDealName() {
+        return dealName;
+    }
+
+    public void setDealName(String dealName) {
+        this.dealName = dealName;
+    }
+
+    public String getDealType() {
+        return dealType;
+    }
+
+    public void setDealType(String dealType) {
+        this.dealType = dealType;
+    }
+
+    public String getSourceListId() {
+        return sourceListId;
+    }
+
+    public void setSourceListId(String sourceListId) {
+        this.sourceListId = sourceListId;
+    }
+
+    public String getSide() {
+        return side;
+    }
+
+    public void setSide(String side) {
+        this.side = side;
+    }
 }
@@ -0,0 +1,7 @@
+package org.oc.poseidon.domain;
+
+/**
+ * Projection d'un {@link Trade} limitée aux colonnes affichées par la liste des transactions.
+ */
+public record TradeSummary(Integer tradeId, String account, String type, Double buyQuantity) {
+}
@@ -0,0 +1,14 @@
+package org.oc.poseidon.repositories;
+
+import org.oc.poseidon.domain.AuditEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+
+    @Transactional(readOnly = true)
+    List<AuditEntry> findByEntityTypeAndEntityIdOrderByIdAsc(String entityType, Integer entityId);
+}
@@ -1,10 +1,110 @@
 package org.oc.poseidon.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.BidListSummary;
+import org.oc.poseidon.domain.DatedId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 
 public interface BidListRepository extends JpaRepository<BidList, Integer> {
 
     BidList findById(int id);
+
+    /**
+     * Met à jour une offre en une seule requête, à condition que sa version n'ait pas changé
+     * depuis sa lecture par le formulaire ; la version est incrémentée et l'auteur de la révision enregistré.
+     *
+     * @return le nombre de lignes modifiées : {@code 0} si l'offre a été modifiée ou supprimée entre-temps
+     */
+    @Transactional
+    @Modifying
+    @Query("update BidList b set b.account = :account, b.type = :type, b.bidQuantity = :bidQuantity,"
+            + " b.revisionName = :revisionName, b.revisionDate = :revisionDate,"
+            + " b.version = b.version + 1 where b.BidListId = :id and b.version = :version")
+    int updateIfVersion(@Param("id") int id, @Param("version") int version, @Param("account") String account,
+                        @Param("type") String type, @Param("bidQuantity") Double bidQuantity,
+                        @Param("revisionName") String revisionName, @Param("revisionDate") Timestamp revisionDate);
+
+    @Query("select new org.oc.poseidon.domain.BidListSummary(b.BidListId, b.account, b.type, b.bidQuantity)"
+            + " from BidList b order by b.BidListId")
+    List<BidListSummary> findAllSummaries();
+
+    /**
+     * Variante de {@link #findAllSummaries} limitée aux offres datées dans {@code [from, to)} :
+     * la plage est lue sur l'index {@code idx_bidlist_date_account}.
+     */
+    @Query("select new org.oc.poseidon.domain.BidListSummary(b.BidListId, b.account, b.type, b.bidQuantity)"
+            + " from BidList b where b.bidListDate >= :from and b.bidListDate < :to order by b.BidListId")
+    List<BidListSummary> findSummariesBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from BidList b order by b.BidListId")
+    Stream<BidList> streamAll();
+
+    /**
+     * Identifiants des offres répondant aux critères d'une opération en masse sans plage de dates,
+     * par page keyset : un critère {@code null} n'est pas appliqué.
+     */
+    @Query("select b.BidListId from BidList b where b.BidListId > :after"
+            + " and (:account is null or b.account = :account) and (:book is null or b.book = :book)"
+            + " order by b.BidListId")
+    List<Integer> findIdsMatching(@Param("after") int after, @Param("account") String account,
+                                  @Param("book") String book, Pageable limit);
+
+    /**
+     * Variante de {@link #findIdsMatching} limitée aux offres datées dans {@code [from, to)}, par page keyset
+     * sur la date puis l'identifiant : la plage est parcourue sur l'index {@code idx_bidlist_date_account}.
+     * La page commence après la ligne {@code (afterDate, afterId)}, {@code (from, 0)} pour la première.
+     */
+    @Query("select new org.oc.poseidon.domain.DatedId(b.BidListId, b.bidListDate) from BidList b"
+            + " where b.bidListDate >= :afterDate and b.bidListDate < :to"
+            + " and (b.bidListDate > :afterDate or b.BidListId > :afterId)"
+            + " and (:account is null or b.account = :account) and (:book is null or b.book = :book)"
+            + " order by b.bidListDate, b.BidListId")
+    List<DatedId> findIdsBetween(@Param("afterDate") Instant afterDate, @Param("afterId") int afterId,
+                                 @Param("to") Instant to, @Param("account") String account,
+                                 @Param("book") String book, Pageable limit);
+
+    @Query("select b.BidListId from BidList b where b.BidListId in :ids order by b.BidListId")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Supprime des offres en une seule requête, sans les charger.
+     *
+     * @return le nombre de lignes supprimées
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from BidList b where b.BidListId in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Change le statut de offres en une seule requête ; la version est incrémentée
+     * et l'auteur de la révision enregistré, comme pour une modification unitaire.
+     *
+     * @return le nombre de lignes modifiées
+     */
+    @Transactional
+    @Modifying
+    @Query("update BidList b set b.status = :status, b.revisionName = :revisionName,"
+            + " b.revisionDate = :revisionDate, b.version = b.version + 1 where b.BidListId in :ids")
+    int updateStatusByIds(@Param("ids") Collection<Integer> ids, @Param("status") String status,
+                          @Param("revisionName") String revisionName, @Param("revisionDate") Timestamp revisionDate);
 }
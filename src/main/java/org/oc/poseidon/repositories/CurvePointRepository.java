@@ -1,9 +1,35 @@
 package org.oc.poseidon.repositories;
 
 import org.oc.poseidon.domain.CurvePoint;
+import org.oc.poseidon.domain.CurvePointSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 
 public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
     CurvePoint findById(int id);
+
+    /**
+     * Met à jour un point de courbe en une seule requête, à condition que sa version n'ait pas changé
+     * depuis sa lecture par le formulaire ; la version est incrémentée.
+     *
+     * @return le nombre de lignes modifiées : {@code 0} si le point a été modifié ou supprimé entre-temps
+     */
+    @Transactional
+    @Modifying
+    @Query("update CurvePoint c set c.curveId = :curveId, c.term = :term, c.value = :value,"
+            + " c.version = c.version + 1 where c.id = :id and c.version = :version")
+    int updateIfVersion(@Param("id") int id, @Param("version") int version, @Param("curveId") Integer curveId,
+                        @Param("term") Double term, @Param("value") Double value);
+
+    List<CurvePoint> findByCurveIdOrderByTermAsc(Integer curveId);
+
+    @Query("select new org.oc.poseidon.domain.CurvePointSummary(c.id, c.curveId, c.term, c.value)"
+            + " from CurvePoint c order by c.id")
+    List<CurvePointSummary> findAllSummaries();
 }
@@ -1,8 +1,74 @@
 package org.oc.poseidon.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.oc.poseidon.domain.Rating;
+import org.oc.poseidon.domain.RatingSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+/**
+ * Les notations sont des données de référence : les requêtes de lecture passent par le cache
+ * de requêtes Hibernate, les entités par le cache de second niveau (région {@code rating}).
+ * Toute écriture via Hibernate invalide les résultats mis en cache.
+ * <p>
+ * Les requêtes mises en cache s'exécutent dans une transaction en lecture-écriture, donc sur la base
+ * primaire même lorsqu'une réplique est configurée : un résultat lu sur une réplique en retard
+ * resterait en cache jusqu'à l'écriture suivante.
+ */
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "rating-query")
+    })
     public Rating findById(int id);
+
+    /**
+     * Met à jour une notation en une seule requête, à condition que sa version n'ait pas changé
+     * depuis sa lecture par le formulaire ; la version est incrémentée.
+     *
+     * @return le nombre de lignes modifiées : {@code 0} si la notation a été modifiée ou supprimée entre-temps
+     */
+    @Transactional
+    @Modifying
+    @Query("update Rating r set r.moodysRating = :moodysRating, r.sandPRating = :sandPRating,"
+            + " r.fitchRating = :fitchRating, r.orderNumber = :orderNumber, r.version = r.version + 1"
+            + " where r.id = :id and r.version = :version")
+    int updateIfVersion(@Param("id") int id, @Param("version") int version,
+                        @Param("moodysRating") String moodysRating, @Param("sandPRating") String sandPRating,
+                        @Param("fitchRating") String fitchRating, @Param("orderNumber") Integer orderNumber);
+
+    @Override
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "rating-query")
+    })
+    List<Rating> findAll();
+
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "rating-query")
+    })
+    @Query("select new org.oc.poseidon.domain.RatingSummary(r.id, r.moodysRating, r.sandPRating, r.fitchRating,"
+            + " r.orderNumber) from Rating r order by r.id")
+    List<RatingSummary> findAllSummaries();
+
+    /**
+     * Lit toutes les notations sur la base primaire, même lorsqu'une réplique est configurée :
+     * utilisé juste après une écriture, que la réplique peut ne pas avoir encore reçue.
+     *
+     * @return toutes les notations
+     */
+    @Transactional
+    @Query("select r from Rating r")
+    List<Rating> findAllFromPrimary();
 }
@@ -1,9 +1,43 @@
 package org.oc.poseidon.repositories;
 
 import org.oc.poseidon.domain.RuleName;
+import org.oc.poseidon.domain.RuleNameSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 
 public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
+
+    /**
+     * Récupère une règle dans une transaction en lecture-écriture, donc sur la base primaire même
+     * lorsqu'une réplique est configurée : la règle est compilée et conservée par le moteur de règles,
+     * et une version lue sur une réplique en retard y resterait jusqu'à la modification suivante.
+     */
+    @Transactional
     RuleName findById(int id);
+
+    /**
+     * Met à jour une règle en une seule requête, à condition que sa version n'ait pas changé
+     * depuis sa lecture par le formulaire ; la version est incrémentée.
+     *
+     * @return le nombre de lignes modifiées : {@code 0} si la règle a été modifiée ou supprimée entre-temps
+     */
+    @Transactional
+    @Modifying
+    @Query("update RuleName r set r.name = :name, r.description = :description, r.json = :json,"
+            + " r.template = :template, r.sqlStr = :sqlStr, r.sqlPart = :sqlPart, r.version = r.version + 1"
+            + " where r.id = :id and r.version = :version")
+    int updateIfVersion(@Param("id") int id, @Param("version") int version, @Param("name") String name,
+                        @Param("description") String description, @Param("json") String json,
+                        @Param("template") String template, @Param("sqlStr") String sqlStr,
+                        @Param("sqlPart") String sqlPart);
+
+    @Query("select new org.oc.poseidon.domain.RuleNameSummary(r.id, r.name, r.description, r.json, r.template,"
+            + " r.sqlStr, r.sqlPart) from RuleName r order by r.id")
+    List<RuleNameSummary> findAllSummaries();
 }
@@ -1,9 +1,135 @@
 package org.oc.poseidon.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.oc.poseidon.domain.DatedId;
 import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.domain.TradeSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 
 public interface TradeRepository extends JpaRepository<Trade, Integer> {
     Trade findByTradeId(int id);
+
+    /**
+     * Met à jour une transaction en une seule requête, à condition que sa version n'ait pas changé
+     * depuis sa lecture par le formulaire ; la version est incrémentée et l'auteur de la révision enregistré.
+     *
+     * @return le nombre de lignes modifiées : {@code 0} si la transaction a été modifiée ou supprimée entre-temps
+     */
+    @Transactional
+    @Modifying
+    @Query("update Trade t set t.account = :account, t.type = :type, t.buyQuantity = :buyQuantity,"
+            + " t.revisionName = :revisionName, t.revisionDate = :revisionDate,"
+            + " t.version = t.version + 1 where t.tradeId = :id and t.version = :version")
+    int updateIfVersion(@Param("id") int id, @Param("version") int version, @Param("account") String account,
+                        @Param("type") String type, @Param("buyQuantity") Double buyQuantity,
+                        @Param("revisionName") String revisionName, @Param("revisionDate") Timestamp revisionDate);
+
+    @Query("select new org.oc.poseidon.domain.TradeSummary(t.tradeId, t.account, t.type, t.buyQuantity)"
+            + " from Trade t where t.tradeId > :tradeId order by t.tradeId asc")
+    List<TradeSummary> findSummariesAfter(@Param("tradeId") int tradeId, Pageable limit);
+
+    @Query("select new org.oc.poseidon.domain.TradeSummary(t.tradeId, t.account, t.type, t.buyQuantity)"
+            + " from Trade t where t.tradeId < :tradeId order by t.tradeId desc")
+    List<TradeSummary> findSummariesBefore(@Param("tradeId") int tradeId, Pageable limit);
+
+    /**
+     * Variante de {@link #findSummariesAfter} limitée aux transactions datées dans {@code [from, to)} :
+     * la plage est lue sur l'index {@code idx_trade_date_account}.
+     */
+    @Query("select new org.oc.poseidon.domain.TradeSummary(t.tradeId, t.account, t.type, t.buyQuantity)"
+            + " from Trade t where t.tradeDate >= :from and t.tradeDate < :to and t.tradeId > :tradeId"
+            + " order by t.tradeId asc")
+    List<TradeSummary> findSummariesBetweenAfter(@Param("from") Instant from, @Param("to") Instant to,
+                                                 @Param("tradeId") int tradeId, Pageable limit);
+
+    /**
+     * Variante de {@link #findSummariesBefore} limitée aux transactions datées dans {@code [from, to)}.
+     */
+    @Query("select new org.oc.poseidon.domain.TradeSummary(t.tradeId, t.account, t.type, t.buyQuantity)"
+            + " from Trade t where t.tradeDate >= :from and t.tradeDate < :to and t.tradeId < :tradeId"
+            + " order by t.tradeId desc")
+    List<TradeSummary> findSummariesBetweenBefore(@Param("from") Instant from, @Param("to") Instant to,
+                                                  @Param("tradeId") int tradeId, Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Trade t order by t.tradeId")
+    Stream<Trade> streamAll();
+
+    /**
+     * Lit en flux les transactions datées dans {@code [from, to)}, dans l'ordre de l'index
+     * {@code idx_trade_date_account} : seules les entrées de la plage sont parcourues.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Trade t where t.tradeDate >= :from and t.tradeDate < :to order by t.tradeDate, t.tradeId")
+    Stream<Trade> streamBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Identifiants des transactions répondant aux critères d'une opération en masse sans plage de dates,
+     * par page keyset : un critère {@code null} n'est pas appliqué.
+     */
+    @Query("select t.tradeId from Trade t where t.tradeId > :after"
+            + " and (:account is null or t.account = :account) and (:book is null or t.book = :book)"
+            + " order by t.tradeId")
+    List<Integer> findIdsMatching(@Param("after") int after, @Param("account") String account,
+                                  @Param("book") String book, Pageable limit);
+
+    /**
+     * Variante de {@link #findIdsMatching} limitée aux transactions datées dans {@code [from, to)}, par page keyset
+     * sur la date puis l'identifiant : la plage est parcourue sur l'index {@code idx_trade_date_account}.
+     * La page commence après la ligne {@code (afterDate, afterId)}, {@code (from, 0)} pour la première.
+     */
+    @Query("select new org.oc.poseidon.domain.DatedId(t.tradeId, t.tradeDate) from Trade t"
+            + " where t.tradeDate >= :afterDate and t.tradeDate < :to"
+            + " and (t.tradeDate > :afterDate or t.tradeId > :afterId)"
+            + " and (:account is null or t.account = :account) and (:book is null or t.book = :book)"
+            + " order by t.tradeDate, t.tradeId")
+    List<DatedId> findIdsBetween(@Param("afterDate") Instant afterDate, @Param("afterId") int afterId,
+                                 @Param("to") Instant to, @Param("account") String account,
+                                 @Param("book") String book, Pageable limit);
+
+    @Query("select t.tradeId from Trade t where t.tradeId in :ids order by t.tradeId")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Supprime des transactions en une seule requête, sans les charger.
+     *
+     * @return le nombre de lignes supprimées
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Trade t where t.tradeId in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Change le statut de transactions en une seule requête ; la version est incrémentée
+     * et l'auteur de la révision enregistré, comme pour une modification unitaire.
+     *
+     * @return le nombre de lignes modifiées
+     */
+    @Transactional
+    @Modifying
+    @Query("update Trade t set t.status = :status, t.revisionName = :revisionName,"
+            + " t.revisionDate = :revisionDate, t.version = t.version + 1 where t.tradeId in :ids")
+    int updateStatusByIds(@Param("ids") Collection<Integer> ids, @Param("status") String status,
+                          @Param("revisionName") String revisionName, @Param("revisionDate") Timestamp revisionDate);
 }
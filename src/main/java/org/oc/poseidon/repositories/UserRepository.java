@@ -3,9 +3,24 @@ package org.oc.poseidon.repositories;
 import org.oc.poseidon.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 
 public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
 
+    /**
+     * Lit un utilisateur sur la base primaire, même lorsqu'une réplique est configurée :
+     * le résultat alimente le cache des utilisateurs, qui ne doit pas retenir un mot de passe
+     * ou un rôle déjà modifié sur la primaire.
+     */
+    @Transactional
     User findByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
 }
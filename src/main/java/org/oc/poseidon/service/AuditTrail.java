@@ -0,0 +1,288 @@
+package org.oc.poseidon.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.AuditEntry;
+import org.oc.poseidon.repositories.AuditEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historique d'audit des entités métier, en ajout seul dans la table {@code audit_history}.
+ * <p>
+ * Les services déclarent chaque création, modification ou suppression via {@link #record}.
+ * L'utilisateur et l'horodatage sont capturés immédiatement, puis la ligne est déposée dans
+ * une file bornée, après la validation de la transaction en cours s'il y en a une. Un thread
+ * dédié vide la file et insère les lignes par lots JDBC : l'écriture de l'audit n'ajoute pas
+ * de latence aux opérations métier.
+ * <p>
+ * Si la file est pleine, la ligne est écrite directement par l'appelant : l'audit ralentit
+ * alors les écritures plutôt que de perdre des lignes. Cette écriture a lieu dans une nouvelle
+ * transaction : après la validation, la connexion de la transaction métier, encore liée au thread
+ * et hors auto-commit, ne validerait plus l'insertion. À l'arrêt, après le serveur web,
+ * la file est vidée avant la fermeture des connexions.
+ */
+@Service
+public class AuditTrail implements SmartLifecycle {
+
+    /** Utilisateur enregistré lorsqu'aucune authentification n'est associée au thread courant. */
+    public static final String SYSTEM_USER = "system";
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditTrail.class);
+    private static final String INSERT_SQL = "INSERT INTO audit_history"
+            + " (entity_type, entity_id, action, username, changed_at, details) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int MAX_DETAILS_LENGTH = 4000;
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditEntryRepository repo;
+    private final TransactionTemplate newTransaction;
+    private final BlockingQueue<AuditEntry> queue;
+    private final int batchSize;
+    private final Counter overflow;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread writer;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param jdbcTemplate       l'accès JDBC utilisé pour les insertions par lots
+     * @param repo               le dépôt de lecture de l'historique
+     * @param transactionManager le gestionnaire de transactions des lignes écrites par l'appelant
+     * @param registry           le registre des métriques ({@code poseidon.audit.*})
+     * @param queueCapacity      le nombre de lignes pouvant attendre leur écriture
+     * @param batchSize          le nombre maximal de lignes insérées par lot
+     */
+    public AuditTrail(JdbcTemplate jdbcTemplate, AuditEntryRepository repo,
+                      PlatformTransactionManager transactionManager, MeterRegistry registry,
+                      @Value("${poseidon.audit.queue-capacity:10000}") int queueCapacity,
+                      @Value("${poseidon.audit.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repo = repo;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflow = Counter.builder("poseidon.audit.overflow")
+                .description("Lignes d'audit écrites par l'appelant faute de place dans la file")
+                .register(registry);
+        Gauge.builder("poseidon.audit.queue", queue, BlockingQueue::size)
+                .description("Lignes d'audit en attente d'écriture")
+                .register(registry);
+    }
+
+    /**
+     * Enregistre une modification d'entité dans l'historique.
+     * <p>
+     * Dans une transaction, la ligne n'est transmise qu'après sa validation : une modification
+     * annulée n'apparaît pas dans l'historique.
+     *
+     * @param entityType le type de l'entité modifiée
+     * @param entityId   l'identifiant de l'entité
+     * @param action     la nature de la modification
+     * @param details    l'état de l'entité après la modification (avant, pour une suppression)
+     */
+    public void record(Class<?> entityType, Integer entityId, AuditAction action, String details) {
+        AuditEntry entry = new AuditEntry(entityType.getSimpleName(), entityId, action, currentUsername(),
+                new Timestamp(System.currentTimeMillis()), truncate(details));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * Enregistre la même modification pour un lot d'entités, modifiées par une opération en masse.
+     * <p>
+     * Les lignes ne passent pas par la file : elles sont insérées par lots JDBC par l'appelant,
+     * dans sa transaction s'il y en a une, et sont donc validées ou annulées avec l'opération :
+     * un échec de l'insertion est propagé à l'appelant, ce qui annule aussi l'opération.
+     *
+     * @param entityType le type des entités modifiées
+     * @param entityIds  les identifiants des entités
+     * @param action     la nature de la modification
+     * @param details    la description de l'opération, commune à toutes les lignes
+     * @throws DataAccessException si les lignes ne peuvent pas être insérées
+     */
+    public void recordAll(Class<?> entityType, Collection<Integer> entityIds, AuditAction action, String details) {
+        String username = currentUsername();
+        Timestamp changedAt = new Timestamp(System.currentTimeMillis());
+        String truncated = truncate(details);
+        List<AuditEntry> batch = new ArrayList<>(Math.min(entityIds.size(), batchSize));
+        for (Integer entityId : entityIds) {
+            batch.add(new AuditEntry(entityType.getSimpleName(), entityId, action, username, changedAt, truncated));
+            if (batch.size() == batchSize) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+    }
+
+    /**
+     * Récupère l'historique d'une entité, du plus ancien au plus récent.
+     * Les lignes encore en file d'attente n'y figurent pas encore.
+     *
+     * @param entityType le type de l'entité
+     * @param entityId   l'identifiant de l'entité
+     * @return les lignes d'historique de l'entité
+     */
+    public List<AuditEntry> history(Class<?> entityType, int entityId) {
+        return repo.findByEntityTypeAndEntityIdOrderByIdAsc(entityType.getSimpleName(), entityId);
+    }
+
+    /**
+     * Nom de l'utilisateur authentifié sur le thread courant, à enregistrer comme auteur d'une modification.
+     *
+     * @return le nom de l'utilisateur, ou {@link #SYSTEM_USER} hors requête authentifiée
+     */
+    public String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? SYSTEM_USER : authentication.getName();
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        stopped = true;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Démarré avant et arrêté après le serveur web, pour que les requêtes en cours
+     * puissent encore déposer leurs lignes dans la file.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    /**
+     * Écrit toutes les lignes en attente, par lots de {@code batchSize}.
+     */
+    void flush() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void enqueue(AuditEntry entry) {
+        if (stopped) {
+            writeNow(entry);
+        } else if (!queue.offer(entry)) {
+            overflow.increment();
+            writeNow(entry);
+        }
+    }
+
+    /**
+     * Écrit une ligne sur le thread appelant, dans sa propre transaction.
+     */
+    private void writeNow(AuditEntry entry) {
+        try {
+            newTransaction.executeWithoutResult(status -> write(List.of(entry)));
+        } catch (TransactionException e) {
+            logger.error("Échec de l'écriture d'une ligne d'audit", e);
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEntry first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Insère un lot de lignes ; un échec est journalisé sans être propagé.
+     */
+    private void write(List<AuditEntry> batch) {
+        try {
+            insert(batch);
+        } catch (DataAccessException e) {
+            logger.error("Échec de l'écriture de {} ligne(s) d'audit", batch.size(), e);
+        }
+    }
+
+    private void insert(List<AuditEntry> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditEntry entry : batch) {
+            rows.add(new Object[]{entry.getEntityType(), entry.getEntityId(), entry.getAction().name(),
+                    entry.getUsername(), entry.getChangedAt(), entry.getDetails()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private static String truncate(String details) {
+        return details == null || details.length() <= MAX_DETAILS_LENGTH
+                ? details
+                : details.substring(0, MAX_DETAILS_LENGTH);
+    }
+}
@@ -0,0 +1,13 @@
+package org.oc.poseidon.service;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import en masse de {@link org.oc.poseidon.domain.BidList}.
+ *
+ * @param imported le nombre de lignes insérées
+ * @param rejected le nombre de lignes rejetées par la validation
+ * @param errors   le détail des premières lignes rejetées
+ */
+public record BidListImportResult(int imported, int rejected, List<String> errors) {
+}
@@ -0,0 +1,261 @@
+package org.oc.poseidon.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.validation.FlexibleDoubleEditor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service d'import en masse des entités {@link BidList}.
+ * <p>
+ * Les lignes sont validées avec les contraintes de l'entité, insérées par lots JDBC
+ * et la session Hibernate est vidée tous les {@code batchSize} enregistrements,
+ * de sorte que le contexte de persistance ne grossit pas avec le volume importé.
+ * Chaque lot vidé est journalisé dans l'historique d'audit, dans la transaction de l'import.
+ */
+@Service
+public class BidListImportService {
+
+    /** Nombre maximal de lignes rejetées détaillées dans le bilan. */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String IMPORT_DETAILS = "import en masse";
+
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final AuditTrail auditTrail;
+    private final OrderBookEngine orderBookEngine;
+    private final ChangeFeed changeFeed;
+    private final int batchSize;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param entityManager   le contexte de persistance
+     * @param validator       le validateur Bean Validation
+     * @param auditTrail      l'historique d'audit des modifications
+     * @param orderBookEngine les carnets d'ordres, reconstruits après un import de cotations
+     * @param changeFeed      le flux des modifications, dont les abonnés rechargent leur liste après un import
+     * @param batchSize       la taille des lots JDBC et la fréquence de vidage de la session
+     */
+    public BidListImportService(EntityManager entityManager, Validator validator, AuditTrail auditTrail,
+                                OrderBookEngine orderBookEngine, ChangeFeed changeFeed,
+                                @Value("${poseidon.bidlist.import.batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.auditTrail = auditTrail;
+        this.orderBookEngine = orderBookEngine;
+        this.changeFeed = changeFeed;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importe des {@link BidList} par lots dans une seule transaction.
+     * Les lignes invalides sont ignorées et comptabilisées dans le bilan.
+     * Si des offres importées portent un titre, les carnets d'ordres sont reconstruits
+     * une fois la transaction validée, et les listes ouvertes sont invitées à se recharger
+     * plutôt que de recevoir chaque ligne importée. Les offres sans date prennent la date de l'import ;
+     * toutes reçoivent l'utilisateur et la date de l'import comme auteur et date de création.
+     * Les lignes rejetées sont désignées par leur rang dans {@code bids}, ou par leur numéro
+     * de ligne dans le fichier pour un import CSV.
+     *
+     * @param bids les bids à importer, parcourus une seule fois
+     * @return le bilan de l'import
+     */
+    @Transactional
+    public BidListImportResult importBidLists(Iterable<BidList> bids) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        int line = 0;
+        int imported = 0;
+        int rejected = 0;
+        boolean quoted = false;
+        List<String> errors = new ArrayList<>();
+        List<BidList> pending = new ArrayList<>(batchSize);
+        Instant importedAt = Instant.now();
+        Timestamp creationDate = Timestamp.from(importedAt);
+        String creationName = auditTrail.currentUsername();
+
+        Iterator<BidList> iterator = bids.iterator();
+        while (iterator.hasNext()) {
+            BidList bid = iterator.next();
+            line = iterator instanceof CsvIterator csv ? csv.recordLine() : line + 1;
+            Set<ConstraintViolation<BidList>> violations = validator.validate(bid);
+            if (!violations.isEmpty()) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Ligne " + line + " : " + violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                }
+                continue;
+            }
+
+            if (bid.getBidListDate() == null) {
+                bid.setBidListDate(importedAt);
+            }
+            bid.setCreationName(creationName);
+            bid.setCreationDate(creationDate);
+            entityManager.persist(bid);
+            pending.add(bid);
+            imported++;
+            quoted |= bid.getSecurity() != null;
+            if (pending.size() == batchSize) {
+                flushBatch(pending);
+            }
+        }
+
+        flushBatch(pending);
+
+        if (imported > 0) {
+            changeFeed.invalidate(ChangeFeed.BID_LIST);
+        }
+        if (quoted) {
+            rebuildOrderBooksAfterCommit();
+        }
+        return new BidListImportResult(imported, rejected, errors);
+    }
+
+    /**
+     * Envoie le lot en base, le journalise puis vide la session.
+     */
+    private void flushBatch(List<BidList> pending) {
+        entityManager.flush();
+        if (!pending.isEmpty()) {
+            auditTrail.recordAll(BidList.class, pending.stream().map(BidList::getBidListId).toList(),
+                    AuditAction.CREATE, IMPORT_DETAILS);
+            pending.clear();
+        }
+        entityManager.clear();
+    }
+
+    private void rebuildOrderBooksAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    orderBookEngine.rebuild();
+                }
+            });
+        } else {
+            orderBookEngine.rebuild();
+        }
+    }
+
+    /**
+     * Importe un fichier CSV de colonnes {@code account,type,bidQuantity}.
+     * <p>
+     * Une ligne d'en-tête commençant par {@code account} est ignorée. Le séparateur
+     * {@code ;} est accepté, ce qui permet d'utiliser la virgule comme séparateur décimal.
+     * Le fichier est lu au fil de l'import, sans être chargé entièrement en mémoire.
+     *
+     * @param in le contenu du fichier, encodé en UTF-8
+     * @return le bilan de l'import
+     * @throws IllegalArgumentException si une ligne ne peut pas être lue
+     */
+    @Transactional
+    public BidListImportResult importCsv(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return importBidLists(() -> new CsvIterator(reader));
+    }
+
+    private static BidList parseLine(String line, int lineNumber) {
+        String[] columns = line.split(line.indexOf(';') >= 0 ? ";" : ",", -1);
+        if (columns.length < 2) {
+            throw new IllegalArgumentException("Ligne " + lineNumber + " : colonnes manquantes");
+        }
+
+        BidList bid = new BidList();
+        bid.setAccount(columns[0].trim());
+        bid.setType(columns[1].trim());
+        if (columns.length > 2) {
+            FlexibleDoubleEditor editor = new FlexibleDoubleEditor();
+            try {
+                editor.setAsText(columns[2].trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Ligne " + lineNumber + " : " + e.getMessage());
+            }
+            bid.setBidQuantity((Double) editor.getValue());
+        }
+        return bid;
+    }
+
+    /**
+     * Itère paresseusement sur les lignes non vides d'un CSV.
+     */
+    private static final class CsvIterator implements Iterator<BidList> {
+
+        private final BufferedReader reader;
+        private int lineNumber;
+        private int recordLine;
+        private String next;
+
+        private CsvIterator(BufferedReader reader) {
+            this.reader = reader;
+            this.next = readLine();
+            if (next != null && next.trim().toLowerCase().startsWith("account")) {
+                this.next = readLine();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public BidList next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            recordLine = lineNumber;
+            BidList bid = parseLine(next, recordLine);
+            next = readLine();
+            return bid;
+        }
+
+        /**
+         * @return le numéro, dans le fichier, de la ligne du dernier enregistrement renvoyé
+         */
+        private int recordLine() {
+            return recordLine;
+        }
+
+        private String readLine() {
+            try {
+                String line;
+                do {
+                    line = reader.readLine();
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+                return line;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
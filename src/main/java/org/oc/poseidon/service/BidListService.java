@@ -1,9 +1,14 @@
 package org.oc.poseidon.service;
 
+import org.oc.poseidon.domain.AuditAction;
 import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.BidListSummary;
 import org.oc.poseidon.repositories.BidListRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
@@ -11,19 +16,34 @@ import java.util.List;
  * <p>
  * Fournit des méthodes pour effectuer des opérations CRUD
  * ainsi que des validations spécifiques sur les objets {@code BidList}.
+ * Chaque écriture renseigne l'auteur et la date de création ou de révision,
+ * est consignée dans l'historique d'audit ({@link AuditTrail}), répercutée
+ * sur les carnets d'ordres ({@link OrderBookEngine}) et diffusée aux listes
+ * ouvertes ({@link ChangeFeed}).
  */
 @Service
 public class BidListService {
 
     private final BidListRepository repo;
+    private final AuditTrail auditTrail;
+    private final OrderBookEngine orderBookEngine;
+    private final ChangeFeed changeFeed;
 
     /**
-     * Constructeur injectant le dépôt {@link BidListRepository}.
+     * Constructeur injectant le dépôt {@link BidListRepository}, l'historique d'audit, les carnets d'ordres
+     * et le flux des modifications.
      *
-     * @param repo le dépôt de données des {@link BidList}
+     * @param repo            le dépôt de données des {@link BidList}
+     * @param auditTrail      l'historique d'audit des modifications
+     * @param orderBookEngine les carnets d'ordres, tenus à jour à chaque écriture
+     * @param changeFeed      le flux des modifications diffusé aux listes ouvertes
      */
-    public BidListService(BidListRepository repo) {
+    public BidListService(BidListRepository repo, AuditTrail auditTrail, OrderBookEngine orderBookEngine,
+                          ChangeFeed changeFeed) {
         this.repo = repo;
+        this.auditTrail = auditTrail;
+        this.orderBookEngine = orderBookEngine;
+        this.changeFeed = changeFeed;
     }
 
     /**
@@ -31,10 +51,34 @@ public class BidListService {
      *
      * @return la liste des {@code BidList}
      */
+    @Transactional(readOnly = true)
     public List<BidList> bidListAll() {
         return repo.findAll();
     }
 
+    /**
+     * Récupère tous les {@link BidList} sous forme de projection {@link BidListSummary}, pour les pages de liste :
+     * seules les colonnes affichées sont lues, sans entité gérée par la session.
+     *
+     * @return la liste des projections, triée par identifiant
+     */
+    @Transactional(readOnly = true)
+    public List<BidListSummary> bidListSummaries() {
+        return repo.findAllSummaries();
+    }
+
+    /**
+     * Récupère les {@link BidList} datés dans une plage, sous forme de projection {@link BidListSummary} ;
+     * la plage est lue sur l'index {@code (bidListDate, account)}.
+     *
+     * @param range la plage de dates d'offre, ou {@code null} pour toutes les offres
+     * @return la liste des projections, triée par identifiant
+     */
+    @Transactional(readOnly = true)
+    public List<BidListSummary> bidListSummaries(DateRange range) {
+        return range == null ? repo.findAllSummaries() : repo.findSummariesBetween(range.from(), range.to());
+    }
+
     /**
      * Vérifie que le {@link BidList} fourni est valide.
      * Les champs {@code account}, {@code type} ou {@code bidQuantity}
@@ -58,7 +102,16 @@ public class BidListService {
         boolean result = false;
 
         if (validBidList(bid)) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            bid.setCreationName(auditTrail.currentUsername());
+            bid.setCreationDate(now);
+            if (bid.getBidListDate() == null) {
+                bid.setBidListDate(now.toInstant());
+            }
             repo.save(bid);
+            orderBookEngine.bidListSaved(bid);
+            auditTrail.record(BidList.class, bid.getBidListId(), AuditAction.CREATE, describe(bid));
+            changeFeed.publish(ChangeFeed.BID_LIST, bid.getBidListId(), AuditAction.CREATE, summary(bid.getBidListId(), bid));
             result = true;
         }
 
@@ -76,23 +129,27 @@ public class BidListService {
     }
 
     /**
-     * Met à jour un {@link BidList} existant à partir des données fournies.
+     * Met à jour un {@link BidList} existant à partir des données fournies,
+     * en une seule requête conditionnée par sa version.
      *
-     * @param formBid les nouvelles valeurs à appliquer
+     * @param formBid les nouvelles valeurs à appliquer, avec la version lue par le formulaire
      * @param id      l'identifiant du bid à mettre à jour
-     * @return true si la mise à jour a été effectuée
+     * @return true si la mise à jour a été effectuée, false si les données sont invalides
+     * @throws ObjectOptimisticLockingFailureException si l'entité a été modifiée ou supprimée depuis sa lecture
      */
     public boolean updateBidList(BidList formBid, int id) {
         boolean result = false;
 
-        BidList bid = repo.findById(id);
-
         if (validBidList(formBid)) {
-            bid.setAccount(formBid.getAccount());
-            bid.setType(formBid.getType());
-            bid.setBidQuantity(formBid.getBidQuantity());
-
-            repo.save(bid);
+            int updated = formBid.getVersion() == null ? 0 : repo.updateIfVersion(id, formBid.getVersion(),
+                    formBid.getAccount(), formBid.getType(), formBid.getBidQuantity(),
+                    auditTrail.currentUsername(), new Timestamp(System.currentTimeMillis()));
+            if (updated == 0) {
+                throw new ObjectOptimisticLockingFailureException(BidList.class, id);
+            }
+            orderBookEngine.bidQuantityAmended(id, formBid.getBidQuantity());
+            auditTrail.record(BidList.class, id, AuditAction.UPDATE, describe(formBid));
+            changeFeed.publish(ChangeFeed.BID_LIST, id, AuditAction.UPDATE, summary(id, formBid));
             result = true;
         }
 
@@ -107,5 +164,16 @@ public class BidListService {
     public void deleteBidList(int id) {
         BidList bid = bidListById(id);
         repo.delete(bid);
+        orderBookEngine.bidListDeleted(id);
+        auditTrail.record(BidList.class, id, AuditAction.DELETE, describe(bid));
+        changeFeed.publish(ChangeFeed.BID_LIST, id, AuditAction.DELETE, null);
+    }
+
+    private static BidListSummary summary(Integer id, BidList bid) {
+        return new BidListSummary(id, bid.getAccount(), bid.getType(), bid.getBidQuantity());
+    }
+
+    private static String describe(BidList bid) {
+        return "account=" + bid.getAccount() + ", type=" + bid.getType() + ", bidQuantity=" + bid.getBidQuantity();
     }
 }
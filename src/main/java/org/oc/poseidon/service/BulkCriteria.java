@@ -0,0 +1,24 @@
+package org.oc.poseidon.service;
+
+/**
+ * Critères de sélection d'une opération en masse sur les transactions ou les offres.
+ * Les critères renseignés se cumulent ; un libellé vide vaut absence de critère.
+ *
+ * @param account le compte, ou {@code null}
+ * @param book    le book, ou {@code null}
+ * @param range   la plage de dates de transaction ou d'offre, ou {@code null}
+ */
+public record BulkCriteria(String account, String book, DateRange range) {
+
+    public BulkCriteria {
+        account = account == null || account.isBlank() ? null : account.trim();
+        book = book == null || book.isBlank() ? null : book.trim();
+    }
+
+    /**
+     * @return true si aucun critère n'est renseigné : l'opération porterait sur toute la table
+     */
+    public boolean isEmpty() {
+        return account == null && book == null && range == null;
+    }
+}
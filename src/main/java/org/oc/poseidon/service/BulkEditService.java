@@ -0,0 +1,323 @@
+package org.oc.poseidon.service;
+
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.DatedId;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.BidListRepository;
+import org.oc.poseidon.repositories.TradeRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Suppressions et changements de statut en masse des {@link Trade} et des {@link BidList}.
+ * <p>
+ * Les lignes sont désignées par une liste d'identifiants ou par des critères ({@link BulkCriteria}),
+ * et traitées par tranches de {@link #CHUNK_SIZE} : chaque tranche est une requête {@code delete} ou
+ * {@code update ... where id in (...)}, sans chargement des entités, accompagnée de l'insertion par lots
+ * de son historique d'audit, dans sa propre transaction. Les identifiants d'une tranche sont relus
+ * sur la base primaire dans cette transaction, de sorte que l'historique et les agrégats en mémoire
+ * ne portent que sur les lignes réellement présentes. Avec une plage de dates, les tranches
+ * suivent l'index {@code (date, compte)} par date puis identifiant, plutôt que la clé primaire.
+ * <p>
+ * Après chaque tranche validée, les positions ou les carnets d'ordres sont mis à jour ; une fois
+ * l'opération terminée, les listes ouvertes sont invitées à se recharger plutôt que de recevoir
+ * chaque ligne supprimée. Un changement de statut ne modifie ni les positions, ni les carnets,
+ * ni les colonnes des listes.
+ */
+@Service
+public class BulkEditService {
+
+    /** Nombre de lignes traitées par requête et par transaction. */
+    public static final int CHUNK_SIZE = 1000;
+
+    private static final String BULK_DETAILS = "opération en masse";
+
+    private final TradeRepository tradeRepo;
+    private final BidListRepository bidListRepo;
+    private final AuditTrail auditTrail;
+    private final PositionEngine positionEngine;
+    private final OrderBookEngine orderBookEngine;
+    private final ChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param tradeRepo          le dépôt des transactions
+     * @param bidListRepo        le dépôt des offres
+     * @param auditTrail         l'historique d'audit des modifications
+     * @param positionEngine     l'agrégat des positions, tenu à jour après chaque tranche
+     * @param orderBookEngine    les carnets d'ordres, tenus à jour après chaque tranche
+     * @param changeFeed         le flux des modifications diffusé aux listes ouvertes
+     * @param transactionManager le gestionnaire de transactions encadrant chaque tranche
+     */
+    public BulkEditService(TradeRepository tradeRepo, BidListRepository bidListRepo, AuditTrail auditTrail,
+                           PositionEngine positionEngine, OrderBookEngine orderBookEngine, ChangeFeed changeFeed,
+                           PlatformTransactionManager transactionManager) {
+        this.tradeRepo = tradeRepo;
+        this.bidListRepo = bidListRepo;
+        this.auditTrail = auditTrail;
+        this.positionEngine = positionEngine;
+        this.orderBookEngine = orderBookEngine;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Supprime des transactions désignées par leurs identifiants ; les identifiants inconnus sont ignorés.
+     *
+     * @param ids les identifiants des transactions
+     * @return le nombre de transactions supprimées
+     */
+    public int deleteTrades(Collection<Integer> ids) {
+        return deleteTrades(byIds(ids, tradeRepo::findExistingIds));
+    }
+
+    /**
+     * Supprime les transactions répondant aux critères.
+     *
+     * @param criteria les critères, dont au moins un renseigné
+     * @return le nombre de transactions supprimées
+     * @throws IllegalArgumentException si aucun critère n'est renseigné
+     */
+    public int deleteTrades(BulkCriteria criteria) {
+        return deleteTrades(matching(criteria, tradeRepo::findIdsMatching, tradeRepo::findIdsBetween));
+    }
+
+    /**
+     * Change le statut de transactions désignées par leurs identifiants ; les identifiants inconnus sont ignorés.
+     *
+     * @param ids    les identifiants des transactions
+     * @param status le nouveau statut
+     * @return le nombre de transactions modifiées
+     * @throws IllegalArgumentException si le statut est vide
+     */
+    public int updateTradeStatus(Collection<Integer> ids, String status) {
+        return updateTradeStatus(byIds(ids, tradeRepo::findExistingIds), status);
+    }
+
+    /**
+     * Change le statut des transactions répondant aux critères.
+     *
+     * @param criteria les critères, dont au moins un renseigné
+     * @param status   le nouveau statut
+     * @return le nombre de transactions modifiées
+     * @throws IllegalArgumentException si aucun critère n'est renseigné ou si le statut est vide
+     */
+    public int updateTradeStatus(BulkCriteria criteria, String status) {
+        return updateTradeStatus(matching(criteria, tradeRepo::findIdsMatching, tradeRepo::findIdsBetween), status);
+    }
+
+    /**
+     * Supprime des offres désignées par leurs identifiants ; les identifiants inconnus sont ignorés.
+     *
+     * @param ids les identifiants des offres
+     * @return le nombre d'offres supprimées
+     */
+    public int deleteBidLists(Collection<Integer> ids) {
+        return deleteBidLists(byIds(ids, bidListRepo::findExistingIds));
+    }
+
+    /**
+     * Supprime les offres répondant aux critères.
+     *
+     * @param criteria les critères, dont au moins un renseigné
+     * @return le nombre d'offres supprimées
+     * @throws IllegalArgumentException si aucun critère n'est renseigné
+     */
+    public int deleteBidLists(BulkCriteria criteria) {
+        return deleteBidLists(matching(criteria, bidListRepo::findIdsMatching, bidListRepo::findIdsBetween));
+    }
+
+    /**
+     * Change le statut d'offres désignées par leurs identifiants ; les identifiants inconnus sont ignorés.
+     *
+     * @param ids    les identifiants des offres
+     * @param status le nouveau statut
+     * @return le nombre d'offres modifiées
+     * @throws IllegalArgumentException si le statut est vide
+     */
+    public int updateBidListStatus(Collection<Integer> ids, String status) {
+        return updateBidListStatus(byIds(ids, bidListRepo::findExistingIds), status);
+    }
+
+    /**
+     * Change le statut des offres répondant aux critères.
+     *
+     * @param criteria les critères, dont au moins un renseigné
+     * @param status   le nouveau statut
+     * @return le nombre d'offres modifiées
+     * @throws IllegalArgumentException si aucun critère n'est renseigné ou si le statut est vide
+     */
+    public int updateBidListStatus(BulkCriteria criteria, String status) {
+        return updateBidListStatus(matching(criteria, bidListRepo::findIdsMatching, bidListRepo::findIdsBetween), status);
+    }
+
+    private int deleteTrades(ChunkSource source) {
+        int deleted = inChunks(source, ids -> {
+            int count = tradeRepo.deleteByIds(ids);
+            auditTrail.recordAll(Trade.class, ids, AuditAction.DELETE, BULK_DETAILS);
+            return count;
+        }, positionEngine::tradesDeleted);
+        if (deleted > 0) {
+            changeFeed.invalidate(ChangeFeed.TRADE);
+        }
+        return deleted;
+    }
+
+    private int updateTradeStatus(ChunkSource source, String status) {
+        String newStatus = requireStatus(status);
+        String username = auditTrail.currentUsername();
+        return inChunks(source, ids -> {
+            int count = tradeRepo.updateStatusByIds(ids, newStatus, username, new Timestamp(System.currentTimeMillis()));
+            auditTrail.recordAll(Trade.class, ids, AuditAction.UPDATE, "status=" + newStatus + " (" + BULK_DETAILS + ")");
+            return count;
+        }, ids -> { });
+    }
+
+    private int deleteBidLists(ChunkSource source) {
+        int deleted = inChunks(source, ids -> {
+            int count = bidListRepo.deleteByIds(ids);
+            auditTrail.recordAll(BidList.class, ids, AuditAction.DELETE, BULK_DETAILS);
+            return count;
+        }, orderBookEngine::bidListsDeleted);
+        if (deleted > 0) {
+            changeFeed.invalidate(ChangeFeed.BID_LIST);
+        }
+        return deleted;
+    }
+
+    private int updateBidListStatus(ChunkSource source, String status) {
+        String newStatus = requireStatus(status);
+        String username = auditTrail.currentUsername();
+        return inChunks(source, ids -> {
+            int count = bidListRepo.updateStatusByIds(ids, newStatus, username, new Timestamp(System.currentTimeMillis()));
+            auditTrail.recordAll(BidList.class, ids, AuditAction.UPDATE, "status=" + newStatus + " (" + BULK_DETAILS + ")");
+            return count;
+        }, ids -> { });
+    }
+
+    /**
+     * Traite les tranches une à une, chacune dans sa transaction, et applique {@code afterCommit}
+     * aux identifiants de chaque tranche validée.
+     */
+    private int inChunks(ChunkSource source, ToIntFunction<List<Integer>> operation,
+                         Consumer<List<Integer>> afterCommit) {
+        int affected = 0;
+        Chunk chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                Chunk next = source.next();
+                return next.ids().isEmpty() ? next : next.withAffected(operation.applyAsInt(next.ids()));
+            });
+            if (!chunk.ids().isEmpty()) {
+                afterCommit.accept(chunk.ids());
+            }
+            affected += chunk.affected();
+        } while (!chunk.last());
+        return affected;
+    }
+
+    /**
+     * Tranches d'une liste d'identifiants triée ; le curseur est une position dans la liste.
+     */
+    private static ChunkSource byIds(Collection<Integer> ids, Function<List<Integer>, List<Integer>> existing) {
+        List<Integer> sorted = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        return new ChunkSource() {
+            private int index;
+
+            @Override
+            public Chunk next() {
+                int end = Math.min(index + CHUNK_SIZE, sorted.size());
+                List<Integer> slice = sorted.subList(index, end);
+                index = end;
+                return new Chunk(slice.isEmpty() ? slice : existing.apply(slice), end == sorted.size(), 0);
+            }
+        };
+    }
+
+    /**
+     * Tranches des lignes répondant aux critères. Sans plage de dates, le curseur est le dernier
+     * identifiant traité ; avec une plage, c'est la date et l'identifiant de la dernière ligne traitée.
+     */
+    private static ChunkSource matching(BulkCriteria criteria, IdQuery idQuery, DatedIdQuery datedIdQuery) {
+        if (criteria == null || criteria.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un critère est requis : compte, book ou plage de dates");
+        }
+        Pageable limit = PageRequest.ofSize(CHUNK_SIZE);
+        if (criteria.range() == null) {
+            return new ChunkSource() {
+                private int afterId;
+
+                @Override
+                public Chunk next() {
+                    List<Integer> ids = idQuery.find(afterId, criteria.account(), criteria.book(), limit);
+                    if (!ids.isEmpty()) {
+                        afterId = ids.get(ids.size() - 1);
+                    }
+                    return new Chunk(ids, ids.size() < CHUNK_SIZE, 0);
+                }
+            };
+        }
+        return new ChunkSource() {
+            private Instant afterDate = criteria.range().from();
+            private int afterId;
+
+            @Override
+            public Chunk next() {
+                List<DatedId> rows = datedIdQuery.find(afterDate, afterId, criteria.range().to(),
+                        criteria.account(), criteria.book(), limit);
+                if (!rows.isEmpty()) {
+                    DatedId lastRow = rows.get(rows.size() - 1);
+                    afterDate = lastRow.date();
+                    afterId = lastRow.id();
+                }
+                return new Chunk(rows.stream().map(DatedId::id).toList(), rows.size() < CHUNK_SIZE, 0);
+            }
+        };
+    }
+
+    private static String requireStatus(String status) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("Le statut est obligatoire");
+        }
+        return status.trim();
+    }
+
+    private interface ChunkSource {
+        Chunk next();
+    }
+
+    @FunctionalInterface
+    private interface IdQuery {
+        List<Integer> find(int afterId, String account, String book, Pageable limit);
+    }
+
+    @FunctionalInterface
+    private interface DatedIdQuery {
+        List<DatedId> find(Instant afterDate, int afterId, Instant to, String account, String book, Pageable limit);
+    }
+
+    /**
+     * Identifiants d'une tranche, indicateur de dernière tranche et nombre de lignes effectivement modifiées.
+     */
+    private record Chunk(List<Integer> ids, boolean last, int affected) {
+
+        private Chunk withAffected(int count) {
+            return new Chunk(ids, last, count);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.oc.poseidon.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Compteur des écritures d'un type d'entité, tenu par son service et lu par les pages de liste
+ * pour répondre {@code 304 Not Modified} sans requête SQL ni rendu.
+ * <p>
+ * Le compteur n'avance qu'après la validation de la transaction en cours, s'il y en a une :
+ * une version lue avant les données ne peut donc jamais désigner des données plus anciennes
+ * qu'elle, à condition que les données soient lues sur la base primaire : une réplique en retard
+ * renverrait des lignes antérieures à la version. Les listes servies avec un ETag ne sont donc pas
+ * lues en transaction en lecture seule. Le compteur est propre à l'instance de l'application.
+ */
+public final class ChangeCounter {
+
+    private final String entity;
+    private volatile ListVersion version;
+
+    /**
+     * @param entity le type d'entité, repris dans les ETags
+     */
+    public ChangeCounter(String entity) {
+        this.entity = entity;
+        long now = now();
+        this.version = new ListVersion(entity, now, 0, now);
+    }
+
+    /**
+     * @return la version courante de la liste
+     */
+    public ListVersion current() {
+        return version;
+    }
+
+    /**
+     * Signale une écriture, prise en compte après la validation de la transaction en cours.
+     */
+    public void increment() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance();
+                }
+            });
+        } else {
+            advance();
+        }
+    }
+
+    private synchronized void advance() {
+        ListVersion current = version;
+        version = new ListVersion(entity, current.epoch(), current.changes() + 1, now());
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000 * 1000;
+    }
+}
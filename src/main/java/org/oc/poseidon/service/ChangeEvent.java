@@ -0,0 +1,14 @@
+package org.oc.poseidon.service;
+
+import org.oc.poseidon.domain.AuditAction;
+
+/**
+ * Modification d'une entité, diffusée aux pages de liste abonnées à {@link ChangeFeed}.
+ *
+ * @param entity le flux concerné ({@link ChangeFeed#TRADE} ou {@link ChangeFeed#BID_LIST})
+ * @param id     l'identifiant de l'entité
+ * @param action la nature de la modification
+ * @param row    la ligne telle qu'affichée par la liste après la modification, {@code null} pour une suppression
+ */
+public record ChangeEvent(String entity, Integer id, AuditAction action, Object row) {
+}
@@ -0,0 +1,285 @@
+package org.oc.poseidon.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.oc.poseidon.domain.AuditAction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Diffusion en direct (Server-Sent Events) des écritures de {@link TradeService} et {@link BidListService}
+ * aux pages de liste ouvertes, qui se mettent à jour sans recharger toute la table.
+ * <p>
+ * Chaque client dispose d'un tampon borné, indexé par identifiant d'entité : plusieurs modifications
+ * d'une même ligne entre deux envois sont fusionnées en une seule (une création suivie d'une
+ * suppression disparaît). Un thread de diffusion déclenche les envois à intervalle régulier,
+ * chacun sur un thread virtuel : un client lent ne retarde pas les autres et n'a jamais plus d'un
+ * envoi en cours, ses modifications continuant d'être fusionnées dans l'intervalle.
+ * <p>
+ * Si le tampon d'un client déborde, il est vidé et le client reçoit un événement {@code reset}
+ * l'invitant à recharger la page. Dans une transaction, les événements ne sont diffusés
+ * qu'après sa validation.
+ */
+@Service
+public class ChangeFeed implements SmartLifecycle {
+
+    /** Flux des transactions. */
+    public static final String TRADE = "trade";
+    /** Flux des offres. */
+    public static final String BID_LIST = "bidList";
+
+    static final String CHANGES_EVENT = "changes";
+    static final String RESET_EVENT = "reset";
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final int bufferCapacity;
+    private final Duration flushInterval;
+    private final Counter overflow;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("change-feed-", 0).factory());
+
+    private volatile boolean running;
+    private ScheduledExecutorService dispatcher;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param registry       le registre des métriques ({@code poseidon.feed.*})
+     * @param bufferCapacity le nombre de lignes modifiées pouvant attendre leur envoi à un client
+     * @param flushInterval  l'intervalle entre deux envois à un même client
+     */
+    public ChangeFeed(MeterRegistry registry,
+                      @Value("${poseidon.feed.client-buffer:256}") int bufferCapacity,
+                      @Value("${poseidon.feed.flush-interval:250ms}") Duration flushInterval) {
+        this.bufferCapacity = bufferCapacity;
+        this.flushInterval = flushInterval;
+        this.overflow = Counter.builder("poseidon.feed.overflow")
+                .description("Tampons de clients SSE ayant débordé, remplacés par un événement reset")
+                .register(registry);
+        Gauge.builder("poseidon.feed.clients", this, ChangeFeed::clientCount)
+                .description("Clients abonnés au flux des modifications")
+                .register(registry);
+    }
+
+    /**
+     * Abonne un client au flux d'une entité, jusqu'à la fin de sa connexion.
+     *
+     * @param entity  le flux ({@link #TRADE} ou {@link #BID_LIST})
+     * @param emitter la connexion SSE du client
+     */
+    public void subscribe(String entity, SseEmitter emitter) {
+        Set<Subscriber> clients = subscribers.computeIfAbsent(entity, key -> ConcurrentHashMap.newKeySet());
+        Subscriber subscriber = new Subscriber(emitter, bufferCapacity);
+        emitter.onCompletion(() -> clients.remove(subscriber));
+        emitter.onError(error -> clients.remove(subscriber));
+        clients.add(subscriber);
+    }
+
+    /**
+     * Diffuse la modification d'une entité aux clients abonnés à son flux.
+     *
+     * @param entity le flux ({@link #TRADE} ou {@link #BID_LIST})
+     * @param id     l'identifiant de l'entité
+     * @param action la nature de la modification
+     * @param row    la ligne après la modification, {@code null} pour une suppression
+     */
+    public void publish(String entity, Integer id, AuditAction action, Object row) {
+        ChangeEvent event = new ChangeEvent(entity, id, action, row);
+        afterCommit(() -> clients(entity).forEach(subscriber -> {
+            if (!subscriber.offer(event)) {
+                overflow.increment();
+            }
+        }));
+    }
+
+    /**
+     * Invite les clients abonnés au flux d'une entité à recharger leur page,
+     * par exemple après une écriture en masse.
+     *
+     * @param entity le flux ({@link #TRADE} ou {@link #BID_LIST})
+     */
+    public void invalidate(String entity) {
+        afterCommit(() -> clients(entity).forEach(Subscriber::reset));
+    }
+
+    @Override
+    public synchronized void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = flushInterval.toMillis();
+        dispatcher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    /**
+     * Arrêté avant le serveur web, pour que les connexions SSE ouvertes ne retardent pas son arrêt.
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+        subscribers.values().forEach(clients -> clients.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Déclenche l'envoi des événements en attente à chaque client qui n'a pas déjà un envoi en cours.
+     */
+    void flush() {
+        subscribers.values().forEach(clients -> clients.forEach(subscriber -> {
+            if (subscriber.hasPending() && subscriber.sending.compareAndSet(false, true)) {
+                senders.execute(() -> send(clients, subscriber));
+            }
+        }));
+    }
+
+    private void send(Set<Subscriber> clients, Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event = subscriber.nextEvent();
+            if (event != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            clients.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private Set<Subscriber> clients(String entity) {
+        return subscribers.getOrDefault(entity, Set.of());
+    }
+
+    private double clientCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Fusionne deux modifications successives d'une même ligne.
+     *
+     * @return la modification à envoyer, ou {@code null} si la ligne n'a jamais été vue par le client
+     */
+    static ChangeEvent coalesce(ChangeEvent previous, ChangeEvent next) {
+        if (previous == null || previous.action() != AuditAction.CREATE) {
+            return next;
+        }
+        return switch (next.action()) {
+            case DELETE -> null;
+            case UPDATE -> new ChangeEvent(next.entity(), next.id(), AuditAction.CREATE, next.row());
+            case CREATE -> next;
+        };
+    }
+
+    /**
+     * Client abonné : tampon borné des lignes modifiées depuis le dernier envoi.
+     */
+    static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final int capacity;
+        private final Map<Integer, ChangeEvent> pending = new LinkedHashMap<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private boolean reset;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.capacity = capacity;
+        }
+
+        /**
+         * @return false si le tampon a débordé et a été remplacé par un événement {@code reset}
+         */
+        synchronized boolean offer(ChangeEvent event) {
+            if (reset) {
+                return true;
+            }
+            ChangeEvent previous = pending.get(event.id());
+            if (previous == null && pending.size() == capacity) {
+                reset();
+                return false;
+            }
+            ChangeEvent merged = coalesce(previous, event);
+            if (merged == null) {
+                pending.remove(event.id());
+            } else {
+                pending.put(event.id(), merged);
+            }
+            return true;
+        }
+
+        synchronized void reset() {
+            pending.clear();
+            reset = true;
+        }
+
+        synchronized boolean hasPending() {
+            return reset || !pending.isEmpty();
+        }
+
+        synchronized List<ChangeEvent> pendingEvents() {
+            return new ArrayList<>(pending.values());
+        }
+
+        /**
+         * Retire du tampon l'événement SSE à envoyer.
+         *
+         * @return l'événement {@code reset} ou {@code changes}, ou {@code null} si rien n'est en attente
+         */
+        synchronized SseEmitter.SseEventBuilder nextEvent() {
+            if (reset) {
+                reset = false;
+                return SseEmitter.event().name(RESET_EVENT).data("");
+            }
+            if (pending.isEmpty()) {
+                return null;
+            }
+            List<ChangeEvent> events = new ArrayList<>(pending.values());
+            pending.clear();
+            return SseEmitter.event().name(CHANGES_EVENT).data(events, MediaType.APPLICATION_JSON);
+        }
+    }
+}
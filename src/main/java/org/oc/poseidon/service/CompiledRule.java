@@ -0,0 +1,72 @@
+package org.oc.poseidon.service;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+
+import java.util.Map;
+
+/**
+ * Forme exécutable d'une {@link org.oc.poseidon.domain.RuleName}, produite une seule fois par le {@link RuleEngine} :
+ * <ul>
+ *     <li>{@code json} analysé en paramètres par défaut de la règle ;</li>
+ *     <li>{@code template} découpé en fragments et variables {@code ${nom}} ;</li>
+ *     <li>{@code sqlStr} (complété par {@code sqlPart}) analysé une fois : les paramètres nommés
+ *     {@code :nom} sont remplacés par des {@code ?} pour un {@code PreparedStatement}.</li>
+ * </ul>
+ */
+public final class CompiledRule {
+
+    private final int id;
+    private final String name;
+    private final Map<String, Object> parameters;
+    private final CompiledTemplate template;
+    private final ParsedSql parsedSql;
+    private final String preparedSql;
+
+    CompiledRule(int id, String name, Map<String, Object> parameters, String template, String sql) {
+        this.id = id;
+        this.name = name;
+        this.parameters = Map.copyOf(parameters);
+        this.template = template == null ? null : CompiledTemplate.compile(template);
+        this.parsedSql = sql == null ? null : NamedParameterUtils.parseSqlStatement(sql);
+        this.preparedSql = parsedSql == null ? null : NamedParameterUtils.substituteNamedParameters(parsedSql, null);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return les paramètres issus du {@code json} de la règle
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    public boolean hasTemplate() {
+        return template != null;
+    }
+
+    public boolean hasSql() {
+        return parsedSql != null;
+    }
+
+    /**
+     * @return la requête avec des {@code ?} à la place des paramètres nommés
+     */
+    public String getPreparedSql() {
+        return preparedSql;
+    }
+
+    CompiledTemplate template() {
+        return template;
+    }
+
+    ParsedSql parsedSql() {
+        return parsedSql;
+    }
+}
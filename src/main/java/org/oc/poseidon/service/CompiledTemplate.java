@@ -0,0 +1,62 @@
+package org.oc.poseidon.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Modèle de texte précompilé : le texte est découpé une seule fois en fragments littéraux
+ * et en variables {@code ${nom}}, puis rendu sans nouvelle analyse.
+ */
+final class CompiledTemplate {
+
+    private final String[] literals;
+    private final String[] variables;
+
+    private CompiledTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Analyse un modèle. Une séquence {@code ${} non fermée est conservée telle quelle.
+     *
+     * @param template le texte du modèle
+     * @return le modèle compilé
+     */
+    static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = template.indexOf("${", position);
+            int end = start < 0 ? -1 : template.indexOf('}', start + 2);
+            if (end < 0) {
+                literals.add(template.substring(position));
+                break;
+            }
+            literals.add(template.substring(position, start));
+            variables.add(template.substring(start + 2, end).trim());
+            position = end + 1;
+        }
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    /**
+     * Rend le modèle ; une variable sans valeur est remplacée par une chaîne vide.
+     *
+     * @param values résolution des variables par leur nom
+     * @return le texte rendu
+     */
+    String render(Function<String, Object> values) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            Object value = values.apply(variables[i]);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        return out.append(literals[variables.length]).toString();
+    }
+}
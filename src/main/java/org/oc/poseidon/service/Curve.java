@@ -0,0 +1,124 @@
+package org.oc.poseidon.service;
+
+import org.oc.poseidon.domain.CurvePoint;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Représentation compilée et immuable d'une courbe : maturités et valeurs triées
+ * dans des tableaux primitifs, avec les dérivées secondes de la spline naturelle
+ * calculées une fois pour toutes.
+ * <p>
+ * L'évaluation n'alloue aucun objet. En dehors de l'intervalle des maturités connues,
+ * la valeur du point extrême est retournée (extrapolation plate).
+ */
+final class Curve {
+
+    private final double[] terms;
+    private final double[] values;
+    private final double[] secondDerivatives;
+    private final int[] pointIds;
+
+    private Curve(double[] terms, double[] values, int[] pointIds) {
+        this.terms = terms;
+        this.values = values;
+        this.secondDerivatives = naturalSpline(terms, values);
+        this.pointIds = pointIds;
+    }
+
+    /**
+     * Construit une courbe à partir de points triés par maturité croissante.
+     * Les points sans maturité ou sans valeur sont ignorés ; pour une maturité
+     * présente plusieurs fois, le dernier point l'emporte.
+     *
+     * @param points les points de la courbe, triés par {@code term}
+     * @return la courbe, ou {@code null} si aucun point n'est exploitable
+     */
+    static Curve of(List<CurvePoint> points) {
+        double[] terms = new double[points.size()];
+        double[] values = new double[points.size()];
+        int[] pointIds = new int[points.size()];
+        int ids = 0;
+        int n = 0;
+        for (CurvePoint point : points) {
+            if (point.getId() != null) {
+                pointIds[ids++] = point.getId();
+            }
+            if (point.getTerm() == null || point.getValue() == null) {
+                continue;
+            }
+            if (n > 0 && terms[n - 1] == point.getTerm()) {
+                values[n - 1] = point.getValue();
+                continue;
+            }
+            terms[n] = point.getTerm();
+            values[n] = point.getValue();
+            n++;
+        }
+        if (n == 0) {
+            return null;
+        }
+        pointIds = Arrays.copyOf(pointIds, ids);
+        Arrays.sort(pointIds);
+        return new Curve(Arrays.copyOf(terms, n), Arrays.copyOf(values, n), pointIds);
+    }
+
+    /**
+     * @param pointId l'identifiant d'un point de courbe
+     * @return {@code true} si le point faisait partie de la courbe lors de sa construction
+     */
+    boolean contains(int pointId) {
+        return Arrays.binarySearch(pointIds, pointId) >= 0;
+    }
+
+    double valueAt(double term, Interpolation interpolation) {
+        int last = terms.length - 1;
+        if (term <= terms[0]) {
+            return values[0];
+        }
+        if (term >= terms[last]) {
+            return values[last];
+        }
+
+        int index = Arrays.binarySearch(terms, term);
+        if (index >= 0) {
+            return values[index];
+        }
+        int hi = -index - 1;
+        int lo = hi - 1;
+        double h = terms[hi] - terms[lo];
+        double a = (terms[hi] - term) / h;
+        double b = (term - terms[lo]) / h;
+
+        if (interpolation == Interpolation.LINEAR) {
+            return a * values[lo] + b * values[hi];
+        }
+        return a * values[lo] + b * values[hi]
+                + ((a * a * a - a) * secondDerivatives[lo] + (b * b * b - b) * secondDerivatives[hi]) * (h * h) / 6.0;
+    }
+
+    /**
+     * Calcule les dérivées secondes d'une spline cubique naturelle (algorithme de Thomas).
+     */
+    private static double[] naturalSpline(double[] x, double[] y) {
+        int n = x.length;
+        double[] y2 = new double[n];
+        if (n < 3) {
+            return y2;
+        }
+        double[] u = new double[n - 1];
+        for (int i = 1; i < n - 1; i++) {
+            double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
+            double p = sig * y2[i - 1] + 2.0;
+            y2[i] = (sig - 1.0) / p;
+            double slope = (y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1]);
+            u[i] = (6.0 * slope / (x[i + 1] - x[i - 1]) - sig * u[i - 1]) / p;
+        }
+        y2[n - 1] = 0.0;
+        for (int k = n - 2; k >= 0; k--) {
+            y2[k] = y2[k] * y2[k + 1] + u[k];
+        }
+        return y2;
+    }
+}
@@ -0,0 +1,212 @@
+package org.oc.poseidon.service;
+
+import org.oc.poseidon.repositories.CurvePointRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moteur de courbes : regroupe les {@link org.oc.poseidon.domain.CurvePoint} par {@code curveId},
+ * les conserve en mémoire sous forme compilée et permet de les évaluer à n'importe quelle maturité.
+ * <p>
+ * Une courbe est chargée depuis la base au premier accès, puis servie depuis le cache
+ * jusqu'à son invalidation par {@link CurvePointService}. Le cache est un instantané immuable
+ * (identifiants triés et courbes associées) remplacé à chaque modification : la lecture
+ * ne prend aucun verrou et n'alloue aucun objet.
+ * <p>
+ * Une courbe absente est lue en base sans verrou : les appels concurrents sur la même courbe
+ * attendent le même chargement, ceux sur d'autres courbes et les invalidations ne sont pas bloqués.
+ * Le verrou n'est pris que pour publier le nouvel instantané, et une invalidation survenue
+ * pendant le chargement empêche de publier une courbe lue avant elle.
+ */
+@Service
+public class CurveEngine {
+
+    private final CurvePointRepository repo;
+    private final Map<Integer, CompletableFuture<Curve>> loads = new ConcurrentHashMap<>();
+    /** Sérialise les invalidations et la publication des instantanés. */
+    private final Lock updateLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(new int[0], new Curve[0]);
+    private volatile long generation;
+
+    /**
+     * Constructeur avec injection du dépôt {@link CurvePointRepository}.
+     *
+     * @param repo le dépôt des points de courbe
+     */
+    public CurveEngine(CurvePointRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Évalue une courbe par interpolation linéaire.
+     *
+     * @param curveId l'identifiant de la courbe
+     * @param term    la maturité recherchée
+     * @return la valeur interpolée
+     * @throws IllegalArgumentException si la courbe n'a aucun point exploitable
+     */
+    public double valueAt(int curveId, double term) {
+        return valueAt(curveId, term, Interpolation.LINEAR);
+    }
+
+    /**
+     * Évalue une courbe avec la méthode d'interpolation demandée.
+     *
+     * @param curveId       l'identifiant de la courbe
+     * @param term          la maturité recherchée
+     * @param interpolation la méthode d'interpolation
+     * @return la valeur interpolée
+     * @throws IllegalArgumentException si la courbe n'a aucun point exploitable
+     */
+    public double valueAt(int curveId, double term, Interpolation interpolation) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.curveIds, curveId);
+        Curve curve = index >= 0 ? current.curves[index] : load(curveId);
+        return curve.valueAt(term, interpolation);
+    }
+
+    /**
+     * Retire une courbe du cache ; elle sera rechargée au prochain accès.
+     *
+     * @param curveId l'identifiant de la courbe modifiée
+     */
+    public void invalidate(int curveId) {
+        updateLock.lock();
+        try {
+            generation++;
+            loads.remove(curveId);
+            Snapshot current = snapshot;
+            int index = Arrays.binarySearch(current.curveIds, curveId);
+            if (index < 0) {
+                return;
+            }
+            int size = current.curveIds.length;
+            int[] ids = new int[size - 1];
+            Curve[] curves = new Curve[size - 1];
+            System.arraycopy(current.curveIds, 0, ids, 0, index);
+            System.arraycopy(current.curves, 0, curves, 0, index);
+            System.arraycopy(current.curveIds, index + 1, ids, index, size - index - 1);
+            System.arraycopy(current.curves, index + 1, curves, index, size - index - 1);
+            snapshot = new Snapshot(ids, curves);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Retire du cache la courbe contenant un point, lorsque le {@code curveId} d'origine
+     * du point n'est pas connu (mise à jour sans relecture préalable).
+     *
+     * @param pointId l'identifiant du point de courbe modifié
+     */
+    public void invalidatePoint(int pointId) {
+        updateLock.lock();
+        try {
+            generation++;
+            loads.clear();
+            Snapshot current = snapshot;
+            for (int i = 0; i < current.curveIds.length; i++) {
+                if (current.curves[i].contains(pointId)) {
+                    invalidate(current.curveIds[i]);
+                    return;
+                }
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Vide entièrement le cache des courbes.
+     */
+    public void invalidateAll() {
+        updateLock.lock();
+        try {
+            generation++;
+            loads.clear();
+            snapshot = new Snapshot(new int[0], new Curve[0]);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Charge une courbe absente de l'instantané, ou attend le chargement déjà en cours pour elle.
+     */
+    private Curve load(int curveId) {
+        CompletableFuture<Curve> loading = new CompletableFuture<>();
+        CompletableFuture<Curve> running = loads.putIfAbsent(curveId, loading);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            long loadedGeneration = generation;
+            Curve curve = Curve.of(repo.findByCurveIdOrderByTermAsc(curveId));
+            if (curve == null) {
+                throw new IllegalArgumentException("Courbe inconnue ou vide : " + curveId);
+            }
+            curve = publish(curveId, curve, loadedGeneration);
+            loading.complete(curve);
+            return curve;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(curveId, loading);
+        }
+    }
+
+    /**
+     * Ajoute une courbe chargée à l'instantané, sauf si une invalidation a eu lieu depuis le début
+     * de son chargement ; une courbe déjà publiée entre-temps est conservée.
+     */
+    private Curve publish(int curveId, Curve curve, long loadedGeneration) {
+        updateLock.lock();
+        try {
+            Snapshot current = snapshot;
+            int index = Arrays.binarySearch(current.curveIds, curveId);
+            if (index >= 0) {
+                return current.curves[index];
+            }
+            if (generation != loadedGeneration) {
+                return curve;
+            }
+
+            int insertion = -index - 1;
+            int size = current.curveIds.length;
+            int[] ids = new int[size + 1];
+            Curve[] curves = new Curve[size + 1];
+            System.arraycopy(current.curveIds, 0, ids, 0, insertion);
+            System.arraycopy(current.curves, 0, curves, 0, insertion);
+            ids[insertion] = curveId;
+            curves[insertion] = curve;
+            System.arraycopy(current.curveIds, insertion, ids, insertion + 1, size - insertion);
+            System.arraycopy(current.curves, insertion, curves, insertion + 1, size - insertion);
+            snapshot = new Snapshot(ids, curves);
+            return curve;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private static Curve await(CompletableFuture<Curve> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Snapshot(int[] curveIds, Curve[] curves) {
+    }
+}
@@ -1,8 +1,11 @@
 package org.oc.poseidon.service;
 
 import org.oc.poseidon.domain.CurvePoint;
+import org.oc.poseidon.domain.CurvePointSummary;
 import org.oc.poseidon.repositories.CurvePointRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -11,19 +14,25 @@ import java.util.List;
  * <p>
  * Fournit des méthodes pour la récupération, la validation, l'ajout,
  * la mise à jour et la suppression des objets {@code CurvePoint}.
+ * Chaque modification invalide la courbe concernée dans le {@link CurveEngine}
+ * et fait avancer le compteur de la liste ({@link #listVersion()}).
  */
 @Service
 public class CurvePointService {
 
     private final CurvePointRepository repo;
+    private final CurveEngine curveEngine;
+    private final ChangeCounter changes = new ChangeCounter("curvePoint");
 
     /**
-     * Constructeur injectant le dépôt {@link CurvePointRepository}.
+     * Constructeur injectant le dépôt {@link CurvePointRepository} et le moteur de courbes.
      *
-     * @param repo le dépôt de données des {@link CurvePoint}
+     * @param repo        le dépôt de données des {@link CurvePoint}
+     * @param curveEngine le cache des courbes à invalider lors des modifications
      */
-    public CurvePointService(CurvePointRepository repo) {
+    public CurvePointService(CurvePointRepository repo, CurveEngine curveEngine) {
         this.repo = repo;
+        this.curveEngine = curveEngine;
     }
 
     /**
@@ -31,10 +40,34 @@ public class CurvePointService {
      *
      * @return la liste des {@code CurvePoint}
      */
+    @Transactional(readOnly = true)
     public List<CurvePoint> curveAll() {
         return repo.findAll();
     }
 
+    /**
+     * Récupère tous les points de courbe sous forme de projection {@link CurvePointSummary}, pour les pages de liste :
+     * seules les colonnes affichées sont lues, sans entité gérée par la session.
+     * <p>
+     * La lecture se fait sur la base primaire, jamais sur une réplique : la page est servie avec l'ETag
+     * de {@link #listVersion()}, qui ne doit pas désigner des lignes plus anciennes que sa version.
+     *
+     * @return la liste des projections, triée par identifiant
+     */
+    @Transactional
+    public List<CurvePointSummary> curveSummaries() {
+        return repo.findAllSummaries();
+    }
+
+    /**
+     * Version courante de la liste des points de courbe, qui change à chaque écriture validée.
+     *
+     * @return la version, lue en mémoire
+     */
+    public ListVersion listVersion() {
+        return changes.current();
+    }
+
     /**
      * Vérifie que l'objet {@link CurvePoint} est valide.
      * Il doit avoir un {@code curveId} non nul et un {@code term}
@@ -60,6 +93,8 @@ public class CurvePointService {
 
         if (validCurvePoint(curvePoint)) {
             repo.save(curvePoint);
+            curveEngine.invalidate(curvePoint.getCurveId());
+            changes.increment();
             result = true;
         }
 
@@ -77,23 +112,27 @@ public class CurvePointService {
     }
 
     /**
-     * Met à jour un {@link CurvePoint} existant avec de nouvelles données.
+     * Met à jour un {@link CurvePoint} existant avec de nouvelles données,
+     * en une seule requête conditionnée par sa version.
      *
-     * @param formCurvePoint les nouvelles valeurs
+     * @param formCurvePoint les nouvelles valeurs, avec la version lue par le formulaire
      * @param id             l'identifiant de l'objet à modifier
-     * @return true si la mise à jour a été effectuée avec succès
+     * @return true si la mise à jour a été effectuée avec succès, false si les données sont invalides
+     * @throws ObjectOptimisticLockingFailureException si l'entité a été modifiée ou supprimée depuis sa lecture
      */
     public boolean updateCurvePoint(CurvePoint formCurvePoint, int id) {
         boolean result = false;
 
-        CurvePoint curvePoint = repo.findById(id);
-
         if (validCurvePoint(formCurvePoint)) {
-            curvePoint.setCurveId(formCurvePoint.getCurveId());
-            curvePoint.setTerm(formCurvePoint.getTerm());
-            curvePoint.setValue(formCurvePoint.getValue());
-
-            repo.save(curvePoint);
+            int updated = formCurvePoint.getVersion() == null ? 0 : repo.updateIfVersion(id,
+                    formCurvePoint.getVersion(), formCurvePoint.getCurveId(), formCurvePoint.getTerm(),
+                    formCurvePoint.getValue());
+            if (updated == 0) {
+                throw new ObjectOptimisticLockingFailureException(CurvePoint.class, id);
+            }
+            curveEngine.invalidatePoint(id);
+            curveEngine.invalidate(formCurvePoint.getCurveId());
+            changes.increment();
             result = true;
         }
 
@@ -108,5 +147,9 @@ public class CurvePointService {
     public void deleteCurvePoint(int id) {
         CurvePoint curvePoint = curvePointById(id);
         repo.delete(curvePoint);
+        changes.increment();
+        if (curvePoint.getCurveId() != null) {
+            curveEngine.invalidate(curvePoint.getCurveId());
+        }
     }
 }
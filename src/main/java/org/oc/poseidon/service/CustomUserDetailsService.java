@@ -1,35 +1,65 @@
 package org.oc.poseidon.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.oc.poseidon.domain.User;
 import org.oc.poseidon.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
 /**
- * Service personnalisé implémentant {@link UserDetailsService}
- * utilisé par Spring Security pour l'authentification des utilisateurs.
+ * Service personnalisé implémentant {@link UserDetailsService} et {@link UserDetailsPasswordService},
+ * utilisé par Spring Security pour l'authentification des utilisateurs et la mise à niveau de leurs hachages.
  * <p>
  * Cette classe permet de charger un utilisateur à partir de son nom d'utilisateur.
+ * Les utilisateurs chargés sont conservés dans un cache borné à durée de vie limitée,
+ * afin d'éviter une requête en base à chaque connexion. Le cache contient un instantané
+ * détaché et immuable (nom, mot de passe encodé, rôles) ; il doit être invalidé via
+ * {@link #evict(String)} lorsqu'un utilisateur est modifié ou supprimé.
+ * <p>
+ * Le chargement d'un utilisateur absent du cache est atomique pour sa clé : une invalidation
+ * concurrente attend la fin du chargement puis retire son résultat, si bien qu'un chargement
+ * commencé avant une modification ne peut pas remettre l'ancien état en cache.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final Cache<String, CachedUser> cache;
 
     /**
      * Constructeur injectant le dépôt utilisateur {@link UserRepository}.
      *
      * @param userRepository le repository d'accès aux utilisateurs
+     * @param maxSize        le nombre maximal d'utilisateurs conservés en cache
+     * @param ttl            la durée de vie d'une entrée du cache
      */
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${poseidon.security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${poseidon.security.user-cache.ttl:5m}") Duration ttl) {
         this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
     }
 
     /**
-     * Charge un utilisateur par son nom d'utilisateur.
+     * Charge un utilisateur par son nom d'utilisateur, depuis le cache si possible.
+     * <p>
+     * Un nouvel objet {@link UserDetails} est retourné à chaque appel : Spring Security
+     * efface le mot de passe de l'objet authentifié, ce qui ne doit pas altérer le cache.
      *
      * @param username le nom d'utilisateur fourni lors de l'authentification
      * @return un objet {@link UserDetails} correspondant à l'utilisateur
@@ -37,10 +67,61 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserDetails user = userRepository.findByUsername(username);
+        CachedUser cached = cache.get(username, this::load);
+        return cached.toUserDetails();
+    }
+
+    private CachedUser load(String username) {
+        User user = userRepository.findByUsername(username);
         if (user == null) {
             throw new UsernameNotFoundException("Utilisateur non trouvé : " + username);
         }
-        return user;
+        return new CachedUser(user.getUsername(), user.getPassword(), List.copyOf(user.getAuthorities()));
+    }
+
+    /**
+     * Enregistre le nouveau hachage d'un utilisateur après une connexion réussie,
+     * lorsque l'encodeur a signalé que l'ancien devait être mis à niveau.
+     *
+     * @param user        l'utilisateur authentifié
+     * @param newPassword le mot de passe réencodé
+     * @return l'utilisateur avec son nouveau hachage
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        evict(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    /**
+     * Retire un utilisateur du cache, pour que ses changements de rôle ou de mot de passe
+     * soient pris en compte dès la prochaine authentification.
+     *
+     * @param username le nom de l'utilisateur modifié ou supprimé
+     */
+    public void evict(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    /**
+     * Vide entièrement le cache des utilisateurs.
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private record CachedUser(String username, String password, Collection<? extends GrantedAuthority> authorities) {
+
+        UserDetails toUserDetails() {
+            return org.springframework.security.core.userdetails.User.withUsername(username)
+                    .password(password)
+                    .authorities(authorities)
+                    .build();
+        }
     }
 }
@@ -0,0 +1,51 @@
+package org.oc.poseidon.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Plage d'instants semi-ouverte {@code [from, to)}, utilisée pour filtrer les transactions
+ * et les offres par date.
+ * <p>
+ * La borne supérieure exclue permet de couvrir des journées entières sans arrondi à la milliseconde :
+ * une recherche sur une journée ne lit, via les index {@code (date, compte)}, que les lignes de cette journée.
+ *
+ * @param from le premier instant inclus
+ * @param to   le premier instant exclu
+ */
+public record DateRange(Instant from, Instant to) {
+
+    public DateRange {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+    }
+
+    /**
+     * Construit la plage couvrant des journées entières, dans le fuseau du serveur.
+     *
+     * @param from la première journée incluse, ou {@code null} pour ne pas filtrer
+     * @param to   la dernière journée incluse ; {@code from} si {@code null}
+     * @return la plage, ou {@code null} si aucune journée de début n'est donnée
+     */
+    public static DateRange ofDays(LocalDate from, LocalDate to) {
+        return ofDays(from, to, ZoneId.systemDefault());
+    }
+
+    /**
+     * Construit la plage couvrant des journées entières dans un fuseau donné.
+     *
+     * @param from la première journée incluse, ou {@code null} pour ne pas filtrer
+     * @param to   la dernière journée incluse ; {@code from} si {@code null}
+     * @param zone le fuseau dans lequel les journées commencent
+     * @return la plage, ou {@code null} si aucune journée de début n'est donnée
+     */
+    public static DateRange ofDays(LocalDate from, LocalDate to, ZoneId zone) {
+        if (from == null) {
+            return null;
+        }
+        LocalDate last = to == null ? from : to;
+        return new DateRange(from.atStartOfDay(zone).toInstant(), last.plusDays(1).atStartOfDay(zone).toInstant());
+    }
+}
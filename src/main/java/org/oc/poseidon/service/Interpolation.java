@@ -0,0 +1,11 @@
+package org.oc.poseidon.service;
+
+/**
+ * Méthodes d'interpolation disponibles pour évaluer une courbe entre deux points.
+ */
+public enum Interpolation {
+    /** Interpolation linéaire entre les deux points encadrants. */
+    LINEAR,
+    /** Spline cubique naturelle (dérivée seconde nulle aux extrémités). */
+    CUBIC_SPLINE
+}
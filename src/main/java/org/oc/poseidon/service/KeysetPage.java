@@ -0,0 +1,27 @@
+package org.oc.poseidon.service;
+
+import java.util.List;
+
+/**
+ * Page de résultats obtenue par pagination « keyset » (seek).
+ * <p>
+ * Plutôt qu'un numéro de page, chaque page expose les curseurs (identifiants)
+ * permettant de demander la page précédente ou suivante : le coût d'une page reste
+ * constant quelle que soit la taille de la table.
+ *
+ * @param content        les éléments de la page, triés par identifiant croissant
+ * @param previousCursor identifiant à passer en {@code before} pour la page précédente, ou {@code null}
+ * @param nextCursor     identifiant à passer en {@code after} pour la page suivante, ou {@code null}
+ * @param size           la taille de page effectivement appliquée
+ * @param <T>            le type des éléments
+ */
+public record KeysetPage<T>(List<T> content, Integer previousCursor, Integer nextCursor, int size) {
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
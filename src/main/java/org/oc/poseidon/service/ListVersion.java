@@ -0,0 +1,28 @@
+package org.oc.poseidon.service;
+
+/**
+ * Version courante d'une liste d'entités, servant de validateur aux requêtes conditionnelles (GET avec
+ * {@code If-None-Match}). La date {@code lastModified}, propre à l'instance, n'est pas un validateur fiable
+ * à elle seule.
+ *
+ * @param entity       le type d'entité
+ * @param epoch        l'instant de création du compteur, qui distingue deux démarrages de l'application
+ * @param changes      le nombre d'écritures validées depuis ce démarrage
+ * @param lastModified l'instant de la dernière écriture (ou du démarrage), tronqué à la seconde
+ */
+public record ListVersion(String entity, long epoch, long changes, long lastModified) {
+
+    /**
+     * Construit l'ETag forte de la liste telle que rendue pour un client.
+     * <p>
+     * La page rendue dépend aussi de sa session (utilisateur affiché, jeton CSRF du formulaire de
+     * déconnexion) : celle-ci entre dans l'ETag sous forme d'empreinte, sans être exposée.
+     *
+     * @param variant ce qui, en plus des données, distingue la page rendue (utilisateur et session)
+     * @return l'ETag, entre guillemets
+     */
+    public String etag(String variant) {
+        return "\"" + entity + "-" + Long.toString(epoch, 36) + "-" + changes + "-"
+                + Integer.toHexString(variant == null ? 0 : variant.hashCode()) + "\"";
+    }
+}
@@ -0,0 +1,13 @@
+package org.oc.poseidon.service;
+
+import java.util.List;
+
+/**
+ * Profondeur d'un carnet d'ordres, meilleurs prix en tête de chaque côté.
+ *
+ * @param security le titre
+ * @param bids     les niveaux acheteurs, par prix décroissant
+ * @param asks     les niveaux vendeurs, par prix croissant
+ */
+public record OrderBookDepth(String security, List<PriceLevel> bids, List<PriceLevel> asks) {
+}
@@ -0,0 +1,413 @@
+package org.oc.poseidon.service;
+
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.repositories.BidListRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Carnets d'ordres par titre, construits à partir des {@link BidList} et maintenus en mémoire
+ * au fil des écritures de {@link BidListService}.
+ * <p>
+ * Chaque offre est une cotation à deux côtés : le couple {@code bid}/{@code bidQuantity} alimente
+ * le côté acheteur et le couple {@code ask}/{@code askQuantity} le côté vendeur, lorsqu'ils sont
+ * renseignés ; le champ {@code side} n'est pas utilisé. Les offres sans titre sont ignorées.
+ * Chaque côté est un tableau de niveaux de prix triés par prix croissant : le meilleur prix
+ * se lit en temps constant, et un niveau se trouve par recherche dichotomique.
+ * <p>
+ * Comme pour {@link PositionEngine}, la contribution de chaque offre est conservée pour être
+ * retirée sans relire la base ; les carnets sont construits au premier accès, reconstruits
+ * à la demande par {@link #rebuild()}, et les lectures prennent un verrou partagé.
+ */
+@Service
+public class OrderBookEngine {
+
+    private final BidListRepository repo;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Sérialise les écritures et les reconstructions, comme dans {@link PositionEngine}. */
+    private final Lock updateLock = new ReentrantLock();
+    private volatile State state;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param repo               le dépôt des offres, lu lors des reconstructions
+     * @param transactionManager le gestionnaire de transactions encadrant la lecture en flux
+     */
+    public OrderBookEngine(BidListRepository repo, PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Récupère les meilleurs prix d'un titre.
+     *
+     * @param security le titre
+     * @return les meilleurs prix, vide si aucune offre ne porte sur ce titre
+     */
+    public Optional<TopOfBook> topOfBook(String security) {
+        State current = state();
+        lock.readLock().lock();
+        try {
+            Book book = current.books.get(security);
+            return book == null || book.isEmpty() ? Optional.empty() : Optional.of(book.top(security));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Récupère les meilleurs prix de tous les titres.
+     *
+     * @return les meilleurs prix, triés par titre
+     */
+    public List<TopOfBook> topOfBooks() {
+        State current = state();
+        List<TopOfBook> tops = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            current.books.forEach((security, book) -> {
+                if (!book.isEmpty()) {
+                    tops.add(book.top(security));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        tops.sort(Comparator.comparing(TopOfBook::security));
+        return tops;
+    }
+
+    /**
+     * Récupère les meilleurs niveaux de prix de chaque côté d'un carnet.
+     *
+     * @param security le titre
+     * @param levels   le nombre maximal de niveaux par côté
+     * @return la profondeur du carnet, vide si aucune offre ne porte sur ce titre
+     */
+    public Optional<OrderBookDepth> depth(String security, int levels) {
+        State current = state();
+        lock.readLock().lock();
+        try {
+            Book book = current.books.get(security);
+            return book == null || book.isEmpty()
+                    ? Optional.empty()
+                    : Optional.of(new OrderBookDepth(security, book.bids.best(levels, true), book.asks.best(levels, false)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Prend en compte une offre créée, ou en remplace la contribution si elle est déjà connue.
+     *
+     * @param bid l'offre enregistrée, avec son identifiant
+     */
+    public void bidListSaved(BidList bid) {
+        updateLock.lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                state.put(bid);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Prend en compte la modification de la quantité acheteuse d'une offre,
+     * seul champ de carnet modifié par {@link BidListService#updateBidList}.
+     *
+     * @param bidListId   l'identifiant de l'offre
+     * @param bidQuantity la nouvelle quantité acheteuse
+     */
+    public void bidQuantityAmended(int bidListId, Double bidQuantity) {
+        updateLock.lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                state.amendBidQuantity(bidListId, bidQuantity);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Retire la contribution d'une offre supprimée.
+     *
+     * @param bidListId l'identifiant de l'offre
+     */
+    public void bidListDeleted(int bidListId) {
+        updateLock.lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                state.remove(bidListId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Retire la contribution de offres supprimées en masse, sous un seul verrou d'écriture.
+     *
+     * @param bidListIds les identifiants des offres
+     */
+    public void bidListsDeleted(Collection<Integer> bidListIds) {
+        updateLock.lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                for (int id : bidListIds) {
+                    state.remove(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Reconstruit les carnets à partir de la table {@code bidlist}, lue en flux sur la base primaire.
+     * Les lectures continuent sur les carnets précédents jusqu'au remplacement.
+     *
+     * @return le nombre d'offres prises en compte
+     */
+    public int rebuild() {
+        updateLock.lock();
+        try {
+            State rebuilt = transactionTemplate.execute(status -> {
+                State fresh = new State();
+                try (Stream<BidList> bids = repo.streamAll()) {
+                    bids.forEach(fresh::put);
+                }
+                return fresh;
+            });
+            lock.writeLock().lock();
+            try {
+                state = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return rebuilt.quotes.size();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private State state() {
+        State current = state;
+        if (current == null) {
+            updateLock.lock();
+            try {
+                if (state == null) {
+                    rebuild();
+                }
+                current = state;
+            } finally {
+                updateLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Contribution d'une offre à son carnet ; une valeur absente vaut {@code NaN}.
+     * Un côté n'est présent dans le carnet que si son prix et sa quantité sont renseignés.
+     */
+    private record Quote(Book book, double bid, double bidQuantity, double ask, double askQuantity) {
+
+        private boolean hasBid() {
+            return !Double.isNaN(bid) && !Double.isNaN(bidQuantity);
+        }
+
+        private boolean hasAsk() {
+            return !Double.isNaN(ask) && !Double.isNaN(askQuantity);
+        }
+    }
+
+    /**
+     * Côté d'un carnet : niveaux triés par prix croissant, dans des tableaux parallèles.
+     */
+    private static final class Side {
+
+        private double[] prices = new double[8];
+        private double[] quantities = new double[8];
+        private int[] orders = new int[8];
+        private int size;
+
+        private void add(double price, double quantity) {
+            int index = Arrays.binarySearch(prices, 0, size, price);
+            if (index >= 0) {
+                quantities[index] += quantity;
+                orders[index]++;
+                return;
+            }
+            index = -index - 1;
+            if (size == prices.length) {
+                prices = Arrays.copyOf(prices, size * 2);
+                quantities = Arrays.copyOf(quantities, size * 2);
+                orders = Arrays.copyOf(orders, size * 2);
+            }
+            System.arraycopy(prices, index, prices, index + 1, size - index);
+            System.arraycopy(quantities, index, quantities, index + 1, size - index);
+            System.arraycopy(orders, index, orders, index + 1, size - index);
+            prices[index] = price;
+            quantities[index] = quantity;
+            orders[index] = 1;
+            size++;
+        }
+
+        private void remove(double price, double quantity) {
+            int index = Arrays.binarySearch(prices, 0, size, price);
+            if (index < 0) {
+                return;
+            }
+            if (--orders[index] > 0) {
+                quantities[index] -= quantity;
+                return;
+            }
+            System.arraycopy(prices, index + 1, prices, index, size - index - 1);
+            System.arraycopy(quantities, index + 1, quantities, index, size - index - 1);
+            System.arraycopy(orders, index + 1, orders, index, size - index - 1);
+            size--;
+        }
+
+        private PriceLevel level(int index) {
+            return new PriceLevel(prices[index], quantities[index], orders[index]);
+        }
+
+        private PriceLevel lowest() {
+            return size == 0 ? null : level(0);
+        }
+
+        private PriceLevel highest() {
+            return size == 0 ? null : level(size - 1);
+        }
+
+        private List<PriceLevel> best(int levels, boolean highestFirst) {
+            int count = Math.max(0, Math.min(levels, size));
+            List<PriceLevel> best = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                best.add(level(highestFirst ? size - 1 - i : i));
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Carnet d'un titre.
+     */
+    private static final class Book {
+
+        private final Side bids = new Side();
+        private final Side asks = new Side();
+
+        private boolean isEmpty() {
+            return bids.size == 0 && asks.size == 0;
+        }
+
+        private TopOfBook top(String security) {
+            return new TopOfBook(security, bids.highest(), asks.lowest());
+        }
+
+        private void apply(Quote quote, boolean add) {
+            if (quote.hasBid()) {
+                if (add) {
+                    bids.add(quote.bid(), quote.bidQuantity());
+                } else {
+                    bids.remove(quote.bid(), quote.bidQuantity());
+                }
+            }
+            if (quote.hasAsk()) {
+                if (add) {
+                    asks.add(quote.ask(), quote.askQuantity());
+                } else {
+                    asks.remove(quote.ask(), quote.askQuantity());
+                }
+            }
+        }
+    }
+
+    /**
+     * État complet des carnets, remplacé en bloc lors d'une reconstruction.
+     */
+    private static final class State {
+
+        private final Map<String, Book> books = new HashMap<>();
+        private final LongObjectHashMap<Quote> quotes = new LongObjectHashMap<>();
+
+        private void put(BidList bid) {
+            remove(bid.getBidListId());
+            if (bid.getSecurity() != null) {
+                Book book = books.computeIfAbsent(bid.getSecurity(), security -> new Book());
+                add(bid.getBidListId(), new Quote(book, orNaN(bid.getBid()), orNaN(bid.getBidQuantity()),
+                        orNaN(bid.getAsk()), orNaN(bid.getAskQuantity())));
+            }
+        }
+
+        private void amendBidQuantity(int bidListId, Double bidQuantity) {
+            Quote previous = quotes.get(bidListId);
+            if (previous != null) {
+                remove(bidListId);
+                add(bidListId, new Quote(previous.book(), previous.bid(), orNaN(bidQuantity),
+                        previous.ask(), previous.askQuantity()));
+            }
+        }
+
+        private void add(int bidListId, Quote quote) {
+            quotes.put(bidListId, quote);
+            quote.book().apply(quote, true);
+        }
+
+        private void remove(int bidListId) {
+            Quote previous = quotes.remove(bidListId);
+            if (previous != null) {
+                previous.book().apply(previous, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.oc.poseidon.service;
+
+/**
+ * Position agrégée des transactions d'un triplet compte / book / titre.
+ * <p>
+ * Les prix moyens sont pondérés par les quantités, en ne retenant que les transactions
+ * dont le prix est renseigné ; ils valent {@code null} si aucune ne l'est.
+ *
+ * @param account          le compte
+ * @param book             le book
+ * @param security         le titre
+ * @param buyQuantity      la quantité totale achetée
+ * @param sellQuantity     la quantité totale vendue
+ * @param averageBuyPrice  le prix moyen d'achat, ou {@code null}
+ * @param averageSellPrice le prix moyen de vente, ou {@code null}
+ * @param trades           le nombre de transactions agrégées
+ */
+public record Position(String account, String book, String security, double buyQuantity, double sellQuantity,
+                       Double averageBuyPrice, Double averageSellPrice, int trades) {
+
+    /**
+     * @return la position nette : quantité achetée moins quantité vendue
+     */
+    public double netQuantity() {
+        return buyQuantity - sellQuantity;
+    }
+}
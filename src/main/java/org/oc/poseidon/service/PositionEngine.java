@@ -0,0 +1,416 @@
+package org.oc.poseidon.service;
+
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.TradeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Agrégat des positions par compte, book et titre, maintenu en mémoire au fil des écritures
+ * de {@link TradeService}.
+ * <p>
+ * Les libellés de compte, de book et de titre sont convertis en identifiants entiers, dont la
+ * combinaison forme une clé {@code long} : positions et contributions des transactions sont
+ * rangées dans des {@link LongObjectHashMap}. La contribution de chaque transaction est conservée,
+ * ce qui permet de la retirer lors d'une modification ou d'une suppression sans relire la base.
+ * <p>
+ * L'agrégat est construit depuis la base au premier accès, puis peut être reconstruit à la demande
+ * par {@link #rebuild()}. Les lectures prennent un verrou partagé et se font en temps constant ;
+ * les écritures sont mises en attente pendant une reconstruction, et s'appliquent comme des
+ * remplacements, de sorte qu'une transaction déjà lue par la reconstruction n'est pas comptée deux fois.
+ */
+@Service
+public class PositionEngine {
+
+    /** Nombre de bits de chaque identifiant dans la clé d'une position. */
+    private static final int KEY_BITS = 21;
+    private static final int MAX_LABELS = 1 << KEY_BITS;
+
+    private final TradeRepository repo;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Sérialise les écritures et les reconstructions. Un {@link ReentrantLock} plutôt qu'un bloc
+     * {@code synchronized} : un thread virtuel qui l'attend, ou qui lit la base en le détenant,
+     * libère son thread porteur.
+     */
+    private final Lock updateLock = new ReentrantLock();
+    private volatile State state;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param repo               le dépôt des transactions, lu lors des reconstructions
+     * @param transactionManager le gestionnaire de transactions encadrant la lecture en flux
+     */
+    public PositionEngine(TradeRepository repo, PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Récupère la position d'un triplet compte / book / titre.
+     *
+     * @param account  le compte
+     * @param book     le book
+     * @param security le titre
+     * @return la position, vide si aucune transaction ne porte sur ce triplet
+     */
+    public Optional<Position> position(String account, String book, String security) {
+        State current = state();
+        lock.readLock().lock();
+        try {
+            int accountId = current.accounts.find(account);
+            int bookId = current.books.find(book);
+            int securityId = current.securities.find(security);
+            if (accountId < 0 || bookId < 0 || securityId < 0) {
+                return Optional.empty();
+            }
+            Accumulator accumulator = current.positions.get(key(accountId, bookId, securityId));
+            return accumulator == null ? Optional.empty() : Optional.of(accumulator.toPosition(current));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copie de l'ensemble des positions non vides.
+     *
+     * @return les positions, triées par compte, book puis titre
+     */
+    public List<Position> positions() {
+        State current = state();
+        List<Position> positions;
+        lock.readLock().lock();
+        try {
+            positions = new ArrayList<>(current.positions.size());
+            current.positions.forEachValue(accumulator -> positions.add(accumulator.toPosition(current)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        positions.sort(Comparator.comparing(Position::account)
+                .thenComparing(Position::book)
+                .thenComparing(Position::security));
+        return positions;
+    }
+
+    /**
+     * Prend en compte une transaction créée, ou en remplace la contribution si elle est déjà connue.
+     *
+     * @param trade la transaction enregistrée, avec son identifiant
+     */
+    public void tradeSaved(Trade trade) {
+        updateLock.lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                state.put(trade);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Prend en compte la modification du compte et de la quantité achetée d'une transaction,
+     * seuls champs de position modifiés par {@link TradeService#updateTrade}.
+     *
+     * @param tradeId     l'identifiant de la transaction
+     * @param account     le nouveau compte
+     * @param buyQuantity la nouvelle quantité achetée
+     */
+    public void tradeAmended(int tradeId, String account, Double buyQuantity) {
+        updateLock.lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                state.amend(tradeId, account, buyQuantity);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Retire la contribution d'une transaction supprimée.
+     *
+     * @param tradeId l'identifiant de la transaction
+     */
+    public void tradeDeleted(int tradeId) {
+        updateLock.lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                state.remove(tradeId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Retire la contribution de transactions supprimées en masse, sous un seul verrou d'écriture.
+     *
+     * @param tradeIds les identifiants des transactions
+     */
+    public void tradesDeleted(Collection<Integer> tradeIds) {
+        updateLock.lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                for (int id : tradeIds) {
+                    state.remove(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Reconstruit l'agrégat à partir de la table {@code trade}, lue en flux sur la base primaire.
+     * Les lectures continuent sur l'agrégat précédent jusqu'au remplacement.
+     *
+     * @return le nombre de transactions agrégées
+     */
+    public int rebuild() {
+        updateLock.lock();
+        try {
+            State rebuilt = transactionTemplate.execute(status -> {
+                State fresh = new State();
+                try (Stream<Trade> trades = repo.streamAll()) {
+                    trades.forEach(fresh::put);
+                }
+                return fresh;
+            });
+            lock.writeLock().lock();
+            try {
+                state = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return rebuilt.trades.size();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private State state() {
+        State current = state;
+        if (current == null) {
+            updateLock.lock();
+            try {
+                if (state == null) {
+                    rebuild();
+                }
+                current = state;
+            } finally {
+                updateLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private static long key(int accountId, int bookId, int securityId) {
+        return ((long) accountId << (2 * KEY_BITS)) | ((long) bookId << KEY_BITS) | securityId;
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    /**
+     * Contribution d'une transaction à sa position ; un prix absent vaut {@code NaN}.
+     */
+    private record Contribution(long positionKey, double buyQuantity, double buyPrice,
+                                double sellQuantity, double sellPrice) {
+    }
+
+    /**
+     * Sommes courantes d'une position.
+     */
+    private static final class Accumulator {
+
+        private final int accountId;
+        private final int bookId;
+        private final int securityId;
+        private double buyQuantity;
+        private double sellQuantity;
+        private double pricedBuyQuantity;
+        private double buyNotional;
+        private int pricedBuys;
+        private double pricedSellQuantity;
+        private double sellNotional;
+        private int pricedSells;
+        private int trades;
+
+        private Accumulator(int accountId, int bookId, int securityId) {
+            this.accountId = accountId;
+            this.bookId = bookId;
+            this.securityId = securityId;
+        }
+
+        private void apply(Contribution contribution, int sign) {
+            buyQuantity += sign * contribution.buyQuantity();
+            sellQuantity += sign * contribution.sellQuantity();
+            if (!Double.isNaN(contribution.buyPrice())) {
+                pricedBuys += sign;
+                pricedBuyQuantity += sign * contribution.buyQuantity();
+                buyNotional += sign * contribution.buyQuantity() * contribution.buyPrice();
+                if (pricedBuys == 0) {
+                    pricedBuyQuantity = 0;
+                    buyNotional = 0;
+                }
+            }
+            if (!Double.isNaN(contribution.sellPrice())) {
+                pricedSells += sign;
+                pricedSellQuantity += sign * contribution.sellQuantity();
+                sellNotional += sign * contribution.sellQuantity() * contribution.sellPrice();
+                if (pricedSells == 0) {
+                    pricedSellQuantity = 0;
+                    sellNotional = 0;
+                }
+            }
+            trades += sign;
+        }
+
+        private Position toPosition(State state) {
+            return new Position(state.accounts.label(accountId), state.books.label(bookId),
+                    state.securities.label(securityId), buyQuantity, sellQuantity,
+                    average(buyNotional, pricedBuyQuantity, pricedBuys),
+                    average(sellNotional, pricedSellQuantity, pricedSells),
+                    trades);
+        }
+
+        /**
+         * Prix moyen pondéré d'un sens, nul sans transaction valorisée : le nombre de transactions
+         * est exact, alors que les sommes en {@code double} gardent un résidu après les retraits.
+         */
+        private static Double average(double notional, double quantity, int pricedTrades) {
+            return pricedTrades == 0 || quantity == 0 ? null : notional / quantity;
+        }
+    }
+
+    /**
+     * Correspondance entre libellés et identifiants entiers ; un libellé absent est enregistré comme vide.
+     */
+    private static final class Labels {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> labels = new ArrayList<>();
+
+        private int find(String label) {
+            Integer id = ids.get(Objects.toString(label, ""));
+            return id == null ? -1 : id;
+        }
+
+        private int intern(String label) {
+            return ids.computeIfAbsent(Objects.toString(label, ""), value -> {
+                if (labels.size() == MAX_LABELS) {
+                    throw new IllegalStateException("Plus de " + MAX_LABELS + " libellés distincts");
+                }
+                labels.add(value);
+                return labels.size() - 1;
+            });
+        }
+
+        private String label(int id) {
+            return labels.get(id);
+        }
+    }
+
+    /**
+     * État complet de l'agrégat, remplacé en bloc lors d'une reconstruction.
+     */
+    private static final class State {
+
+        private final Labels accounts = new Labels();
+        private final Labels books = new Labels();
+        private final Labels securities = new Labels();
+        private final LongObjectHashMap<Accumulator> positions = new LongObjectHashMap<>();
+        private final LongObjectHashMap<Contribution> trades = new LongObjectHashMap<>();
+
+        private void put(Trade trade) {
+            int accountId = accounts.intern(trade.getAccount());
+            int bookId = books.intern(trade.getBook());
+            int securityId = securities.intern(trade.getSecurity());
+            Contribution contribution = new Contribution(key(accountId, bookId, securityId),
+                    Objects.requireNonNullElse(trade.getBuyQuantity(), 0.0), orNaN(trade.getBuyPrice()),
+                    Objects.requireNonNullElse(trade.getSellQuantity(), 0.0), orNaN(trade.getSellPrice()));
+            replace(trade.getTradeId(), contribution);
+        }
+
+        private void amend(int tradeId, String account, Double buyQuantity) {
+            Contribution previous = trades.get(tradeId);
+            if (previous == null) {
+                return;
+            }
+            Accumulator position = positions.get(previous.positionKey());
+            long positionKey = key(accounts.intern(account), position.bookId, position.securityId);
+            replace(tradeId, new Contribution(positionKey, Objects.requireNonNullElse(buyQuantity, 0.0),
+                    previous.buyPrice(), previous.sellQuantity(), previous.sellPrice()));
+        }
+
+        /**
+         * Retire la contribution d'une transaction, et la position elle-même lorsqu'elle n'en a plus.
+         */
+        private void remove(int tradeId) {
+            Contribution previous = trades.remove(tradeId);
+            if (previous != null) {
+                Accumulator position = positions.get(previous.positionKey());
+                position.apply(previous, -1);
+                if (position.trades == 0) {
+                    positions.remove(previous.positionKey());
+                }
+            }
+        }
+
+        private void replace(int tradeId, Contribution contribution) {
+            remove(tradeId);
+            trades.put(tradeId, contribution);
+            long positionKey = contribution.positionKey();
+            Accumulator position = positions.get(positionKey);
+            if (position == null) {
+                position = new Accumulator((int) (positionKey >>> (2 * KEY_BITS)),
+                        (int) (positionKey >>> KEY_BITS) & (MAX_LABELS - 1), (int) positionKey & (MAX_LABELS - 1));
+                positions.put(positionKey, position);
+            }
+            position.apply(contribution, 1);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.oc.poseidon.service;
+
+/**
+ * Niveau de prix d'un carnet d'ordres : quantité agrégée des offres à ce prix.
+ *
+ * @param price    le prix
+ * @param quantity la quantité totale proposée à ce prix
+ * @param orders   le nombre d'offres agrégées
+ */
+public record PriceLevel(double price, double quantity, int orders) {
+}
@@ -0,0 +1,10 @@
+package org.oc.poseidon.service;
+
+/**
+ * Agences de notation dont l'échelle figure dans la table {@code rating}.
+ */
+public enum RatingAgency {
+    MOODYS,
+    SANDP,
+    FITCH
+}
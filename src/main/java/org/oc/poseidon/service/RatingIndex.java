@@ -0,0 +1,84 @@
+package org.oc.poseidon.service;
+
+import org.oc.poseidon.domain.Rating;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index immuable de correspondance entre les échelles de notation.
+ * <p>
+ * Chaque ligne de la table {@code rating} est copiée dans une {@link Entry} immuable, indexée par
+ * la note de chaque agence et par {@code orderNumber}. Lorsqu'une note apparaît sur plusieurs
+ * lignes, la ligne de plus petit {@code orderNumber} l'emporte.
+ */
+final class RatingIndex {
+
+    /**
+     * Copie immuable d'une ligne de la table {@code rating}.
+     */
+    record Entry(String moodys, String sandP, String fitch, Integer orderNumber) {
+
+        String of(RatingAgency agency) {
+            return switch (agency) {
+                case MOODYS -> moodys;
+                case SANDP -> sandP;
+                case FITCH -> fitch;
+            };
+        }
+    }
+
+    private final Map<RatingAgency, Map<String, Entry>> byAgency = new EnumMap<>(RatingAgency.class);
+    private final Map<Integer, Entry> byOrderNumber = new HashMap<>();
+
+    RatingIndex(List<Rating> ratings) {
+        for (RatingAgency agency : RatingAgency.values()) {
+            byAgency.put(agency, new HashMap<>());
+        }
+        ratings.stream()
+                .sorted(Comparator.comparing(Rating::getOrderNumber, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(this::add);
+    }
+
+    private void add(Rating rating) {
+        Entry entry = new Entry(normalize(rating.getMoodysRating()), normalize(rating.getSandPRating()),
+                normalize(rating.getFitchRating()), rating.getOrderNumber());
+        for (RatingAgency agency : RatingAgency.values()) {
+            String key = entry.of(agency);
+            if (key != null) {
+                byAgency.get(agency).putIfAbsent(key, entry);
+            }
+        }
+        if (entry.orderNumber() != null) {
+            byOrderNumber.putIfAbsent(entry.orderNumber(), entry);
+        }
+    }
+
+    /**
+     * @param agency l'agence de la note recherchée
+     * @param rating la note recherchée
+     * @return la ligne correspondante, ou {@code null} si la note est inconnue
+     */
+    Entry find(RatingAgency agency, String rating) {
+        String key = normalize(rating);
+        return key == null ? null : byAgency.get(agency).get(key);
+    }
+
+    /**
+     * @param orderNumber le rang recherché
+     * @return la ligne correspondante, ou {@code null} si le rang est inconnu
+     */
+    Entry find(int orderNumber) {
+        return byOrderNumber.get(orderNumber);
+    }
+
+    private static String normalize(String rating) {
+        if (rating == null || rating.isBlank()) {
+            return null;
+        }
+        return rating.trim();
+    }
+}
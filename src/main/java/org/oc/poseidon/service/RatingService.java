@@ -1,20 +1,38 @@
 package org.oc.poseidon.service;
 
 import org.oc.poseidon.domain.Rating;
+import org.oc.poseidon.domain.RatingSummary;
 import org.oc.poseidon.repositories.RatingRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service de gestion des entités {@link Rating}.
  * Fournit les opérations métier liées aux notations (ratings),
  * telles que l'ajout, la mise à jour, la suppression et la validation.
+ * <p>
+ * Les correspondances entre échelles d'agences ({@link #translate}, {@link #rank}) sont servies
+ * par un index en mémoire, reconstruit puis remplacé d'un bloc après chaque écriture :
+ * les lectures ne prennent aucun verrou. Chaque écriture fait aussi avancer le compteur
+ * de la liste ({@link #listVersion()}).
+ * <p>
+ * Les lectures ne sont pas marquées en lecture seule : elles alimentent le cache de requêtes
+ * et doivent donc être servies par la base primaire, jamais par une réplique en retard.
  */
 @Service
 public class RatingService {
 
     private final RatingRepository repo;
+    private final ChangeCounter changes = new ChangeCounter("rating");
+    /** Sérialise les reconstructions de l'index, sans épingler les threads virtuels pendant la lecture. */
+    private final Lock indexLock = new ReentrantLock();
+    private volatile RatingIndex index;
 
     /**
      * Constructeur avec injection du dépôt {@link RatingRepository}.
@@ -30,10 +48,34 @@ public class RatingService {
      *
      * @return liste de tous les objets {@link Rating}
      */
+    @Transactional
     public List<Rating> ratingAll() {
         return repo.findAll();
     }
 
+    /**
+     * Récupère toutes les notations sous forme de projection {@link RatingSummary}, pour les pages de liste :
+     * seules les colonnes affichées sont lues, sans entité gérée par la session.
+     * <p>
+     * La lecture se fait sur la base primaire, jamais sur une réplique : la page est servie avec l'ETag
+     * de {@link #listVersion()}, qui ne doit pas désigner des lignes plus anciennes que sa version.
+     *
+     * @return la liste des projections, triée par identifiant
+     */
+    @Transactional
+    public List<RatingSummary> ratingSummaries() {
+        return repo.findAllSummaries();
+    }
+
+    /**
+     * Version courante de la liste des notations, qui change à chaque écriture validée.
+     *
+     * @return la version, lue en mémoire
+     */
+    public ListVersion listVersion() {
+        return changes.current();
+    }
+
     /**
      * Vérifie si une entité {@link Rating} est valide.
      * Au moins un champ (fitch, Sand, Moody ou ordre) doit être non nul.
@@ -59,6 +101,8 @@ public class RatingService {
 
         if (validRating(rating)) {
             repo.save(rating);
+            rebuildIndex();
+            changes.increment();
             result = true;
         }
 
@@ -76,25 +120,26 @@ public class RatingService {
     }
 
     /**
-     * Met à jour une entité {@link Rating} existante avec les nouvelles données.
+     * Met à jour une entité {@link Rating} existante avec les nouvelles données,
+     * en une seule requête conditionnée par sa version.
      *
-     * @param formRating les nouvelles données
+     * @param formRating les nouvelles données, avec la version lue par le formulaire
      * @param id         l'identifiant de l'entité à mettre à jour
-     * @return true si la mise à jour a réussi, false sinon
+     * @return true si la mise à jour a réussi, false si les données sont invalides
+     * @throws ObjectOptimisticLockingFailureException si l'entité a été modifiée ou supprimée depuis sa lecture
      */
     public boolean updateRating(Rating formRating, int id) {
         boolean result = false;
 
-        Rating rating = repo.findById(id);
-
         if (validRating(formRating)) {
-            rating.setFitchRating(formRating.getFitchRating());
-            rating.setMoodysRating(formRating.getMoodysRating());
-            rating.setSandPRating(formRating.getSandPRating());
-            rating.setOrderNumber(formRating.getOrderNumber());
-
-            repo.save(rating);
-
+            int updated = formRating.getVersion() == null ? 0 : repo.updateIfVersion(id, formRating.getVersion(),
+                    formRating.getMoodysRating(), formRating.getSandPRating(), formRating.getFitchRating(),
+                    formRating.getOrderNumber());
+            if (updated == 0) {
+                throw new ObjectOptimisticLockingFailureException(Rating.class, id);
+            }
+            rebuildIndex();
+            changes.increment();
             result = true;
         }
 
@@ -109,5 +154,74 @@ public class RatingService {
     public void deleteRating(int id) {
         Rating rating = ratingById(id);
         repo.delete(rating);
+        rebuildIndex();
+        changes.increment();
+    }
+
+    /**
+     * Traduit une note d'une agence dans l'échelle d'une autre agence.
+     *
+     * @param agency       l'agence de la note fournie
+     * @param rating       la note à traduire (par exemple {@code "Aa1"} pour Moody's)
+     * @param targetAgency l'agence cible
+     * @return la note équivalente, vide si la note est inconnue ou sans équivalent
+     */
+    public Optional<String> translate(RatingAgency agency, String rating, RatingAgency targetAgency) {
+        RatingIndex.Entry entry = index().find(agency, rating);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.of(targetAgency));
+    }
+
+    /**
+     * Donne le rang ({@code orderNumber}) d'une note.
+     *
+     * @param agency l'agence de la note fournie
+     * @param rating la note
+     * @return le rang de la note, vide si la note est inconnue ou sans rang
+     */
+    public Optional<Integer> rank(RatingAgency agency, String rating) {
+        RatingIndex.Entry entry = index().find(agency, rating);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.orderNumber());
+    }
+
+    /**
+     * Donne la note d'une agence correspondant à un rang.
+     *
+     * @param orderNumber le rang
+     * @param agency      l'agence souhaitée
+     * @return la note de l'agence à ce rang, vide si le rang est inconnu
+     */
+    public Optional<String> ratingAt(int orderNumber, RatingAgency agency) {
+        RatingIndex.Entry entry = index().find(orderNumber);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.of(agency));
+    }
+
+    /**
+     * Reconstruit l'index de correspondance depuis la table {@code rating}, lue sur la base primaire.
+     * Les écritures sont sérialisées, de sorte que le dernier index publié reflète
+     * toutes les modifications validées avant lui.
+     */
+    public void rebuildIndex() {
+        indexLock.lock();
+        try {
+            index = new RatingIndex(repo.findAllFromPrimary());
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private RatingIndex index() {
+        RatingIndex current = index;
+        if (current == null) {
+            indexLock.lock();
+            try {
+                if (index == null) {
+                    rebuildIndex();
+                }
+                current = index;
+            } finally {
+                indexLock.unlock();
+            }
+        }
+        return current;
     }
 }
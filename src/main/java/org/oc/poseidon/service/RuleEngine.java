@@ -0,0 +1,228 @@
+package org.oc.poseidon.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.oc.poseidon.domain.RuleName;
+import org.oc.poseidon.repositories.RuleNameRepository;
+import org.oc.poseidon.validation.rulesql.ReadOnlyRuleSqlValidator;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moteur d'exécution des règles {@link RuleName}.
+ * <p>
+ * Chaque règle est compilée au premier usage en {@link CompiledRule} puis conservée
+ * par identifiant : les évaluations suivantes ne réanalysent ni le JSON, ni le modèle, ni le SQL.
+ * {@link RuleNameService} retire une règle du cache lorsqu'elle est modifiée ou supprimée.
+ * La compilation (lecture en base et analyse du JSON) se fait hors de toute section verrouillée ;
+ * les appels concurrents sur une même règle attendent la compilation en cours, et une règle
+ * retirée pendant sa compilation n'est pas conservée.
+ * <p>
+ * Les valeurs utilisées lors d'une évaluation proviennent du contexte fourni (par exemple
+ * les champs d'une transaction), puis à défaut des paramètres {@code json} de la règle.
+ * <p>
+ * Le SQL des règles est saisi par les utilisateurs : une règle dont la requête n'est pas une seule
+ * instruction {@code SELECT} ({@link ReadOnlyRuleSqlValidator}) est refusée à la compilation, même
+ * enregistrée avant cette vérification, et les requêtes s'exécutent en transaction en lecture seule,
+ * par le compte de base dédié aux règles lorsqu'il est configuré ({@link RuleSqlExecutor}).
+ * La règle elle-même est lue sur la base primaire, hors de cette transaction : une règle compilée
+ * depuis une réplique en retard resterait en cache après sa modification.
+ */
+@Service
+public class RuleEngine {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final RuleNameRepository repo;
+    private final RuleSqlExecutor sqlExecutor;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Integer, CompiledRule> rules = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<CompiledRule>> compilations = new ConcurrentHashMap<>();
+    /** Sérialise les retraits et la publication des règles compilées. */
+    private final Lock updateLock = new ReentrantLock();
+    private volatile long generation;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param repo               le dépôt des règles
+     * @param sqlExecutor        l'accès JDBC utilisé pour exécuter la partie SQL des règles
+     * @param objectMapper       le mapper Jackson utilisé pour analyser le JSON des règles
+     * @param transactionManager le gestionnaire de la transaction en lecture seule des requêtes
+     */
+    public RuleEngine(RuleNameRepository repo, RuleSqlExecutor sqlExecutor, ObjectMapper objectMapper,
+                      PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.sqlExecutor = sqlExecutor;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Retourne la forme compilée d'une règle, en la compilant si nécessaire.
+     *
+     * @param ruleId l'identifiant de la règle
+     * @return la règle compilée
+     * @throws IllegalArgumentException si la règle n'existe pas, si son JSON est invalide
+     *                                  ou si sa requête n'est pas une seule instruction SELECT
+     */
+    public CompiledRule compiled(int ruleId) {
+        CompiledRule rule = rules.get(ruleId);
+        return rule != null ? rule : load(ruleId);
+    }
+
+    /**
+     * Rend le modèle d'une règle.
+     *
+     * @param ruleId  l'identifiant de la règle
+     * @param context les valeurs des variables
+     * @return le texte rendu, ou {@code null} si la règle n'a pas de modèle
+     */
+    public String render(int ruleId, Map<String, ?> context) {
+        CompiledRule rule = compiled(ruleId);
+        if (!rule.hasTemplate()) {
+            return null;
+        }
+        return rule.template().render(name -> context.containsKey(name)
+                ? context.get(name)
+                : rule.getParameters().get(name));
+    }
+
+    /**
+     * Exécute la requête d'une règle en liant ses paramètres nommés, dans une transaction en lecture seule.
+     *
+     * @param ruleId  l'identifiant de la règle
+     * @param context les valeurs des paramètres
+     * @return le résultat de la requête, ou {@code null} si la règle n'a pas de SQL
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException si un paramètre n'a pas de valeur
+     */
+    public List<Map<String, Object>> query(int ruleId, Map<String, ?> context) {
+        CompiledRule rule = compiled(ruleId);
+        if (!rule.hasSql()) {
+            return null;
+        }
+        MapSqlParameterSource values = new MapSqlParameterSource(rule.getParameters()).addValues(context);
+        Object[] args = NamedParameterUtils.buildValueArray(rule.parsedSql(), values, null);
+        return readOnlyTransaction.execute(status -> sqlExecutor.queryForList(rule.getPreparedSql(), args));
+    }
+
+    /**
+     * Retire une règle du cache ; elle sera recompilée à sa prochaine utilisation.
+     *
+     * @param ruleId l'identifiant de la règle
+     */
+    public void evict(int ruleId) {
+        updateLock.lock();
+        try {
+            generation++;
+            compilations.remove(ruleId);
+            rules.remove(ruleId);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Compile une règle absente du cache, ou attend la compilation déjà en cours pour elle.
+     */
+    private CompiledRule load(int ruleId) {
+        CompletableFuture<CompiledRule> compiling = new CompletableFuture<>();
+        CompletableFuture<CompiledRule> running = compilations.putIfAbsent(ruleId, compiling);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            long compiledGeneration = generation;
+            CompiledRule rule = publish(ruleId, compile(ruleId), compiledGeneration);
+            compiling.complete(rule);
+            return rule;
+        } catch (RuntimeException e) {
+            compiling.completeExceptionally(e);
+            throw e;
+        } finally {
+            compilations.remove(ruleId, compiling);
+        }
+    }
+
+    /**
+     * Conserve une règle compilée, sauf si une règle a été retirée depuis le début de sa compilation.
+     */
+    private CompiledRule publish(int ruleId, CompiledRule rule, long compiledGeneration) {
+        updateLock.lock();
+        try {
+            if (generation != compiledGeneration) {
+                return rule;
+            }
+            CompiledRule published = rules.putIfAbsent(ruleId, rule);
+            return published != null ? published : rule;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private static CompiledRule await(CompletableFuture<CompiledRule> compiling) {
+        try {
+            return compiling.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CompiledRule compile(int ruleId) {
+        RuleName ruleName = repo.findById(ruleId);
+        if (ruleName == null) {
+            throw new IllegalArgumentException("Règle inconnue : " + ruleId);
+        }
+        if (!ReadOnlyRuleSqlValidator.isReadOnly(ruleName)) {
+            throw new IllegalArgumentException("Requête refusée pour la règle " + ruleId
+                    + " : une seule instruction SELECT est autorisée");
+        }
+        return new CompiledRule(ruleId, ruleName.getName(), parameters(ruleName), blankToNull(ruleName.getTemplate()), sql(ruleName));
+    }
+
+    private Map<String, Object> parameters(RuleName ruleName) {
+        String json = blankToNull(ruleName.getJson());
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            Map<String, Object> parameters = objectMapper.readValue(json, JSON_OBJECT);
+            parameters.values().removeIf(Objects::isNull);
+            return parameters;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON invalide pour la règle " + ruleName.getId(), e);
+        }
+    }
+
+    private static String sql(RuleName ruleName) {
+        String sql = blankToNull(ruleName.getSqlStr());
+        String part = blankToNull(ruleName.getSqlPart());
+        if (sql == null) {
+            return null;
+        }
+        return part == null ? sql : sql + " " + part;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -1,27 +1,37 @@
 package org.oc.poseidon.service;
 
 import org.oc.poseidon.domain.RuleName;
+import org.oc.poseidon.domain.RuleNameSummary;
 import org.oc.poseidon.repositories.RuleNameRepository;
+import org.oc.poseidon.validation.rulesql.ReadOnlyRuleSqlValidator;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Service de gestion des entités {@link RuleName}.
  * Fournit les opérations métier pour ajouter, mettre à jour, valider, récupérer et supprimer des règles.
+ * Les modifications retirent la forme compilée de la règle du {@link RuleEngine}
+ * et font avancer le compteur de la liste ({@link #listVersion()}).
  */
 @Service
 public class RuleNameService {
 
     private final RuleNameRepository repo;
+    private final RuleEngine ruleEngine;
+    private final ChangeCounter changes = new ChangeCounter("ruleName");
 
     /**
-     * Constructeur avec injection du repository.
+     * Constructeur avec injection du repository et du moteur de règles.
      *
-     * @param repo le dépôt des règles {@link RuleName}
+     * @param repo       le dépôt des règles {@link RuleName}
+     * @param ruleEngine le moteur de règles dont le cache est invalidé lors des modifications
      */
-    public RuleNameService(RuleNameRepository repo) {
+    public RuleNameService(RuleNameRepository repo, RuleEngine ruleEngine) {
         this.repo = repo;
+        this.ruleEngine = ruleEngine;
     }
 
     /**
@@ -29,18 +39,43 @@ public class RuleNameService {
      *
      * @return liste de toutes les entités {@link RuleName}
      */
+    @Transactional(readOnly = true)
     public List<RuleName> ruleNameAll() {
         return repo.findAll();
     }
 
     /**
-     * Vérifie qu'une entité {@link RuleName} contient au moins une propriété non nulle.
+     * Récupère toutes les règles sous forme de projection {@link RuleNameSummary}, pour les pages de liste :
+     * seules les colonnes affichées sont lues, sans entité gérée par la session.
+     * <p>
+     * La lecture se fait sur la base primaire, jamais sur une réplique : la page est servie avec l'ETag
+     * de {@link #listVersion()}, qui ne doit pas désigner des lignes plus anciennes que sa version.
+     *
+     * @return la liste des projections, triée par identifiant
+     */
+    @Transactional
+    public List<RuleNameSummary> ruleNameSummaries() {
+        return repo.findAllSummaries();
+    }
+
+    /**
+     * Version courante de la liste des règles, qui change à chaque écriture validée.
+     *
+     * @return la version, lue en mémoire
+     */
+    public ListVersion listVersion() {
+        return changes.current();
+    }
+
+    /**
+     * Vérifie qu'une entité {@link RuleName} contient au moins une propriété non nulle
+     * et que sa requête éventuelle est une seule instruction SELECT.
      *
      * @param ruleName l'entité à valider
      * @return true si l'entité est valide, sinon false
      */
     public boolean validRuleName(RuleName ruleName) {
-        return (
+        return ReadOnlyRuleSqlValidator.isReadOnly(ruleName) && (
                 ruleName.getName() != null ||
                         ruleName.getDescription() != null ||
                         ruleName.getJson() != null ||
@@ -61,6 +96,7 @@ public class RuleNameService {
 
         if (validRuleName(ruleName)) {
             repo.save(ruleName);
+            changes.increment();
             result = true;
         }
 
@@ -78,26 +114,26 @@ public class RuleNameService {
     }
 
     /**
-     * Met à jour une règle existante avec les données fournies.
+     * Met à jour une règle existante avec les données fournies, en une seule requête conditionnée
+     * par sa version ; la règle compilée correspondante est évincée.
      *
-     * @param formRuleName les nouvelles données
+     * @param formRuleName les nouvelles données, avec la version lue par le formulaire
      * @param id identifiant de la règle à mettre à jour
-     * @return true si la mise à jour a réussi, false sinon
+     * @return true si la mise à jour a réussi, false si les données sont invalides
+     * @throws ObjectOptimisticLockingFailureException si l'entité a été modifiée ou supprimée depuis sa lecture
      */
     public boolean updateRuleName(RuleName formRuleName, int id) {
         boolean result = false;
 
-        RuleName ruleName = ruleNameById(id);
-
         if (validRuleName(formRuleName)) {
-            ruleName.setName(formRuleName.getName());
-            ruleName.setDescription(formRuleName.getDescription());
-            ruleName.setJson(formRuleName.getJson());
-            ruleName.setTemplate(formRuleName.getTemplate());
-            ruleName.setSqlStr(formRuleName.getSqlStr());
-            ruleName.setSqlPart(formRuleName.getSqlPart());
-
-            repo.save(ruleName);
+            int updated = formRuleName.getVersion() == null ? 0 : repo.updateIfVersion(id, formRuleName.getVersion(),
+                    formRuleName.getName(), formRuleName.getDescription(), formRuleName.getJson(),
+                    formRuleName.getTemplate(), formRuleName.getSqlStr(), formRuleName.getSqlPart());
+            if (updated == 0) {
+                throw new ObjectOptimisticLockingFailureException(RuleName.class, id);
+            }
+            ruleEngine.evict(id);
+            changes.increment();
             result = true;
         }
 
@@ -112,5 +148,7 @@ public class RuleNameService {
     public void deleteRuleName(int id) {
         RuleName ruleName = ruleNameById(id);
         repo.delete(ruleName);
+        ruleEngine.evict(id);
+        changes.increment();
     }
 }
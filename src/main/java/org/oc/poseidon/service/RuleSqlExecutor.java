@@ -0,0 +1,62 @@
+package org.oc.poseidon.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accès JDBC réservé à l'exécution du SQL des règles par le {@link RuleEngine}.
+ * <p>
+ * Distinct du {@link JdbcTemplate} de l'application pour pouvoir passer par un compte de base
+ * dédié, limité à la lecture des tables interrogées par les règles
+ * (propriétés {@code poseidon.rules.datasource.*}). Sans compte dédié, la source de données
+ * de l'application est utilisée, dans la transaction en lecture seule ouverte par le moteur.
+ */
+public class RuleSqlExecutor implements AutoCloseable {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HikariDataSource ownedPool;
+
+    /**
+     * @param jdbcTemplate l'accès JDBC de l'application
+     */
+    public RuleSqlExecutor(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownedPool = null;
+    }
+
+    /**
+     * @param pool le pool de connexions du compte dédié aux règles, fermé avec cet objet
+     */
+    public RuleSqlExecutor(HikariDataSource pool) {
+        this.jdbcTemplate = new JdbcTemplate(pool);
+        this.ownedPool = pool;
+    }
+
+    /**
+     * Exécute une requête préparée.
+     *
+     * @param sql  la requête, avec des {@code ?} à la place des paramètres
+     * @param args les valeurs des paramètres, dans l'ordre
+     * @return les lignes lues, une table de valeurs par colonne
+     */
+    public List<Map<String, Object>> queryForList(String sql, Object... args) {
+        return jdbcTemplate.queryForList(sql, args);
+    }
+
+    /**
+     * @return true si les requêtes passent par le compte dédié aux règles
+     */
+    public boolean isDedicated() {
+        return ownedPool != null;
+    }
+
+    @Override
+    public void close() {
+        if (ownedPool != null) {
+            ownedPool.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.oc.poseidon.service;
+
+/**
+ * Meilleurs prix d'un carnet d'ordres.
+ *
+ * @param security le titre
+ * @param bestBid  le meilleur niveau acheteur (prix le plus haut), ou {@code null}
+ * @param bestAsk  le meilleur niveau vendeur (prix le plus bas), ou {@code null}
+ */
+public record TopOfBook(String security, PriceLevel bestBid, PriceLevel bestAsk) {
+
+    /**
+     * @return l'écart entre meilleur prix vendeur et meilleur prix acheteur, ou {@code null} si un côté est vide
+     */
+    public Double spread() {
+        return bestBid == null || bestAsk == null ? null : bestAsk.price() - bestBid.price();
+    }
+}
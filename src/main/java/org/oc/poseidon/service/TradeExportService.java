@@ -0,0 +1,222 @@
+package org.oc.poseidon.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.TradeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service d'export de la table {@code trade} en CSV ou en NDJSON.
+ * <p>
+ * Les lignes sont lues au fil de l'eau via un curseur JDBC ({@link TradeRepository#streamAll()})
+ * et détachées du contexte de persistance dès qu'elles ont été écrites : la mémoire utilisée
+ * reste constante quelle que soit la taille de la table. Un export limité à une plage de dates
+ * ne lit que les transactions de la plage ({@link TradeRepository#streamBetween}).
+ */
+@Service
+public class TradeExportService {
+
+    /** Nombre de lignes écrites entre deux vidages du flux de sortie. */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("tradeId", Trade::getTradeId),
+            new Column("account", Trade::getAccount),
+            new Column("type", Trade::getType),
+            new Column("buyQuantity", Trade::getBuyQuantity),
+            new Column("sellQuantity", Trade::getSellQuantity),
+            new Column("buyPrice", Trade::getBuyPrice),
+            new Column("sellPrice", Trade::getSellPrice),
+            new Column("benchmark", Trade::getBenchmark),
+            new Column("tradeDate", Trade::getTradeDate),
+            new Column("security", Trade::getSecurity),
+            new Column("status", Trade::getStatus),
+            new Column("trader", Trade::getTrader),
+            new Column("book", Trade::getBook),
+            new Column("creationName", Trade::getCreationName),
+            new Column("creationDate", Trade::getCreationDate),
+            new Column("revisionName", Trade::getRevisionName),
+            new Column("revisionDate", Trade::getRevisionDate),
+            new Column("dealName", Trade::getDealName),
+            new Column("dealType", Trade::getDealType),
+            new Column("sourceListId", Trade::getSourceListId),
+            new Column("side", Trade::getSide)
+    );
+
+    private final TradeRepository repo;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param repo          le dépôt des transactions
+     * @param entityManager le contexte de persistance, vidé au fil de l'export
+     * @param objectMapper  le mapper Jackson utilisé pour produire le NDJSON
+     */
+    public TradeExportService(TradeRepository repo, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Écrit toutes les transactions au format CSV (une ligne d'en-tête puis une ligne par transaction).
+     *
+     * @param out le flux de sortie
+     * @return le nombre de transactions exportées
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream out) throws IOException {
+        return exportCsv(out, null);
+    }
+
+    /**
+     * Écrit au format CSV les transactions datées dans une plage, dans l'ordre de leur date.
+     *
+     * @param out   le flux de sortie
+     * @param range la plage de dates de transaction, ou {@code null} pour toutes les transactions
+     * @return le nombre de transactions exportées
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream out, DateRange range) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(COLUMNS.get(i).name());
+        }
+        writer.write('\n');
+        writer.flush();
+
+        long count = 0;
+        try (Stream<Trade> trades = trades(range)) {
+            Iterator<Trade> it = trades.iterator();
+            while (it.hasNext()) {
+                Trade trade = it.next();
+                for (int i = 0; i < COLUMNS.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(csvValue(COLUMNS.get(i).value(trade)));
+                }
+                writer.write('\n');
+                count = written(trade, count, writer);
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Écrit toutes les transactions au format NDJSON (un objet JSON par ligne).
+     *
+     * @param out le flux de sortie
+     * @return le nombre de transactions exportées
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        return exportNdjson(out, null);
+    }
+
+    /**
+     * Écrit au format NDJSON les transactions datées dans une plage, dans l'ordre de leur date.
+     *
+     * @param out   le flux de sortie
+     * @param range la plage de dates de transaction, ou {@code null} pour toutes les transactions
+     * @return le nombre de transactions exportées
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out, DateRange range) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long count = 0;
+        try (Stream<Trade> trades = trades(range)) {
+            Iterator<Trade> it = trades.iterator();
+            while (it.hasNext()) {
+                Trade trade = it.next();
+                json.writeStartObject();
+                for (Column column : COLUMNS) {
+                    Object value = column.value(trade);
+                    json.writeFieldName(column.name());
+                    if (value instanceof Number number) {
+                        json.writeNumber(number.toString());
+                    } else if (value == null) {
+                        json.writeNull();
+                    } else {
+                        json.writeString(textValue(value));
+                    }
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count = written(trade, count, json);
+            }
+        }
+        json.close();
+        return count;
+    }
+
+    private Stream<Trade> trades(DateRange range) {
+        return range == null ? repo.streamAll() : repo.streamBetween(range.from(), range.to());
+    }
+
+    /**
+     * Détache la transaction écrite du contexte de persistance et vide la sortie toutes les
+     * {@value #FLUSH_INTERVAL} lignes : entre deux vidages, les lignes restent dans le tampon.
+     */
+    private long written(Trade trade, long count, Flushable output) throws IOException {
+        entityManager.detach(trade);
+        long written = count + 1;
+        if (written % FLUSH_INTERVAL == 0) {
+            output.flush();
+        }
+        return written;
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = textValue(value);
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static String textValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().toString();
+        }
+        return value.toString();
+    }
+
+    private record Column(String name, Function<Trade, Object> accessor) {
+        Object value(Trade trade) {
+            return accessor.apply(trade);
+        }
+    }
+}
@@ -1,27 +1,56 @@
 package org.oc.poseidon.service;
 
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.AuditEntry;
 import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.domain.TradeSummary;
 import org.oc.poseidon.repositories.TradeRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Service métier pour la gestion des entités {@link Trade}.
  * Fournit les opérations de base : création, lecture, mise à jour et suppression.
+ * Chaque écriture renseigne l'auteur et la date de création ou de révision
+ * (la date de transaction vaut, à défaut, la date de création),
+ * est consignée dans l'historique d'audit ({@link AuditTrail}), répercutée
+ * sur l'agrégat des positions ({@link PositionEngine}) et diffusée aux listes
+ * ouvertes ({@link ChangeFeed}).
  */
 @Service
 public class TradeService {
 
+    /** Taille de page utilisée lorsque aucune n'est demandée. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    /** Taille de page maximale acceptée. */
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final TradeRepository repo;
+    private final AuditTrail auditTrail;
+    private final PositionEngine positionEngine;
+    private final ChangeFeed changeFeed;
 
     /**
-     * Constructeur avec injection du dépôt {@link TradeRepository}.
+     * Constructeur avec injection des dépendances.
      *
-     * @param repo le dépôt de gestion des entités {@link Trade}
+     * @param repo           le dépôt de gestion des entités {@link Trade}
+     * @param auditTrail     l'historique d'audit des modifications
+     * @param positionEngine l'agrégat des positions, tenu à jour à chaque écriture
+     * @param changeFeed     le flux des modifications diffusé aux listes ouvertes
      */
-    public TradeService(TradeRepository repo) {
+    public TradeService(TradeRepository repo, AuditTrail auditTrail, PositionEngine positionEngine,
+                        ChangeFeed changeFeed) {
         this.repo = repo;
+        this.auditTrail = auditTrail;
+        this.positionEngine = positionEngine;
+        this.changeFeed = changeFeed;
     }
 
     /**
@@ -29,10 +58,77 @@ public class TradeService {
      *
      * @return liste de toutes les transactions
      */
+    @Transactional(readOnly = true)
     public List<Trade> tradeAll() {
         return repo.findAll();
     }
 
+    /**
+     * Récupère une page de transactions par pagination keyset sur {@code tradeId}.
+     * <p>
+     * Seules {@code size + 1} lignes sont lues : la ligne supplémentaire sert uniquement
+     * à savoir s'il existe une page au-delà, sans requête de comptage. Les lignes sont lues
+     * sous forme de projection {@link TradeSummary}, sans entité gérée par la session.
+     *
+     * @param after  curseur de la page suivante (identifiant exclu), ou {@code null}
+     * @param before curseur de la page précédente (identifiant exclu), prioritaire sur {@code after}
+     * @param size   nombre de transactions souhaité, borné entre 1 et {@link #MAX_PAGE_SIZE}
+     * @return la page de transactions triées par identifiant croissant
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TradeSummary> tradePage(Integer after, Integer before, int size) {
+        return tradePage(after, before, size, null);
+    }
+
+    /**
+     * Récupère une page de transactions datées dans une plage, par pagination keyset sur {@code tradeId}.
+     * <p>
+     * La plage est lue sur l'index {@code (tradeDate, account)} : seules les transactions de la plage
+     * sont parcourues, puis triées par identifiant.
+     *
+     * @param after  curseur de la page suivante (identifiant exclu), ou {@code null}
+     * @param before curseur de la page précédente (identifiant exclu), prioritaire sur {@code after}
+     * @param size   nombre de transactions souhaité, borné entre 1 et {@link #MAX_PAGE_SIZE}
+     * @param range  la plage de dates de transaction, ou {@code null} pour toutes les transactions
+     * @return la page de transactions triées par identifiant croissant
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TradeSummary> tradePage(Integer after, Integer before, int size, DateRange range) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        if (before != null) {
+            List<TradeSummary> rows = new ArrayList<>(range == null
+                    ? repo.findSummariesBefore(before, limit)
+                    : repo.findSummariesBetweenBefore(range.from(), range.to(), before, limit));
+            boolean hasPrevious = rows.size() > pageSize;
+            if (hasPrevious) {
+                rows.remove(pageSize);
+            }
+            Collections.reverse(rows);
+            return page(rows, hasPrevious, true, pageSize);
+        }
+
+        int cursor = after == null ? 0 : after;
+        List<TradeSummary> rows = new ArrayList<>(range == null
+                ? repo.findSummariesAfter(cursor, limit)
+                : repo.findSummariesBetweenAfter(range.from(), range.to(), cursor, limit));
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows.remove(pageSize);
+        }
+        return page(rows, after != null, hasNext, pageSize);
+    }
+
+    private KeysetPage<TradeSummary> page(List<TradeSummary> rows, boolean hasPrevious, boolean hasNext, int size) {
+        if (rows.isEmpty()) {
+            return new KeysetPage<>(rows, null, null, size);
+        }
+        Integer previousCursor = hasPrevious ? rows.get(0).tradeId() : null;
+        Integer nextCursor = hasNext ? rows.get(rows.size() - 1).tradeId() : null;
+        return new KeysetPage<>(rows, previousCursor, nextCursor, size);
+    }
+
     /**
      * Valide les champs obligatoires d'une entité {@link Trade}.
      *
@@ -57,7 +153,16 @@ public class TradeService {
         boolean result = false;
 
         if (validTrade(trade)) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            trade.setCreationName(auditTrail.currentUsername());
+            trade.setCreationDate(now);
+            if (trade.getTradeDate() == null) {
+                trade.setTradeDate(now.toInstant());
+            }
             repo.save(trade);
+            positionEngine.tradeSaved(trade);
+            auditTrail.record(Trade.class, trade.getTradeId(), AuditAction.CREATE, describe(trade));
+            changeFeed.publish(ChangeFeed.TRADE, trade.getTradeId(), AuditAction.CREATE, summary(trade.getTradeId(), trade));
             result = true;
         }
 
@@ -75,23 +180,26 @@ public class TradeService {
     }
 
     /**
-     * Met à jour une entité {@link Trade} existante.
+     * Met à jour une entité {@link Trade} existante, en une seule requête conditionnée par sa version.
      *
-     * @param formTrade les nouvelles données
+     * @param formTrade les nouvelles données, avec la version lue par le formulaire
      * @param id identifiant de la transaction à mettre à jour
-     * @return true si la mise à jour a réussi, false sinon
+     * @return true si la mise à jour a réussi, false si les données sont invalides
+     * @throws ObjectOptimisticLockingFailureException si l'entité a été modifiée ou supprimée depuis sa lecture
      */
     public boolean updateTrade(Trade formTrade, int id) {
         boolean result = false;
 
-        Trade trade = tradeById(id);
-
         if (validTrade(formTrade)) {
-            trade.setAccount(formTrade.getAccount());
-            trade.setType(formTrade.getType());
-            trade.setBuyQuantity(formTrade.getBuyQuantity());
-
-            repo.save(trade);
+            int updated = formTrade.getVersion() == null ? 0 : repo.updateIfVersion(id, formTrade.getVersion(),
+                    formTrade.getAccount(), formTrade.getType(), formTrade.getBuyQuantity(),
+                    auditTrail.currentUsername(), new Timestamp(System.currentTimeMillis()));
+            if (updated == 0) {
+                throw new ObjectOptimisticLockingFailureException(Trade.class, id);
+            }
+            positionEngine.tradeAmended(id, formTrade.getAccount(), formTrade.getBuyQuantity());
+            auditTrail.record(Trade.class, id, AuditAction.UPDATE, describe(formTrade));
+            changeFeed.publish(ChangeFeed.TRADE, id, AuditAction.UPDATE, summary(id, formTrade));
             result = true;
         }
 
@@ -106,5 +214,26 @@ public class TradeService {
     public void deleteTrade(int id) {
         Trade trade = tradeById(id);
         repo.delete(trade);
+        positionEngine.tradeDeleted(id);
+        auditTrail.record(Trade.class, id, AuditAction.DELETE, describe(trade));
+        changeFeed.publish(ChangeFeed.TRADE, id, AuditAction.DELETE, null);
+    }
+
+    /**
+     * Récupère l'historique des modifications d'une transaction, y compris après sa suppression.
+     *
+     * @param id identifiant de la transaction
+     * @return les lignes d'historique, de la plus ancienne à la plus récente
+     */
+    public List<AuditEntry> tradeHistory(int id) {
+        return auditTrail.history(Trade.class, id);
+    }
+
+    private static TradeSummary summary(Integer id, Trade trade) {
+        return new TradeSummary(id, trade.getAccount(), trade.getType(), trade.getBuyQuantity());
+    }
+
+    private static String describe(Trade trade) {
+        return "account=" + trade.getAccount() + ", type=" + trade.getType() + ", buyQuantity=" + trade.getBuyQuantity();
     }
 }
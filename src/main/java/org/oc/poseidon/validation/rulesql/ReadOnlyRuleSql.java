@@ -0,0 +1,23 @@
+package org.oc.poseidon.validation.rulesql;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+/**
+ * Contrainte de classe sur {@link org.oc.poseidon.domain.RuleName} : la requête de la règle
+ * ({@code sqlStr} suivie de {@code sqlPart}) doit être une seule instruction {@code SELECT}.
+ */
+@Documented
+@Constraint(validatedBy = ReadOnlyRuleSqlValidator.class)
+@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnlyRuleSql {
+
+    String message() default "La requête doit être une seule instruction SELECT, sans commentaire ni accès aux utilisateurs.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
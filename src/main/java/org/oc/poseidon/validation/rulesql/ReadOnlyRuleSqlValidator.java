@@ -0,0 +1,109 @@
+package org.oc.poseidon.validation.rulesql;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.oc.poseidon.domain.RuleName;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Validateur de la contrainte {@link ReadOnlyRuleSql}.
+ * <p>
+ * Le SQL des règles est saisi dans un formulaire puis exécuté par le moteur de règles :
+ * il est refusé à l'enregistrement s'il ne s'agit pas d'une seule instruction {@code SELECT}.
+ * Les règles vérifiées, hors chaînes entre apostrophes, sont les suivantes :
+ * <ul>
+ *     <li>la requête commence par {@code SELECT}</li>
+ *     <li>aucun {@code ;} : une seule instruction</li>
+ *     <li>aucun commentaire ({@code --}, {@code #}, {@code /*}), qui pourrait masquer du SQL exécuté par MySQL</li>
+ *     <li>ni {@code INTO} (fichiers, variables), ni verrou ({@code FOR UPDATE}, {@code FOR SHARE},
+ *     {@code LOCK IN SHARE MODE}), ni fonctions d'accès aux fichiers ou d'attente</li>
+ *     <li>aucun accès à la table des utilisateurs ni aux schémas système</li>
+ * </ul>
+ * Cette vérification complète, sans les remplacer, l'exécution en transaction en lecture seule
+ * et le compte de base limité utilisé par le moteur de règles.
+ */
+public class ReadOnlyRuleSqlValidator implements ConstraintValidator<ReadOnlyRuleSql, RuleName> {
+
+    private static final Pattern SELECT = Pattern.compile("^\\s*select\\b.*", Pattern.DOTALL);
+
+    private static final Pattern FORBIDDEN = Pattern.compile(
+            "\\b(into|update|share|lock|load_file|sleep|benchmark|users|information_schema|performance_schema|mysql|sys)\\b");
+
+    /**
+     * Vérifie la requête complète de la règle ; une règle sans SQL est valide.
+     *
+     * @param ruleName la règle à valider
+     * @param context  le contexte de validation, utilisé pour rattacher l'erreur au champ {@code sqlStr}
+     * @return true si la règle n'a pas de SQL ou si sa requête est une seule instruction SELECT
+     */
+    @Override
+    public boolean isValid(RuleName ruleName, ConstraintValidatorContext context) {
+        if (isReadOnly(ruleName)) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate())
+                .addPropertyNode("sqlStr")
+                .addConstraintViolation();
+        return false;
+    }
+
+    /**
+     * @param ruleName la règle à vérifier
+     * @return true si la règle n'a pas de SQL ou si sa requête est une seule instruction SELECT
+     */
+    public static boolean isReadOnly(RuleName ruleName) {
+        if (ruleName == null || ruleName.getSqlStr() == null || ruleName.getSqlStr().isBlank()) {
+            return true;
+        }
+        String part = ruleName.getSqlPart();
+        return isSingleSelect(part == null || part.isBlank() ? ruleName.getSqlStr() : ruleName.getSqlStr() + " " + part);
+    }
+
+    /**
+     * @param sql la requête à vérifier
+     * @return true si la requête est une seule instruction SELECT respectant les règles ci-dessus
+     */
+    public static boolean isSingleSelect(String sql) {
+        String code = withoutLiterals(sql);
+        if (code == null) {
+            return false;
+        }
+        code = code.toLowerCase(Locale.ROOT);
+        return SELECT.matcher(code).matches()
+                && code.indexOf(';') < 0
+                && !code.contains("--")
+                && code.indexOf('#') < 0
+                && !code.contains("/*")
+                && !FORBIDDEN.matcher(code).find();
+    }
+
+    /**
+     * Remplace le contenu des chaînes entre apostrophes par des espaces. Les identifiants entre
+     * guillemets ou accents graves sont conservés, pour que les noms de tables restent vérifiés.
+     *
+     * @return la requête sans littéraux, ou {@code null} si une chaîne n'est pas refermée
+     */
+    private static String withoutLiterals(String sql) {
+        StringBuilder code = new StringBuilder(sql.length());
+        boolean literal = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (!literal) {
+                literal = c == '\'';
+                code.append(c);
+            } else if (c == '\\' && i + 1 < sql.length()) {
+                i++;
+                code.append("  ");
+            } else if (c == '\'') {
+                literal = false;
+                code.append(c);
+            } else {
+                code.append(' ');
+            }
+        }
+        return literal ? null : code.toString();
+    }
+}
@@ -0,0 +1,130 @@
+-- Schéma initial de Poseidon, tel que généré par Hibernate pour MySQL avant l'introduction de Flyway.
+-- Une base existante créée par ddl-auto=update est marquée en version 1 : ce script ne doit donc
+-- contenir que ce que ces bases possèdent déjà, le reste étant ajouté par les migrations suivantes.
+
+create table bidlist (
+    bid_list_id integer not null,
+    account varchar(255),
+    type varchar(255),
+    bid_quantity float(53),
+    ask_quantity float(53),
+    bid float(53),
+    ask float(53),
+    benchmark varchar(255),
+    bid_list_date datetime(6),
+    commentary varchar(255),
+    security varchar(255),
+    status varchar(255),
+    trader varchar(255),
+    book varchar(255),
+    creation_name varchar(255),
+    creation_date datetime(6),
+    revision_name varchar(255),
+    revision_date datetime(6),
+    deal_name varchar(255),
+    deal_type varchar(255),
+    source_list_id varchar(255),
+    side varchar(255),
+    primary key (bid_list_id)
+) engine=InnoDB;
+
+create table bid_list_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into bid_list_seq values (1);
+
+create table trade (
+    trade_id integer not null,
+    account varchar(255),
+    type varchar(255),
+    buy_quantity float(53),
+    sell_quantity float(53),
+    buy_price float(53),
+    sell_price float(53),
+    benchmark varchar(255),
+    trade_date datetime(6),
+    security varchar(255),
+    status varchar(255),
+    trader varchar(255),
+    book varchar(255),
+    creation_name varchar(255),
+    creation_date datetime(6),
+    revision_name varchar(255),
+    revision_date datetime(6),
+    deal_name varchar(255),
+    deal_type varchar(255),
+    source_list_id varchar(255),
+    side varchar(255),
+    primary key (trade_id)
+) engine=InnoDB;
+
+create table trade_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into trade_seq values (1);
+
+create table curvepoint (
+    id integer not null,
+    curve_id integer not null,
+    as_of_date datetime(6),
+    term float(53),
+    value float(53),
+    creation_date datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table curvepoint_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into curvepoint_seq values (1);
+
+create table rating (
+    id integer not null,
+    moodys_rating varchar(255),
+    sandprating varchar(255),
+    fitch_rating varchar(255),
+    order_number integer,
+    primary key (id)
+) engine=InnoDB;
+
+create table rating_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into rating_seq values (1);
+
+create table rulename (
+    id integer not null,
+    name varchar(255),
+    description varchar(255),
+    json varchar(255),
+    template varchar(255),
+    sql_str varchar(255),
+    sql_part varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table rulename_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into rulename_seq values (1);
+
+create table users (
+    id integer not null,
+    username varchar(255),
+    password varchar(255),
+    fullname varchar(255),
+    role varchar(255),
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table users_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into users_seq values (1);
@@ -0,0 +1,22 @@
+-- Colonnes de version du verrouillage optimiste : les lignes existantes partent de la version 0.
+
+alter table bidlist add column version integer not null default 0;
+alter table trade add column version integer not null default 0;
+alter table curvepoint add column version integer not null default 0;
+alter table rating add column version integer not null default 0;
+alter table rulename add column version integer not null default 0;
+
+-- Historique d'audit des créations, modifications et suppressions.
+
+create table audit_history (
+    id bigint not null auto_increment,
+    entity_type varchar(30) not null,
+    entity_id integer not null,
+    action varchar(10) not null,
+    username varchar(125),
+    changed_at datetime(6) not null,
+    details varchar(4000),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_audit_history_entity on audit_history (entity_type, entity_id);
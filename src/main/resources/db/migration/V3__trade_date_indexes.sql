@@ -0,0 +1,10 @@
+-- Dates de transaction et d'offre interrogeables par plage.
+-- Les lignes créées sans date prennent leur date de création, comme celles créées désormais par l'application.
+
+update trade set trade_date = creation_date where trade_date is null;
+update bidlist set bid_list_date = creation_date where bid_list_date is null;
+
+-- Index composites : une recherche sur une journée ne parcourt que les entrées de cette journée,
+-- et le compte peut être filtré dans l'index sans lire les lignes.
+create index idx_trade_date_account on trade (trade_date, account);
+create index idx_bidlist_date_account on bidlist (bid_list_date, account);
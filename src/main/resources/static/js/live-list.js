@@ -0,0 +1,91 @@
+/*
+ * Mise à jour en direct d'une page de liste à partir du flux SSE de son entité.
+ *
+ * Le tableau porte les attributs :
+ *   data-feed     URL du flux (ex. /trade/feed)
+ *   data-columns  champs de la ligne affichés après l'identifiant, séparés par des virgules
+ *   data-links    liens d'action « Libellé=/chemin/{id} », séparés par des |
+ *   data-append   « false » pour ne pas ajouter les créations (page qui n'est pas la dernière)
+ * Chaque ligne existante porte son identifiant dans data-id.
+ */
+(function () {
+    'use strict';
+
+    var table = document.querySelector('table[data-feed]');
+    if (!table || !window.EventSource) {
+        return;
+    }
+    var body = table.tBodies[0];
+    var columns = table.dataset.columns.split(',');
+    var links = table.dataset.links.split('|').map(function (link) {
+        var parts = link.split('=');
+        return {label: parts[0], href: parts[1]};
+    });
+    var append = table.dataset.append !== 'false';
+    var connected = false;
+    var source = new EventSource(table.dataset.feed);
+
+    function text(value) {
+        return value === null || value === undefined ? '' : String(value);
+    }
+
+    function findRow(id) {
+        return body.querySelector('tr[data-id="' + id + '"]');
+    }
+
+    function createRow(id, row) {
+        var tr = document.createElement('tr');
+        tr.dataset.id = id;
+        var idCell = tr.insertCell();
+        idCell.textContent = id;
+        columns.forEach(function () {
+            tr.insertCell();
+        });
+        var actions = tr.insertCell();
+        actions.className = 'text-center';
+        links.forEach(function (link, index) {
+            if (index > 0) {
+                actions.appendChild(document.createTextNode(' | '));
+            }
+            var a = document.createElement('a');
+            a.href = link.href.replace('{id}', encodeURIComponent(id));
+            a.textContent = link.label;
+            actions.appendChild(a);
+        });
+        fill(tr, row);
+        return tr;
+    }
+
+    function fill(tr, row) {
+        columns.forEach(function (column, index) {
+            tr.cells[index + 1].textContent = text(row[column]);
+        });
+    }
+
+    function apply(event) {
+        var tr = findRow(event.id);
+        if (event.action === 'DELETE') {
+            if (tr) {
+                tr.remove();
+            }
+        } else if (tr) {
+            fill(tr, event.row);
+        } else if (append) {
+            body.appendChild(createRow(event.id, event.row));
+        }
+    }
+
+    source.addEventListener('changes', function (message) {
+        JSON.parse(message.data).forEach(apply);
+    });
+    source.addEventListener('reset', function () {
+        window.location.reload();
+    });
+    source.addEventListener('open', function () {
+        // Une reconnexion a pu manquer des modifications : on repart d'un état complet
+        if (connected) {
+            window.location.reload();
+        }
+        connected = true;
+    });
+})();
@@ -0,0 +1,53 @@
+package org.oc.poseidon;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.oc.poseidon.domain.User;
+import org.oc.poseidon.repositories.UserRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class DataLoaderTest {
+
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private DataLoader dataLoader;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode("password")).thenReturn("hash");
+        dataLoader = new DataLoader(userRepository, passwordEncoder);
+    }
+
+    @Test
+    @DisplayName("run crée les comptes user et admin sur une base vide")
+    void run_ShouldSeedMissingUsers() throws Exception {
+        dataLoader.run();
+
+        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+        verify(userRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(User::getUsername).containsExactly("user", "admin");
+        assertThat(captor.getAllValues()).extracting(User::getRole).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(captor.getAllValues()).extracting(User::getPassword).containsOnly("hash");
+    }
+
+    @Test
+    @DisplayName("run ne hache aucun mot de passe si les comptes existent déjà")
+    void run_ShouldSkipExistingUsers() throws Exception {
+        when(userRepository.findByUsername("user")).thenReturn(new User());
+        when(userRepository.findByUsername("admin")).thenReturn(new User());
+
+        dataLoader.run();
+
+        verify(userRepository, times(1)).findByUsername("user");
+        verify(userRepository, times(1)).findByUsername("admin");
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(passwordEncoder);
+    }
+}
@@ -22,7 +22,7 @@ public class RuleTests {
 	@Test
 	public void ruleNameEntityCrudOperationsShouldWork() {
 		// Création d'une entité RuleName
-		RuleName rule = new RuleName("Rule Name", "Description", "Json", "Template", "SQL", "SQL Part");
+		RuleName rule = new RuleName("Rule Name", "Description", "Json", "Template", "select trade_id from trade", "where account = :account");
 
 		// Save
 		rule = ruleNameRepository.save(rule);
@@ -0,0 +1,69 @@
+package org.oc.poseidon;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que les migrations Flyway produisent le schéma attendu par les entités
+ * ({@code ddl-auto=validate}), comme en production où Hibernate ne crée plus le schéma.
+ * La base H2 est en mode MySQL et Hibernate utilise le dialecte MySQL de la production ;
+ * l'initialisation paresseuse des beans est activée comme dans le profil prod.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.main.lazy-initialization=true"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataLoader dataLoader;
+
+    @Test
+    @DisplayName("Le schéma migré est validé par Hibernate et le chargement initial est idempotent")
+    void migratedSchema_ShouldMatchEntities() throws Exception {
+        Integer migrations = jdbcTemplate.queryForObject(
+                "select count(*) from \"flyway_schema_history\" where \"success\" = true", Integer.class);
+        assertThat(migrations).isPositive();
+
+        long users = userRepository.count();
+        ((CommandLineRunner) dataLoader).run();
+
+        assertThat(userRepository.count()).isEqualTo(users);
+        assertThat(userRepository.findByUsername("admin")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Une base créée avant Flyway est marquée en version 1 puis reçoit les colonnes de version et l'audit")
+    void legacySchema_ShouldBeBaselinedThenMigrated() {
+        DriverManagerDataSource legacy = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(legacy);
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        legacyJdbc.update("insert into trade (trade_id, account) values (1, 'Legacy')");
+
+        Flyway.configure().dataSource(legacy).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertThat(legacyJdbc.queryForObject("select version from trade where trade_id = 1", Integer.class)).isZero();
+        assertThat(legacyJdbc.queryForObject("select count(*) from audit_history", Integer.class)).isZero();
+    }
+}
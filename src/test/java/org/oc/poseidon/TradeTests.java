@@ -1,14 +1,23 @@
 package org.oc.poseidon;
 
 import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.domain.TradeSummary;
 import org.oc.poseidon.repositories.TradeRepository;
+import org.oc.poseidon.service.BulkCriteria;
+import org.oc.poseidon.service.BulkEditService;
+import org.oc.poseidon.service.DateRange;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +28,12 @@ public class TradeTests {
 	@Autowired
 	private TradeRepository tradeRepository;
 
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BulkEditService bulkEditService;
+
 	@Test
 	public void tradeEntityCrudOperationsShouldWork() {
 		// Création d’un Trade
@@ -44,4 +59,64 @@ public class TradeTests {
 		Optional<Trade> deletedTrade = tradeRepository.findById(id);
 		Assert.assertFalse("Le trade devrait avoir été supprimé", deletedTrade.isPresent());
 	}
+
+	@Test
+	public void tradeDateRangeShouldReturnOnlyThatDayThroughTheIndex() {
+		Instant day = Instant.parse("2001-02-03T00:00:00Z");
+		Trade before = dated("Range Before", day.minusMillis(1));
+		Trade first = dated("Range First", day);
+		Trade last = dated("Range Last", day.plus(1, ChronoUnit.DAYS).minusMillis(1));
+		Trade after = dated("Range After", day.plus(1, ChronoUnit.DAYS));
+		tradeRepository.saveAll(List.of(before, first, last, after));
+
+		List<TradeSummary> rows = tradeRepository.findSummariesBetweenAfter(day, day.plus(1, ChronoUnit.DAYS), 0,
+				PageRequest.ofSize(10));
+		Assert.assertEquals(List.of("Range First", "Range Last"), rows.stream().map(TradeSummary::account).toList());
+		Assert.assertEquals(last.getTradeDate(), tradeRepository.findByTradeId(last.getTradeId()).getTradeDate());
+
+		String plan = jdbcTemplate.queryForObject(
+				"explain select trade_id from trade where trade_date >= ? and trade_date < ?", String.class,
+				Timestamp.from(day), Timestamp.from(day.plus(1, ChronoUnit.DAYS)));
+		Assert.assertTrue(plan, plan.toLowerCase().contains("idx_trade_date_account"));
+
+		tradeRepository.deleteAll(List.of(before, first, last, after));
+	}
+
+	@Test
+	public void bulkEditShouldUpdateAndDeleteOnlyMatchingTrades() {
+		Instant day = Instant.parse("2001-03-04T00:00:00Z");
+		Trade kept = dated("Bulk Other", day);
+		Trade outside = dated("Bulk Account", day.minus(1, ChronoUnit.DAYS));
+		Trade first = dated("Bulk Account", day);
+		Trade second = dated("Bulk Account", day.plus(2, ChronoUnit.HOURS));
+		tradeRepository.saveAll(List.of(kept, outside, first, second));
+		BulkCriteria criteria = new BulkCriteria("Bulk Account", null,
+				new DateRange(day, day.plus(1, ChronoUnit.DAYS)));
+
+		Assert.assertEquals(2, bulkEditService.updateTradeStatus(criteria, "CLOSED"));
+		Trade updated = tradeRepository.findByTradeId(first.getTradeId());
+		Assert.assertEquals("CLOSED", updated.getStatus());
+		Assert.assertNotNull(updated.getRevisionDate());
+		Assert.assertNull(tradeRepository.findByTradeId(outside.getTradeId()).getStatus());
+
+		Assert.assertEquals(2, bulkEditService.deleteTrades(criteria));
+		Assert.assertNull(tradeRepository.findByTradeId(first.getTradeId()));
+		Assert.assertNull(tradeRepository.findByTradeId(second.getTradeId()));
+		Assert.assertEquals(1, bulkEditService.deleteTrades(List.of(outside.getTradeId(), first.getTradeId())));
+		Assert.assertNotNull(tradeRepository.findByTradeId(kept.getTradeId()));
+
+		String plan = jdbcTemplate.queryForObject("explain select trade_id, trade_date from trade"
+				+ " where trade_date >= ? and trade_date < ? and (trade_date > ? or trade_id > ?)"
+				+ " order by trade_date, trade_id", String.class,
+				Timestamp.from(day), Timestamp.from(day.plus(1, ChronoUnit.DAYS)), Timestamp.from(day), 0);
+		Assert.assertTrue(plan, plan.toLowerCase().contains("idx_trade_date_account"));
+
+		tradeRepository.delete(kept);
+	}
+
+	private static Trade dated(String account, Instant tradeDate) {
+		Trade trade = new Trade(account, "Type");
+		trade.setTradeDate(tradeDate);
+		return trade;
+	}
 }
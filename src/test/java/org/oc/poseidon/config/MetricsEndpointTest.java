@@ -0,0 +1,75 @@
+package org.oc.poseidon.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @DisplayName("GET /actuator/prometheus - Expose les mesures des routes, des services et d'Hibernate")
+    void prometheusEndpointExposesMetrics() throws Exception {
+        mockMvc.perform(get("/rating/list")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_count")))
+                .andExpect(content().string(containsString("uri=\"/rating/list\"")))
+                .andExpect(content().string(containsString("poseidon_service_seconds_count")))
+                .andExpect(content().string(containsString("poseidon_service_seconds_bucket")))
+                .andExpect(content().string(containsString("poseidon_http_queries")))
+                .andExpect(content().string(containsString("hibernate_")));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Refusé sans authentification, health reste public")
+    void prometheusEndpointRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    @DisplayName("GET /actuator/prometheus - Refusé à un utilisateur sans rôle de supervision")
+    void prometheusEndpointRequiresMonitoringRole() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "prometheus", roles = {"MONITORING"})
+    @DisplayName("GET /actuator/prometheus - Accessible au rôle MONITORING")
+    void prometheusEndpointAllowsMonitoringRole() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Authentification HTTP Basic d'un compte administrateur")
+    void prometheusEndpointAcceptsHttpBasic() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "password")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,68 @@
+package org.oc.poseidon.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledPasswordEncoderTest {
+
+    private PooledPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new PooledPasswordEncoder(5, 2, 10, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("encode produit un hachage préfixé {bcrypt} vérifiable")
+    void encode_ShouldPrefixAndMatch() {
+        String hash = encoder.encode("password");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("password", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Un ancien hachage sans préfixe reste vérifiable et doit être mis à niveau")
+    void matches_ShouldAcceptLegacyHash() {
+        String legacy = new BCryptPasswordEncoder(5).encode("password");
+
+        assertThat(encoder.matches("password", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Un hachage de coût inférieur doit être mis à niveau")
+    void upgradeEncoding_ShouldDetectLowerCost() {
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password");
+
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Le délai dépassé lève une AuthenticationServiceException")
+    void encode_ShouldFail_WhenTimeoutExceeded() {
+        PooledPasswordEncoder slow = new PooledPasswordEncoder(14, 1, 1, Duration.ofMillis(1));
+        try {
+            assertThatThrownBy(() -> slow.encode("password"))
+                    .isInstanceOf(AuthenticationServiceException.class);
+        } finally {
+            slow.destroy();
+        }
+    }
+}
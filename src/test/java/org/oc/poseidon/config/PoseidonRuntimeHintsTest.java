@@ -0,0 +1,55 @@
+package org.oc.poseidon.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.domain.TradeSummary;
+import org.oc.poseidon.service.ChangeEvent;
+import org.oc.poseidon.service.TopOfBook;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoseidonRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new PoseidonRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Les gabarits, ressources statiques et migrations sont embarqués")
+    void registerHints_ShouldIncludeResources() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("templates/trade/list.html")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("static/js/live-list.js")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__baseline_schema.sql")).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Les entités liées aux formulaires exposent leurs accesseurs")
+    void registerHints_ShouldBindEntities() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Trade.class.getMethod("setAccount", String.class)))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(TopOfBook.class.getMethod("bestBid")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ChangeEvent.class.getMethod("row")))
+                .accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Les projections JPQL et la racine des expressions @PreAuthorize sont accessibles")
+    void registerHints_ShouldRegisterProjectionsAndSecurityRoot() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(TradeSummary.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(
+                "org.springframework.security.access.expression.method.MethodSecurityExpressionRoot"))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+    }
+}
@@ -0,0 +1,94 @@
+package org.oc.poseidon.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    private final DataSource primary = new DriverManagerDataSource(PRIMARY_URL);
+    private final DataSource replica = new DriverManagerDataSource(REPLICA_URL);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Les transactions en lecture seule vont à la réplique, les autres à la primaire")
+    void getConnection_ShouldRouteOnReadOnlyFlag() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(replica, "SELECT 0");
+
+        assertThat(url(routing)).startsWith("jdbc:h2:mem:routing_primary");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(url(routing)).startsWith("jdbc:h2:mem:routing_replica");
+    }
+
+    @Test
+    @DisplayName("Une réplique en retard n'est plus utilisée")
+    void getConnection_ShouldUsePrimaryWhenReplicaLags() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(replica, "SELECT 60");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.isReplicaAvailable()).isFalse();
+        assertThat(url(routing)).startsWith("jdbc:h2:mem:routing_primary");
+    }
+
+    @Test
+    @DisplayName("Le retard est lu dans la colonne Seconds_Behind_Source, une valeur nulle rend la réplique indisponible")
+    void checkReplica_ShouldReadLagColumn() {
+        assertThat(routing(replica, "SELECT 'channel' AS Channel_Name, 3 AS Seconds_Behind_Source")
+                .isReplicaAvailable()).isTrue();
+        assertThat(routing(replica, "SELECT 'channel' AS Channel_Name, CAST(NULL AS INT) AS Seconds_Behind_Source")
+                .isReplicaAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Une réplique injoignable renvoie les lectures vers la primaire")
+    void getConnection_ShouldUsePrimaryWhenReplicaIsDown() throws SQLException {
+        DataSource down = new DriverManagerDataSource("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE");
+        ReplicaRoutingDataSource routing = routing(down, null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.isReplicaAvailable()).isFalse();
+        assertThat(url(routing)).startsWith("jdbc:h2:mem:routing_primary");
+    }
+
+    @Test
+    @DisplayName("Un échec de connexion à la réplique bascule immédiatement sur la primaire")
+    void getConnection_ShouldFallBackWhenReplicaConnectionFails() throws SQLException {
+        DataSource flaky = mock(DataSource.class);
+        when(flaky.getConnection())
+                .thenAnswer(invocation -> replica.getConnection())
+                .thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource routing = routing(flaky, null);
+        assertThat(routing.isReplicaAvailable()).isTrue();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(url(routing)).startsWith("jdbc:h2:mem:routing_primary");
+        assertThat(routing.isReplicaAvailable()).isFalse();
+    }
+
+    private ReplicaRoutingDataSource routing(DataSource replica, String lagQuery) {
+        return new ReplicaRoutingDataSource(primary, replica, lagQuery, Duration.ofSeconds(10), Duration.ZERO);
+    }
+
+    private static String url(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.oc.poseidon.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.BidListSummary;
+import org.oc.poseidon.domain.Rating;
+import org.oc.poseidon.domain.RatingSummary;
+import org.oc.poseidon.domain.RuleName;
+import org.oc.poseidon.domain.RuleNameSummary;
+import org.oc.poseidon.repositories.UserRepository;
+import org.oc.poseidon.service.BidListService;
+import org.oc.poseidon.service.RatingService;
+import org.oc.poseidon.service.RuleEngine;
+import org.oc.poseidon.service.RuleNameService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routage primaire / réplique sur deux bases H2 embarquées : la réplique reçoit une copie
+ * du schéma et des données propres, pour distinguer la base ayant servi chaque lecture.
+ */
+@SpringBootTest(properties = {
+        "poseidon.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "poseidon.datasource.replica.username=sa",
+        "poseidon.datasource.replica.lag-query=SELECT 0",
+        "poseidon.datasource.replica.check-interval=0s"
+})
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private BidListService bidListService;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RuleNameService ruleNameService;
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP TABLE IF EXISTS bidlist, rating, users, rulename");
+        primary.queryForList("SCRIPT NODATA TABLE bidlist, rating, users, rulename", String.class).stream()
+                .filter(sql -> sql.startsWith("CREATE") && !sql.startsWith("CREATE USER") && !sql.startsWith("CREATE SEQUENCE"))
+                .forEach(replica::execute);
+        primary.update("DELETE FROM bidlist");
+        primary.update("DELETE FROM rating");
+        primary.update("DELETE FROM rulename");
+        routingDataSource.checkReplica();
+    }
+
+    @Test
+    @DisplayName("Les écritures vont à la primaire, les listes en lecture seule à la réplique")
+    void readOnlyListsAreServedByReplica() {
+        bidListService.addBidList(new BidList("Primary", "Type", 1.0));
+        replica.update("INSERT INTO bidlist (bid_list_id, account, type, bid_quantity, version) VALUES (1000, 'Replica', 'Type', 2.0, 0)");
+
+        assertThat(primary.queryForObject("SELECT account FROM bidlist", String.class)).isEqualTo("Primary");
+        assertThat(bidListService.bidListSummaries()).extracting(BidListSummary::account).containsExactly("Replica");
+        assertThat(bidListService.bidListAll()).extracting(BidList::getAccount).containsExactly("Replica");
+    }
+
+    @Test
+    @DisplayName("Les lectures mises en cache (notations, utilisateurs) restent sur la primaire")
+    void cachedReadsAreServedByPrimary() {
+        ratingService.addRating(new Rating("Primary", "A", "A", 1));
+        replica.update("INSERT INTO rating (id, moodys_rating, order_number, version) VALUES (1000, 'Replica', 2, 0)");
+        replica.update("INSERT INTO users (id, username, password, fullname, role) VALUES (1000, 'replica-only', 'x', 'x', 'USER')");
+
+        assertThat(ratingService.ratingSummaries()).extracting(RatingSummary::moodysRating).containsExactly("Primary");
+        assertThat(ratingService.ratingAll()).extracting(Rating::getMoodysRating).containsExactly("Primary");
+        assertThat(userRepository.findByUsername("replica-only")).isNull();
+    }
+
+    @Test
+    @DisplayName("Les listes servies avec un ETag sont lues sur la primaire")
+    void conditionalListsAreServedByPrimary() {
+        ruleNameService.addRuleName(new RuleName("Primary", "", "", "", "select 1", ""));
+        replica.update("INSERT INTO rulename (id, name, version) VALUES (1000, 'Replica', 0)");
+
+        assertThat(ruleNameService.ruleNameSummaries()).extracting(RuleNameSummary::name).containsExactly("Primary");
+    }
+
+    @Test
+    @DisplayName("Les règles mises en cache par le moteur sont lues sur la primaire")
+    void rulesAreCompiledFromPrimary() {
+        ruleNameService.addRuleName(new RuleName("Primary", "", "", "", "select 1 as v", ""));
+        int id = ruleNameService.ruleNameSummaries().get(0).id();
+        replica.update("INSERT INTO rulename (id, name, sql_str, version) VALUES (?, 'Replica', 'select 2 as v', 0)", id);
+
+        assertThat(ruleEngine.query(id, Map.of())).extracting(row -> row.values().iterator().next()).containsExactly(1);
+    }
+}
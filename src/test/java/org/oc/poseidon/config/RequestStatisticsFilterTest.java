@@ -0,0 +1,58 @@
+package org.oc.poseidon.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestStatisticsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private HibernateRequestStatistics statistics;
+    private RequestStatisticsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        statistics = new HibernateRequestStatistics();
+        filter = new RequestStatisticsFilter(statistics, registry);
+    }
+
+    @Test
+    @DisplayName("Les requêtes SQL et entités chargées sont publiées par motif de route")
+    void recordsCountersPerRoute() throws Exception {
+        statistics.inspect("select 1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/trade/update/7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            statistics.inspect("select t from trade t where t.id=?");
+            statistics.inspect("select b from bidlist b");
+            statistics.onLoad(new Object(), (Object) 7, null, null, null);
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/trade/update/{id}");
+        });
+
+        DistributionSummary queries = registry.get(RequestStatisticsFilter.QUERIES_METRIC)
+                .tag("uri", "/trade/update/{id}").summary();
+        DistributionSummary entities = registry.get(RequestStatisticsFilter.ENTITIES_METRIC)
+                .tag("uri", "/trade/update/{id}").summary();
+        assertEquals(1, queries.count());
+        assertEquals(2, queries.totalAmount());
+        assertEquals(1, entities.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Une requête sans route correspondante est étiquetée UNKNOWN")
+    void unmatchedRequestIsTaggedUnknown() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        assertEquals(0, registry.get(RequestStatisticsFilter.QUERIES_METRIC)
+                .tag("uri", "UNKNOWN").summary().totalAmount());
+    }
+}
@@ -0,0 +1,75 @@
+package org.oc.poseidon.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.repositories.CurvePointRepository;
+import org.oc.poseidon.repositories.RatingRepository;
+import org.oc.poseidon.service.CurveEngine;
+import org.oc.poseidon.service.RatingService;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private RatingRepository repo;
+    private RatingService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repo = mock(RatingRepository.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new RatingService(repo));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Un appel réussi est chronométré avec exception=none")
+    void successfulCallIsTimed() {
+        when(repo.findAll()).thenReturn(List.of());
+
+        service.ratingAll();
+        service.ratingAll();
+
+        Timer timer = registry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("class", "RatingService", "method", "ratingAll", "exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, registry.find(ServiceMetricsAspect.METRIC_NAME).timers().size());
+    }
+
+    @Test
+    @DisplayName("Un appel en erreur est compté avec le type de l'exception, qui est relancée")
+    void failingCallIsTaggedWithException() {
+        when(repo.findAll()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> service.ratingAll());
+
+        Timer timer = registry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", "ratingAll", "exception", "IllegalStateException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Les moteurs en mémoire ne sont pas chronométrés")
+    void enginesAreNotTimed() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CurveEngine(mock(CurvePointRepository.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        CurveEngine engine = factory.getProxy();
+
+        engine.invalidate(1);
+
+        assertTrue(registry.find(ServiceMetricsAspect.METRIC_NAME).timers().isEmpty());
+    }
+}
@@ -0,0 +1,44 @@
+package org.oc.poseidon.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "poseidon.threads.virtual.enabled=true")
+class VirtualThreadConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Test
+    @DisplayName("La source de données est bornée à la taille du pool Hikari")
+    void dataSourceIsLimited() throws Exception {
+        assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+        ConnectionLimitingDataSource limited = (ConnectionLimitingDataSource) dataSource;
+        int available = limited.availablePermits();
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+            assertThat(limited.availablePermits()).isEqualTo(available - 1);
+        }
+        assertThat(limited.availablePermits()).isEqualTo(available);
+    }
+
+    @Test
+    @DisplayName("Les tâches asynchrones s'exécutent sur des threads virtuels")
+    void tasksRunOnVirtualThreads() throws Exception {
+        assertThat(taskExecutor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+    }
+}
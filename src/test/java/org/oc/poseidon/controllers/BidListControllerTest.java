@@ -5,16 +5,27 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.BidListSummary;
+import org.oc.poseidon.service.BidListImportResult;
+import org.oc.poseidon.service.BidListImportService;
 import org.oc.poseidon.service.BidListService;
+import org.oc.poseidon.service.BulkCriteria;
+import org.oc.poseidon.service.BulkEditService;
+import org.oc.poseidon.service.DateRange;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -32,6 +43,12 @@ class BidListControllerTest {
     @MockBean
     private BidListService bidListService;
 
+    @MockBean
+    private BidListImportService bidListImportService;
+
+    @MockBean
+    private BulkEditService bulkEditService;
+
     private BidList bid;
 
     @BeforeEach
@@ -43,7 +60,8 @@ class BidListControllerTest {
     @Test
     @DisplayName("GET /bidList/list - Affiche la liste des bids avec les données attendues")
     void testHome() throws Exception {
-        Mockito.when(bidListService.bidListAll()).thenReturn(Arrays.asList(bid));
+        Mockito.when(bidListService.bidListSummaries(null))
+                .thenReturn(Arrays.asList(new BidListSummary(1, "Account Test", "Type Test", 10.0)));
 
         mockMvc.perform(get("/bidList/list").with(request -> {
                     request.setRemoteUser("testuser");
@@ -52,7 +70,21 @@ class BidListControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(model().attributeExists("bidLists"))
                 .andExpect(model().attributeExists("remoteUser"))
-                .andExpect(view().name("bidList/list"));
+                .andExpect(view().name("bidList/list"))
+                .andExpect(content().string(containsString("Account Test")))
+                .andExpect(content().string(containsString("/bidList/update/1")));
+    }
+
+    @Test
+    @DisplayName("GET /bidList/list?from - Filtre les bids sur une journée")
+    void testHomeWithDateRange() throws Exception {
+        Mockito.when(bidListService.bidListSummaries(DateRange.ofDays(LocalDate.of(2024, 3, 1), null)))
+                .thenReturn(Arrays.asList(new BidListSummary(1, "Account Test", "Type Test", 10.0)));
+
+        mockMvc.perform(get("/bidList/list").param("from", "2024-03-01"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("from", LocalDate.of(2024, 3, 1)))
+                .andExpect(content().string(containsString("Account Test")));
     }
 
     @Test
@@ -112,6 +144,23 @@ class BidListControllerTest {
                 .andExpect(redirectedUrl("/bidList/list"));
     }
 
+    @Test
+    @DisplayName("POST /bidList/update/1 - Conflit de version : recharge le formulaire avec une erreur globale")
+    void testUpdateBidListConflict() throws Exception {
+        Mockito.when(bidListService.updateBidList(any(), eq(1)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(BidList.class, 1));
+
+        mockMvc.perform(post("/bidList/update/1")
+                        .with(csrf())
+                        .param("version", "0")
+                        .param("account", "UpdatedAccount")
+                        .param("type", "UpdatedType")
+                        .param("bidQuantity", "456.0"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/update"))
+                .andExpect(model().attributeHasErrors("bidList"));
+    }
+
     @Test
     @DisplayName("POST /bidList/update/1 - Mise à jour invalide affiche à nouveau le formulaire")
     void testUpdateBidInvalid() throws Exception {
@@ -131,4 +180,39 @@ class BidListControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/bidList/list"));
     }
+
+    @Test
+    @DisplayName("POST /bidList/import - Importe un fichier CSV et redirige avec le bilan")
+    void testImportBids() throws Exception {
+        BidListImportResult importResult = new BidListImportResult(2, 0, List.of());
+        Mockito.when(bidListImportService.importCsv(any())).thenReturn(importResult);
+        MockMultipartFile file = new MockMultipartFile("file", "bids.csv", "text/csv",
+                "Acc,Type,1\nAcc2,Type,2\n".getBytes());
+
+        mockMvc.perform(multipart("/bidList/import").file(file).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/bidList/list"))
+                .andExpect(flash().attribute("importResult", importResult));
+    }
+
+    @Test
+    @DisplayName("POST /bidList/bulk/delete - Supprime les bids d'un book et redirige avec leur nombre")
+    void testBulkDeleteByCriteria() throws Exception {
+        Mockito.when(bulkEditService.deleteBidLists(new BulkCriteria(null, "Book", null))).thenReturn(4);
+
+        mockMvc.perform(post("/bidList/bulk/delete").with(csrf()).param("book", "Book"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/bidList/list"))
+                .andExpect(flash().attribute("bulkDeleted", 4));
+    }
+
+    @Test
+    @DisplayName("POST /bidList/bulk/update - Change le statut des bids listés")
+    void testBulkUpdateByIds() throws Exception {
+        Mockito.when(bulkEditService.updateBidListStatus(List.of(7, 8), "CANCELLED")).thenReturn(2);
+
+        mockMvc.perform(post("/bidList/bulk/update").with(csrf()).param("ids", "7,8").param("status", "CANCELLED"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("bulkUpdated", 2));
+    }
 }
@@ -0,0 +1,56 @@
+package org.oc.poseidon.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.oc.poseidon.service.ChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "user", roles = {"ADMIN"})
+class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChangeFeed changeFeed;
+
+    @Test
+    @DisplayName("GET /trade/feed - Ouvre un flux SSE abonné aux transactions")
+    void testTradeFeed() throws Exception {
+        mockMvc.perform(get("/trade/feed"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+        Mockito.verify(changeFeed).subscribe(eq(ChangeFeed.TRADE), any(SseEmitter.class));
+    }
+
+    @Test
+    @DisplayName("GET /bidList/feed - Ouvre un flux SSE abonné aux offres")
+    void testBidListFeed() throws Exception {
+        mockMvc.perform(get("/bidList/feed"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+        Mockito.verify(changeFeed).subscribe(eq(ChangeFeed.BID_LIST), any(SseEmitter.class));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    @DisplayName("GET /trade/feed - Refusé sans le rôle ADMIN")
+    void testTradeFeedForbidden() throws Exception {
+        mockMvc.perform(get("/trade/feed"))
+                .andExpect(status().isForbidden());
+    }
+}
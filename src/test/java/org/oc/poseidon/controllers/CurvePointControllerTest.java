@@ -5,11 +5,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.oc.poseidon.domain.CurvePoint;
+import org.oc.poseidon.domain.CurvePointSummary;
+import org.oc.poseidon.service.ListVersion;
 import org.oc.poseidon.service.CurvePointService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -36,6 +41,7 @@ class CurvePointControllerTest {
 
     @BeforeEach
     void setUp() {
+        Mockito.when(curvePointService.listVersion()).thenReturn(new ListVersion("curvePoint", 1L, 0L, 1_000_000L));
         curvePoint = new CurvePoint(1, 1.2, 10.0);
         Mockito.when(curvePointService.curvePointById(1)).thenReturn(curvePoint);
     }
@@ -43,7 +49,8 @@ class CurvePointControllerTest {
     @Test
     @DisplayName("GET /curvePoint/list - Affiche la liste des points de courbe avec succès")
     void testHome() throws Exception {
-        Mockito.when(curvePointService.curveAll()).thenReturn(Collections.singletonList(curvePoint));
+        Mockito.when(curvePointService.curveSummaries())
+                .thenReturn(Collections.singletonList(new CurvePointSummary(1, 1, 10.0, 5.0)));
 
         mockMvc.perform(get("/curvePoint/list").with(request -> {
                     request.setRemoteUser("testuser");
@@ -55,6 +62,26 @@ class CurvePointControllerTest {
                 .andExpect(view().name("curvePoint/list"));
     }
 
+    @Test
+    @DisplayName("GET /curvePoint/list - Répond 304 sans relire les points de courbe si l'ETag est à jour")
+    void testHomeNotModified() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        String etag = mockMvc.perform(get("/curvePoint/list").session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/curvePoint/list").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        Mockito.verify(curvePointService, Mockito.times(1)).curveSummaries();
+
+        Mockito.when(curvePointService.listVersion()).thenReturn(new ListVersion("curvePoint", 1L, 1L, 2_000_000L));
+        mockMvc.perform(get("/curvePoint/list").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(view().name("curvePoint/list"));
+    }
+
     @Test
     @DisplayName("GET /curvePoint/add - Affiche le formulaire d'ajout d'un CurvePoint")
     void testAddCurvePointForm() throws Exception {
@@ -112,6 +139,23 @@ class CurvePointControllerTest {
                 .andExpect(redirectedUrl("/curvePoint/list"));
     }
 
+    @Test
+    @DisplayName("POST /curvePoint/update/1 - Conflit de version : recharge le formulaire avec une erreur globale")
+    void testUpdateCurvePointConflict() throws Exception {
+        Mockito.when(curvePointService.updateCurvePoint(any(), eq(1)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(CurvePoint.class, 1));
+
+        mockMvc.perform(post("/curvePoint/update/1")
+                        .with(csrf())
+                        .param("version", "0")
+                        .param("curveId", "1")
+                        .param("term", "12")
+                        .param("value", "456.0"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("curvePoint/update"))
+                .andExpect(model().attributeHasErrors("curvePoint"));
+    }
+
     @Test
     @DisplayName("POST /curvePoint/update/1 - Mise à jour invalide, renvoie le formulaire avec erreurs")
     void testUpdateCurvePointInvalid() throws Exception {
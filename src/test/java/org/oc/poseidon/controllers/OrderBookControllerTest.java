@@ -0,0 +1,112 @@
+package org.oc.poseidon.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.oc.poseidon.service.OrderBookDepth;
+import org.oc.poseidon.service.OrderBookEngine;
+import org.oc.poseidon.service.PriceLevel;
+import org.oc.poseidon.service.TopOfBook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "user", roles = {"ADMIN"})
+class OrderBookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderBookEngine orderBookEngine;
+
+    @Test
+    @DisplayName("GET /bidList/books - Affiche les meilleurs prix de chaque titre")
+    void testBooks() throws Exception {
+        Mockito.when(orderBookEngine.topOfBooks()).thenReturn(List.of(
+                new TopOfBook("SEC", new PriceLevel(10.0, 100.0, 2), new PriceLevel(10.75, 50.0, 1))));
+
+        mockMvc.perform(get("/bidList/books"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/books"))
+                .andExpect(model().attributeExists("books"))
+                .andExpect(content().string(containsString("0.75")));
+    }
+
+    @Test
+    @DisplayName("GET /bidList/books/{security} - Affiche la profondeur du carnet")
+    void testBook() throws Exception {
+        Mockito.when(orderBookEngine.depth("SEC", 5)).thenReturn(Optional.of(new OrderBookDepth("SEC",
+                List.of(new PriceLevel(10.0, 100.0, 2)), List.of(new PriceLevel(11.0, 50.0, 1)))));
+
+        mockMvc.perform(get("/bidList/books/SEC").param("levels", "5"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("bidList/book"))
+                .andExpect(model().attributeExists("depth"));
+    }
+
+    @Test
+    @DisplayName("GET /bidList/books/{security} - Redirige si le titre est inconnu")
+    void testBookUnknown() throws Exception {
+        Mockito.when(orderBookEngine.depth("NONE", 10)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/bidList/books/NONE"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/bidList/books"));
+    }
+
+    @Test
+    @DisplayName("GET /bidList/books/{security}/top - Renvoie les meilleurs prix en JSON")
+    void testTop() throws Exception {
+        Mockito.when(orderBookEngine.topOfBook("SEC")).thenReturn(Optional.of(
+                new TopOfBook("SEC", new PriceLevel(10.0, 100.0, 2), null)));
+
+        mockMvc.perform(get("/bidList/books/SEC/top"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.security").value("SEC"))
+                .andExpect(jsonPath("$.bestBid.price").value(10.0))
+                .andExpect(jsonPath("$.bestAsk").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /bidList/books/{security}/top - 404 si le titre est inconnu")
+    void testTopUnknown() throws Exception {
+        Mockito.when(orderBookEngine.topOfBook("NONE")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/bidList/books/NONE/top"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /bidList/books/rebuild - Reconstruit les carnets et redirige")
+    void testRebuild() throws Exception {
+        Mockito.when(orderBookEngine.rebuild()).thenReturn(4);
+
+        mockMvc.perform(post("/bidList/books/rebuild").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/bidList/books"))
+                .andExpect(flash().attribute("rebuiltBids", 4));
+        Mockito.verify(orderBookEngine).rebuild();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    @DisplayName("GET /bidList/books - Refusé sans le rôle ADMIN")
+    void testBooksForbidden() throws Exception {
+        mockMvc.perform(get("/bidList/books"))
+                .andExpect(status().isForbidden());
+    }
+}
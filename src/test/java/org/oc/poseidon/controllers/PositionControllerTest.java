@@ -0,0 +1,65 @@
+package org.oc.poseidon.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.oc.poseidon.service.Position;
+import org.oc.poseidon.service.PositionEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "user", roles = {"ADMIN"})
+class PositionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PositionEngine positionEngine;
+
+    @Test
+    @DisplayName("GET /trade/positions - Affiche l'instantané des positions")
+    void testPositions() throws Exception {
+        Mockito.when(positionEngine.positions())
+                .thenReturn(List.of(new Position("ACC", "BOOK", "SEC", 400.0, 50.0, 17.5, 30.0, 2)));
+
+        mockMvc.perform(get("/trade/positions"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/positions"))
+                .andExpect(model().attributeExists("positions"))
+                .andExpect(content().string(containsString("350.0")));
+    }
+
+    @Test
+    @DisplayName("POST /trade/positions/rebuild - Reconstruit l'agrégat et redirige")
+    void testRebuild() throws Exception {
+        Mockito.when(positionEngine.rebuild()).thenReturn(3);
+
+        mockMvc.perform(post("/trade/positions/rebuild").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/trade/positions"))
+                .andExpect(flash().attribute("rebuiltTrades", 3));
+        Mockito.verify(positionEngine).rebuild();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    @DisplayName("GET /trade/positions - Refusé sans le rôle ADMIN")
+    void testPositionsForbidden() throws Exception {
+        mockMvc.perform(get("/trade/positions"))
+                .andExpect(status().isForbidden());
+    }
+}
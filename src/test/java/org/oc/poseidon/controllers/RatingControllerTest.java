@@ -5,11 +5,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.oc.poseidon.domain.Rating;
+import org.oc.poseidon.domain.RatingSummary;
+import org.oc.poseidon.service.ListVersion;
 import org.oc.poseidon.service.RatingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -36,6 +41,7 @@ class RatingControllerTest {
 
     @BeforeEach
     void setUp() {
+        Mockito.when(ratingService.listVersion()).thenReturn(new ListVersion("rating", 1L, 0L, 1_000_000L));
         rating = new Rating("12", "14", "40", 1);
         Mockito.when(ratingService.ratingById(1)).thenReturn(rating);
     }
@@ -43,7 +49,8 @@ class RatingControllerTest {
     @Test
     @DisplayName("GET /rating/list - Affiche la liste des notations")
     void testHome() throws Exception {
-        Mockito.when(ratingService.ratingAll()).thenReturn(Collections.singletonList(rating));
+        Mockito.when(ratingService.ratingSummaries())
+                .thenReturn(Collections.singletonList(new RatingSummary(1, "12", "14", "40", 1)));
 
         mockMvc.perform(get("/rating/list").with(request -> {
                     request.setRemoteUser("testuser");
@@ -55,6 +62,38 @@ class RatingControllerTest {
                 .andExpect(view().name("rating/list"));
     }
 
+    @Test
+    @DisplayName("GET /rating/list - Répond 304 sans relire les notations si l'ETag est à jour")
+    void testHomeNotModified() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        String etag = mockMvc.perform(get("/rating/list").session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/rating/list").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        Mockito.verify(ratingService, Mockito.times(1)).ratingSummaries();
+
+        Mockito.when(ratingService.listVersion()).thenReturn(new ListVersion("rating", 1L, 1L, 2_000_000L));
+        mockMvc.perform(get("/rating/list").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(view().name("rating/list"));
+    }
+
+    @Test
+    @DisplayName("GET /rating/list - Un If-Modified-Since sans ETag ne suffit pas pour répondre 304")
+    void testHomeIfModifiedSinceAlone() throws Exception {
+        String lastModified = mockMvc.perform(get("/rating/list"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/rating/list").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk())
+                .andExpect(view().name("rating/list"));
+    }
+
     @Test
     @DisplayName("GET /rating/add - Affiche le formulaire d'ajout de notation")
     void testAddRatingForm() throws Exception {
@@ -115,6 +154,24 @@ class RatingControllerTest {
                 .andExpect(redirectedUrl("/rating/list"));
     }
 
+    @Test
+    @DisplayName("POST /rating/update/1 - Conflit de version : recharge le formulaire avec une erreur globale")
+    void testUpdateRatingConflict() throws Exception {
+        Mockito.when(ratingService.updateRating(any(), eq(1)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Rating.class, 1));
+
+        mockMvc.perform(post("/rating/update/1")
+                        .with(csrf())
+                        .param("version", "0")
+                        .param("moodysRating", "1")
+                        .param("SandPRating", "12")
+                        .param("fitchRating", "456")
+                        .param("orderNumber", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("rating/update"))
+                .andExpect(model().attributeHasErrors("rating"));
+    }
+
     @Test
     @DisplayName("POST /rating/update/1 - Mise à jour invalide, retour au formulaire")
     void testUpdateRatingInvalid() throws Exception {
@@ -5,11 +5,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.oc.poseidon.domain.RuleName;
+import org.oc.poseidon.domain.RuleNameSummary;
+import org.oc.poseidon.service.ListVersion;
 import org.oc.poseidon.service.RuleNameService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -36,13 +41,14 @@ class RuleNameControllerTest {
 
     @BeforeEach
     void setUp() {
+        Mockito.when(ruleNameService.listVersion()).thenReturn(new ListVersion("ruleName", 1L, 0L, 1_000_000L));
         ruleName = new RuleName(
                 "name",
                 "description",
                 "json",
                 "template",
-                "sqlStr",
-                "sqlPart"
+                "select trade_id from trade",
+                "where account = :account"
         );
         Mockito.when(ruleNameService.ruleNameById(1)).thenReturn(ruleName);
     }
@@ -50,7 +56,8 @@ class RuleNameControllerTest {
     @Test
     @DisplayName("GET /ruleName/list - Affiche la liste des règles")
     void testHome() throws Exception {
-        Mockito.when(ruleNameService.ruleNameAll()).thenReturn(Collections.singletonList(ruleName));
+        Mockito.when(ruleNameService.ruleNameSummaries())
+                .thenReturn(Collections.singletonList(new RuleNameSummary(1, "Name", "Description", "{}", "Template", "SQL", "Part")));
 
         mockMvc.perform(get("/ruleName/list").with(request -> {
                     request.setRemoteUser("testuser");
@@ -62,6 +69,26 @@ class RuleNameControllerTest {
                 .andExpect(view().name("ruleName/list"));
     }
 
+    @Test
+    @DisplayName("GET /ruleName/list - Répond 304 sans relire les règles si l'ETag est à jour")
+    void testHomeNotModified() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        String etag = mockMvc.perform(get("/ruleName/list").session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/ruleName/list").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        Mockito.verify(ruleNameService, Mockito.times(1)).ruleNameSummaries();
+
+        Mockito.when(ruleNameService.listVersion()).thenReturn(new ListVersion("ruleName", 1L, 1L, 2_000_000L));
+        mockMvc.perform(get("/ruleName/list").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(view().name("ruleName/list"));
+    }
+
     @Test
     @DisplayName("GET /ruleName/add - Affiche le formulaire d'ajout d'une règle")
     void testAddRuleNameForm() throws Exception {
@@ -82,6 +109,20 @@ class RuleNameControllerTest {
                 .andExpect(redirectedUrl("/ruleName/list"));
     }
 
+    @Test
+    @DisplayName("POST /ruleName/validate - Refuse une requête autre qu'un SELECT et recharge le formulaire")
+    void testValidateRuleNameWritingSql() throws Exception {
+        mockMvc.perform(post("/ruleName/validate")
+                        .with(csrf())
+                        .param("name", "Purge")
+                        .param("sqlStr", "select 1 from trade")
+                        .param("sqlPart", "; delete from trade"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("ruleName/add"))
+                .andExpect(model().attributeHasFieldErrors("ruleName", "sqlStr"));
+        Mockito.verify(ruleNameService, Mockito.never()).addRuleName(any());
+    }
+
     @Test
     @DisplayName("GET /ruleName/update/1 - Affiche le formulaire de mise à jour")
     void testShowUpdateForm() throws Exception {
@@ -103,6 +144,21 @@ class RuleNameControllerTest {
                 .andExpect(redirectedUrl("/ruleName/list"));
     }
 
+    @Test
+    @DisplayName("POST /ruleName/update/1 - Conflit de version : recharge le formulaire avec une erreur globale")
+    void testUpdateRuleNameConflict() throws Exception {
+        Mockito.when(ruleNameService.updateRuleName(any(), eq(1)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(RuleName.class, 1));
+
+        mockMvc.perform(post("/ruleName/update/1")
+                        .with(csrf())
+                        .param("version", "0")
+                        .param("nameRuleName", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("ruleName/update"))
+                .andExpect(model().attributeHasErrors("ruleName"));
+    }
+
     @Test
     @DisplayName("GET /ruleName/delete/1 - Supprime une règle et redirige vers la liste")
     void testDeleteRuleName() throws Exception {
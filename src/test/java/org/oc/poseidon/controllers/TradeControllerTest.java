@@ -4,17 +4,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.AuditEntry;
 import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.domain.TradeSummary;
+import org.oc.poseidon.service.BulkCriteria;
+import org.oc.poseidon.service.BulkEditService;
+import org.oc.poseidon.service.DateRange;
+import org.oc.poseidon.service.KeysetPage;
 import org.oc.poseidon.service.TradeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -32,18 +44,24 @@ class TradeControllerTest {
     @MockBean
     private TradeService tradeService;
 
+    @MockBean
+    private BulkEditService bulkEditService;
+
     private Trade trade;
+    private TradeSummary summary;
 
     @BeforeEach
     void setUp() {
         trade = new Trade("Trade Account", "Type");
+        summary = new TradeSummary(1, "Trade Account", "Type", 10.0);
         Mockito.when(tradeService.tradeById(1)).thenReturn(trade);
     }
 
     @Test
     @DisplayName("GET /trade/list - Affiche la liste des trades")
     void testHome() throws Exception {
-        Mockito.when(tradeService.tradeAll()).thenReturn(Collections.singletonList(trade));
+        Mockito.when(tradeService.tradePage(null, null, TradeService.DEFAULT_PAGE_SIZE, null))
+                .thenReturn(new KeysetPage<>(Collections.singletonList(summary), null, null, TradeService.DEFAULT_PAGE_SIZE));
 
         mockMvc.perform(get("/trade/list").with(request -> {
                     request.setRemoteUser("testuser");
@@ -52,7 +70,37 @@ class TradeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(model().attributeExists("trades"))
                 .andExpect(model().attributeExists("remoteUser"))
+                .andExpect(view().name("trade/list"))
+                .andExpect(content().string(containsString("Trade Account")))
+                .andExpect(content().string(containsString("/trade/update/1")));
+    }
+
+    @Test
+    @DisplayName("GET /trade/list?after=10&size=20 - Transmet le curseur et la taille de page")
+    void testHomeWithCursor() throws Exception {
+        Mockito.when(tradeService.tradePage(10, null, 20, null))
+                .thenReturn(new KeysetPage<>(Collections.singletonList(summary), 11, 30, 20));
+
+        mockMvc.perform(get("/trade/list").param("after", "10").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("page"))
                 .andExpect(view().name("trade/list"));
+
+        Mockito.verify(tradeService).tradePage(10, null, 20, null);
+    }
+
+    @Test
+    @DisplayName("GET /trade/list?from&to - Filtre par journées et conserve le filtre dans la pagination")
+    void testHomeWithDateRange() throws Exception {
+        DateRange range = DateRange.ofDays(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 2));
+        Mockito.when(tradeService.tradePage(null, null, TradeService.DEFAULT_PAGE_SIZE, range))
+                .thenReturn(new KeysetPage<>(Collections.singletonList(summary), null, 1, TradeService.DEFAULT_PAGE_SIZE));
+
+        mockMvc.perform(get("/trade/list").param("from", "2024-03-01").param("to", "2024-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("from", LocalDate.of(2024, 3, 1)))
+                .andExpect(content().string(containsString("after=1&amp;size=50&amp;from=2024-03-01&amp;to=2024-03-02")))
+                .andExpect(content().string(containsString("data-append=\"false\"")));
     }
 
     @Test
@@ -112,6 +160,23 @@ class TradeControllerTest {
                 .andExpect(redirectedUrl("/trade/list"));
     }
 
+    @Test
+    @DisplayName("POST /trade/update/1 - Conflit de version : recharge le formulaire avec une erreur globale")
+    void testUpdateTradeConflict() throws Exception {
+        Mockito.when(tradeService.updateTrade(any(), eq(1)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Trade.class, 1));
+
+        mockMvc.perform(post("/trade/update/1")
+                        .with(csrf())
+                        .param("version", "0")
+                        .param("account", "Trade Account")
+                        .param("type", "Type")
+                        .param("buyQuantity", "12"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/update"))
+                .andExpect(model().attributeHasErrors("trade"));
+    }
+
     @Test
     @DisplayName("POST /trade/update/1 - Données invalides : recharge le formulaire")
     void testUpdateTradeInvalid() throws Exception {
@@ -131,4 +196,55 @@ class TradeControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/trade/list"));
     }
+
+    @Test
+    @DisplayName("GET /trade/history/1 - Affiche l'historique d'audit du trade")
+    void testShowHistory() throws Exception {
+        AuditEntry entry = new AuditEntry("Trade", 1, AuditAction.UPDATE, "admin",
+                new Timestamp(System.currentTimeMillis()), "account=Trade Account, type=Type, buyQuantity=10.0");
+        Mockito.when(tradeService.tradeHistory(1)).thenReturn(List.of(entry));
+
+        mockMvc.perform(get("/trade/history/1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/history"))
+                .andExpect(model().attribute("tradeId", 1))
+                .andExpect(content().string(containsString("account=Trade Account")));
+    }
+
+    @Test
+    @DisplayName("POST /trade/bulk/delete - Supprime les trades listés et redirige avec leur nombre")
+    void testBulkDeleteByIds() throws Exception {
+        Mockito.when(bulkEditService.deleteTrades(List.of(1, 2, 3))).thenReturn(3);
+
+        mockMvc.perform(post("/trade/bulk/delete").with(csrf()).param("ids", "1,2,3"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/trade/list"))
+                .andExpect(flash().attribute("bulkDeleted", 3));
+    }
+
+    @Test
+    @DisplayName("POST /trade/bulk/update - Change le statut des trades d'un compte sur une journée")
+    void testBulkUpdateByCriteria() throws Exception {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        BulkCriteria criteria = new BulkCriteria("Trade Account", null, DateRange.ofDays(day, null));
+        Mockito.when(bulkEditService.updateTradeStatus(criteria, "CLOSED")).thenReturn(5);
+
+        mockMvc.perform(post("/trade/bulk/update").with(csrf())
+                        .param("account", "Trade Account")
+                        .param("from", "2024-03-01")
+                        .param("status", "CLOSED"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("bulkUpdated", 5));
+    }
+
+    @Test
+    @DisplayName("POST /trade/bulk/delete - Sans identifiant ni critère, redirige avec l'erreur")
+    void testBulkDeleteWithoutCriteria() throws Exception {
+        Mockito.when(bulkEditService.deleteTrades(any(BulkCriteria.class)))
+                .thenThrow(new IllegalArgumentException("Au moins un critère est requis"));
+
+        mockMvc.perform(post("/trade/bulk/delete").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("bulkError", "Au moins un critère est requis"));
+    }
 }
@@ -0,0 +1,91 @@
+package org.oc.poseidon.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.service.DateRange;
+import org.oc.poseidon.service.TradeExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "user", roles = {"ADMIN"})
+class TradeExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TradeExportService exportService;
+
+    @Test
+    @DisplayName("GET /trade/export/csv - Exporte les trades en CSV")
+    void testExportCsv() throws Exception {
+        when(exportService.exportCsv(any(), isNull())).thenAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("tradeId\n1\n".getBytes());
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/trade/export/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"trades.csv\""))
+                .andExpect(content().string("tradeId\n1\n"));
+    }
+
+    @Test
+    @DisplayName("GET /trade/export/ndjson - Exporte les trades en NDJSON")
+    void testExportNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/trade/export/ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"));
+    }
+
+    @Test
+    @DisplayName("GET /trade/export/ndjson?from&to - Limite l'export à la plage de journées")
+    void testExportNdjsonDateRange() throws Exception {
+        MvcResult result = mockMvc.perform(get("/trade/export/ndjson")
+                        .param("from", "2024-03-01")
+                        .param("to", "2024-03-02"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        verify(exportService).exportNdjson(any(),
+                eq(DateRange.ofDays(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 2))));
+    }
+
+    @Test
+    @DisplayName("GET /trade/export/csv - Refusé sans le rôle ADMIN")
+    @WithMockUser(username = "user", roles = {"USER"})
+    void testExportForbiddenForUser() throws Exception {
+        mockMvc.perform(get("/trade/export/csv"))
+                .andExpect(status().is4xxClientError());
+    }
+}
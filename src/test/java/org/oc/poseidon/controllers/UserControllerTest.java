@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.oc.poseidon.domain.User;
 import org.oc.poseidon.repositories.UserRepository;
+import org.oc.poseidon.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -31,6 +32,9 @@ class UserControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private CustomUserDetailsService userDetailsService;
+
     private User user;
 
     @BeforeEach
@@ -104,6 +108,8 @@ class UserControllerTest {
     @Test
     @DisplayName("POST /user/update/1 - Mise à jour valide redirige vers la liste")
     void updateUser_shouldRedirectWhenValid() throws Exception {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
         mockMvc.perform(post("/user/update/1")
                         .with(csrf())
                         .param("username", "updateduser")
@@ -114,6 +120,8 @@ class UserControllerTest {
                 .andExpect(redirectedUrl("/user/list"));
 
         then(userRepository).should().save(any(User.class));
+        then(userDetailsService).should().evict("testuser");
+        then(userDetailsService).should().evict("updateduser");
     }
 
     @Test
@@ -139,5 +147,6 @@ class UserControllerTest {
                 .andExpect(redirectedUrl("/user/list"));
 
         then(userRepository).should().delete(user);
+        then(userDetailsService).should().evict("testuser");
     }
 }
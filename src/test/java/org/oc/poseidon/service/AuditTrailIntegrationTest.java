@@ -0,0 +1,58 @@
+package org.oc.poseidon.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.AuditEntry;
+import org.oc.poseidon.domain.Trade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que les écritures de {@link TradeService} renseignent l'auteur de la transaction
+ * et arrivent, via le thread d'écriture de {@link AuditTrail}, dans la table {@code audit_history}.
+ */
+@SpringBootTest
+@WithMockUser(username = "auditor", roles = {"ADMIN"})
+class AuditTrailIntegrationTest {
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Test
+    @DisplayName("Création, mise à jour et suppression d'un trade sont historisées dans l'ordre")
+    void tradeLifecycle_ShouldBeAudited() throws InterruptedException {
+        Trade trade = new Trade("Audit", "Type");
+        tradeService.addTrade(trade);
+        int id = trade.getTradeId();
+
+        Trade saved = tradeService.tradeById(id);
+        assertThat(saved.getCreationName()).isEqualTo("auditor");
+
+        Trade form = new Trade("Audit", "Other");
+        form.setVersion(saved.getVersion());
+        tradeService.updateTrade(form, id);
+        tradeService.deleteTrade(id);
+
+        List<AuditEntry> history = awaitHistory(id, 3);
+        assertThat(history).extracting(AuditEntry::getAction)
+                .containsExactly(AuditAction.CREATE, AuditAction.UPDATE, AuditAction.DELETE);
+        assertThat(history).extracting(AuditEntry::getUsername).containsOnly("auditor");
+        assertThat(history.get(1).getDetails()).contains("type=Other");
+    }
+
+    private List<AuditEntry> awaitHistory(int id, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<AuditEntry> history = tradeService.tradeHistory(id);
+        while (history.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            history = tradeService.tradeHistory(id);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,149 @@
+package org.oc.poseidon.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.AuditEntryRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class AuditTrailTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private AuditTrail auditTrail(int queueCapacity, int batchSize) {
+        return new AuditTrail(jdbcTemplate, mock(AuditEntryRepository.class), transactionManager, registry,
+                queueCapacity, batchSize);
+    }
+
+    @Test
+    @DisplayName("record dépose la ligne dans la file sans écrire en base")
+    void record_ShouldQueueWithoutWriting() {
+        AuditTrail auditTrail = auditTrail(10, 10);
+
+        auditTrail.record(Trade.class, 1, AuditAction.CREATE, "account=A");
+
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(registry.get("poseidon.audit.queue").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("flush insère les lignes en attente par lots de batchSize")
+    @SuppressWarnings("unchecked")
+    void flush_ShouldInsertInBatches() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin", null));
+        AuditTrail auditTrail = auditTrail(10, 2);
+        auditTrail.record(Trade.class, 1, AuditAction.CREATE, "account=A");
+        auditTrail.record(Trade.class, 1, AuditAction.UPDATE, "account=B");
+        auditTrail.record(Trade.class, 1, AuditAction.DELETE, "account=B");
+
+        auditTrail.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(rows.getAllValues().get(0).get(0)).startsWith("Trade", 1, "CREATE", "admin");
+        assertThat(rows.getAllValues().get(1).get(0)[2]).isEqualTo("DELETE");
+    }
+
+    @Test
+    @DisplayName("Une file pleine fait écrire la ligne par l'appelant")
+    void record_ShouldWriteDirectly_WhenQueueIsFull() {
+        AuditTrail auditTrail = auditTrail(1, 10);
+        auditTrail.record(Trade.class, 1, AuditAction.CREATE, null);
+
+        auditTrail.record(Trade.class, 2, AuditAction.CREATE, null);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertThat(registry.get("poseidon.audit.overflow").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Une ligne écrite par l'appelant l'est dans une nouvelle transaction")
+    void record_ShouldWriteDirectlyInNewTransaction() {
+        AuditTrail auditTrail = auditTrail(1, 10);
+        auditTrail.record(Trade.class, 1, AuditAction.CREATE, null);
+
+        auditTrail.record(Trade.class, 2, AuditAction.CREATE, null);
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Dans une transaction, la ligne n'est transmise qu'après validation")
+    void record_ShouldWaitForCommit() {
+        AuditTrail auditTrail = auditTrail(10, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            auditTrail.record(Trade.class, 1, AuditAction.UPDATE, null);
+            assertThat(registry.get("poseidon.audit.queue").gauge().value()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(registry.get("poseidon.audit.queue").gauge().value()).isEqualTo(1.0);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("stop vide la file, puis les lignes suivantes sont écrites directement")
+    void stop_ShouldFlushQueue() {
+        AuditTrail auditTrail = auditTrail(10, 10);
+        auditTrail.record(Trade.class, 1, AuditAction.CREATE, null);
+
+        auditTrail.stop();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+
+        auditTrail.record(Trade.class, 1, AuditAction.DELETE, null);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("recordAll propage l'échec de l'insertion pour annuler l'opération en masse")
+    void recordAll_ShouldPropagateInsertFailure() {
+        AuditTrail auditTrail = auditTrail(10, 10);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataIntegrityViolationException("audit"));
+
+        assertThatThrownBy(() -> auditTrail.recordAll(Trade.class, List.of(1, 2), AuditAction.DELETE, null))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Sans authentification, l'auteur enregistré est l'utilisateur système")
+    void currentUsername_ShouldFallBackToSystem() {
+        assertThat(auditTrail(1, 1).currentUsername()).isEqualTo(AuditTrail.SYSTEM_USER);
+    }
+}
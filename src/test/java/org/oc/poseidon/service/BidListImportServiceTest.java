@@ -0,0 +1,158 @@
+package org.oc.poseidon.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.BidList;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BidListImportServiceTest {
+
+    private EntityManager entityManager;
+    private Session session;
+    private ValidatorFactory validatorFactory;
+    private AuditTrail auditTrail;
+    private OrderBookEngine orderBookEngine;
+    private ChangeFeed changeFeed;
+    private BidListImportService service;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        auditTrail = mock(AuditTrail.class);
+        when(auditTrail.currentUsername()).thenReturn("admin");
+        orderBookEngine = mock(OrderBookEngine.class);
+        changeFeed = mock(ChangeFeed.class);
+        service = new BidListImportService(entityManager, validatorFactory.getValidator(), auditTrail,
+                orderBookEngine, changeFeed, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("importBidLists insère par lots et vide la session tous les N enregistrements")
+    void importBidLists_ShouldFlushAndClearEveryBatch() {
+        List<BidList> bids = List.of(
+                new BidList("A1", "T", 1.0),
+                new BidList("A2", "T", 2.0),
+                new BidList("A3", "T", 3.0));
+
+        BidListImportResult result = service.importBidLists(bids);
+
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.rejected()).isZero();
+        verify(session).setJdbcBatchSize(2);
+        verify(entityManager, times(3)).persist(any(BidList.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(changeFeed).invalidate(ChangeFeed.BID_LIST);
+    }
+
+    @Test
+    @DisplayName("importBidLists renseigne l'auteur et la date de création et journalise chaque lot")
+    @SuppressWarnings("unchecked")
+    void importBidLists_ShouldSetCreationAndAuditEveryBatch() {
+        List<BidList> bids = List.of(
+                new BidList("A1", "T", 1.0),
+                new BidList("A2", "T", 2.0),
+                new BidList("A3", "T", 3.0));
+
+        service.importBidLists(bids);
+
+        assertThat(bids).allSatisfy(bid -> {
+            assertThat(bid.getCreationName()).isEqualTo("admin");
+            assertThat(bid.getCreationDate()).isNotNull();
+        });
+        ArgumentCaptor<List<Integer>> ids = ArgumentCaptor.forClass(List.class);
+        verify(auditTrail, times(2)).recordAll(eq(BidList.class), ids.capture(), eq(AuditAction.CREATE), anyString());
+        assertThat(ids.getAllValues()).extracting(List::size).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("importBidLists reconstruit les carnets d'ordres si une offre importée porte un titre")
+    void importBidLists_ShouldRebuildOrderBooks_WhenSecurityIsSet() {
+        BidList quoted = new BidList("A1", "T", 1.0);
+        quoted.setSecurity("SEC");
+
+        service.importBidLists(List.of(quoted, new BidList("A2", "T", 2.0)));
+
+        verify(orderBookEngine).rebuild();
+    }
+
+    @Test
+    @DisplayName("importBidLists ne reconstruit pas les carnets d'ordres sans offre sur un titre")
+    void importBidLists_ShouldNotRebuildOrderBooks_WithoutSecurity() {
+        service.importBidLists(List.of(new BidList("A1", "T", 1.0)));
+
+        verifyNoInteractions(orderBookEngine);
+    }
+
+    @Test
+    @DisplayName("importBidLists rejette les bids invalides")
+    void importBidLists_ShouldRejectInvalid() {
+        List<BidList> bids = List.of(
+                new BidList("", "T", 1.0),
+                new BidList("A2", "T", 2.0));
+
+        BidListImportResult result = service.importBidLists(bids);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly("Ligne 1 : Account is mandatory");
+    }
+
+    @Test
+    @DisplayName("importCsv ignore l'en-tête et accepte la virgule décimale avec le séparateur ;")
+    void importCsv_ShouldParseRows() {
+        String csv = "account;type;bidQuantity\nAcc;Type;12,5\n\nAcc2;Type2;\n";
+
+        BidListImportResult result = service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        ArgumentCaptor<BidList> captor = ArgumentCaptor.forClass(BidList.class);
+        verify(entityManager, times(2)).persist(captor.capture());
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(captor.getAllValues().get(0).getBidQuantity()).isEqualTo(12.5);
+        assertThat(captor.getAllValues().get(1).getBidQuantity()).isNull();
+    }
+
+    @Test
+    @DisplayName("importCsv désigne les lignes rejetées par leur numéro dans le fichier")
+    void importCsv_ShouldReportFileLineNumbers() {
+        String csv = "account,type,bidQuantity\nAcc,Type,1\n\n,Type,2\n";
+
+        BidListImportResult result = service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.errors()).containsExactly("Ligne 4 : Account is mandatory");
+    }
+
+    @Test
+    @DisplayName("importCsv signale une quantité illisible")
+    void importCsv_ShouldFailOnInvalidNumber() {
+        String csv = "Acc,Type,abc\n";
+
+        assertThatThrownBy(() -> service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ligne 1");
+    }
+}
@@ -3,23 +3,35 @@ package org.oc.poseidon.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.AuditAction;
 import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.BidListSummary;
 import org.oc.poseidon.repositories.BidListRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class BidListServiceTest {
 
     private BidListRepository bidListRepository;
+    private AuditTrail auditTrail;
+    private OrderBookEngine orderBookEngine;
+    private ChangeFeed changeFeed;
     private BidListService bidListService;
 
     @BeforeEach
     void setup() {
         bidListRepository = mock(BidListRepository.class);
-        bidListService = new BidListService(bidListRepository);
+        auditTrail = mock(AuditTrail.class);
+        orderBookEngine = mock(OrderBookEngine.class);
+        when(auditTrail.currentUsername()).thenReturn("admin");
+        changeFeed = mock(ChangeFeed.class);
+        bidListService = new BidListService(bidListRepository, auditTrail, orderBookEngine, changeFeed);
     }
 
     @Test
@@ -35,6 +47,30 @@ class BidListServiceTest {
         verify(bidListRepository).findAll();
     }
 
+    @Test
+    @DisplayName("bidListSummaries retourne les projections du dépôt")
+    void bidListSummaries_ShouldReturnProjections() {
+        when(bidListRepository.findAllSummaries()).thenReturn(List.of(new BidListSummary(1, "Account", "Type", 10.0)));
+
+        List<BidListSummary> result = bidListService.bidListSummaries();
+
+        assertThat(result).extracting(BidListSummary::account).containsExactly("Account");
+        verify(bidListRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("bidListSummaries limite les projections à la plage de dates demandée")
+    void bidListSummaries_ShouldQueryDateRange() {
+        DateRange range = new DateRange(Instant.parse("2024-03-01T00:00:00Z"), Instant.parse("2024-03-02T00:00:00Z"));
+        when(bidListRepository.findSummariesBetween(range.from(), range.to()))
+                .thenReturn(List.of(new BidListSummary(2, "Account", "Type", 10.0)));
+
+        List<BidListSummary> result = bidListService.bidListSummaries(range);
+
+        assertThat(result).extracting(BidListSummary::bidListId).containsExactly(2);
+        verify(bidListRepository, never()).findAllSummaries();
+    }
+
     @Test
     @DisplayName("validBidList retourne true pour un bid valide")
     void validBidList_ShouldReturnTrue() {
@@ -69,7 +105,13 @@ class BidListServiceTest {
         boolean result = bidListService.addBidList(bid);
 
         assertThat(result).isTrue();
+        assertThat(bid.getCreationName()).isEqualTo("admin");
+        assertThat(bid.getCreationDate()).isNotNull();
+        assertThat(bid.getBidListDate()).isEqualTo(bid.getCreationDate().toInstant());
         verify(bidListRepository).save(bid);
+        verify(auditTrail).record(eq(BidList.class), any(), eq(AuditAction.CREATE), contains("account=Account1"));
+        verify(orderBookEngine).bidListSaved(bid);
+        verify(changeFeed).publish(eq(ChangeFeed.BID_LIST), any(), eq(AuditAction.CREATE), any(BidListSummary.class));
     }
 
     @Test
@@ -96,39 +138,51 @@ class BidListServiceTest {
     }
 
     @Test
-    @DisplayName("updateBidList modifie et sauvegarde un bid existant")
-    void updateBidList_ShouldUpdateAndSave() {
-        BidList existing = new BidList();
-        existing.setAccount("Old");
-        existing.setType("Old");
-        existing.setBidQuantity(1.0);
-
+    @DisplayName("updateBidList modifie un bid existant en une seule requête versionnée")
+    void updateBidList_ShouldUpdate() {
         BidList form = new BidList();
         form.setAccount("New");
         form.setType("New");
         form.setBidQuantity(99.0);
+        form.setVersion(2);
 
-        when(bidListRepository.findById(1)).thenReturn(existing);
+        when(bidListRepository.updateIfVersion(eq(1), eq(2), eq("New"), eq("New"), eq(99.0), eq("admin"), any()))
+                .thenReturn(1);
 
         boolean result = bidListService.updateBidList(form, 1);
 
         assertThat(result).isTrue();
-        assertThat(existing.getAccount()).isEqualTo("New");
-        verify(bidListRepository).save(existing);
+        verify(bidListRepository).updateIfVersion(eq(1), eq(2), eq("New"), eq("New"), eq(99.0), eq("admin"), any());
+        verify(auditTrail).record(eq(BidList.class), eq(1), eq(AuditAction.UPDATE), contains("bidQuantity=99.0"));
+        verify(orderBookEngine).bidQuantityAmended(1, 99.0);
+        verify(changeFeed).publish(ChangeFeed.BID_LIST, 1, AuditAction.UPDATE, new BidListSummary(1, "New", "New", 99.0));
+        verify(bidListRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("updateBidList signale un conflit si le formulaire n'a pas de version")
+    void updateBidList_ShouldThrow_WhenVersionIsMissing() {
+        BidList form = new BidList();
+        form.setAccount("New");
+        form.setType("New");
+        form.setBidQuantity(99.0);
+
+        assertThatThrownBy(() -> bidListService.updateBidList(form, 1))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(bidListRepository, never()).updateIfVersion(anyInt(), anyInt(), any(), any(), any(), any(), any());
+        verify(auditTrail, never()).record(any(), any(), any(), any());
+        verifyNoInteractions(orderBookEngine);
     }
 
     @Test
     @DisplayName("updateBidList ne fait rien si form invalide")
     void updateBidList_ShouldNotSave_WhenInvalid() {
-        BidList existing = new BidList();
         BidList form = new BidList(); // invalide
 
-        when(bidListRepository.findById(1)).thenReturn(existing);
-
         boolean result = bidListService.updateBidList(form, 1);
 
         assertThat(result).isFalse();
-        verify(bidListRepository, never()).save(any());
+        verifyNoInteractions(bidListRepository);
     }
 
     @Test
@@ -140,5 +194,8 @@ class BidListServiceTest {
         bidListService.deleteBidList(1);
 
         verify(bidListRepository).delete(bid);
+        verify(auditTrail).record(eq(BidList.class), eq(1), eq(AuditAction.DELETE), any());
+        verify(orderBookEngine).bidListDeleted(1);
+        verify(changeFeed).publish(ChangeFeed.BID_LIST, 1, AuditAction.DELETE, null);
     }
 }
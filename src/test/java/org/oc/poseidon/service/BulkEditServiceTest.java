@@ -0,0 +1,185 @@
+package org.oc.poseidon.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.domain.DatedId;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.BidListRepository;
+import org.oc.poseidon.repositories.TradeRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkEditServiceTest {
+
+    private TradeRepository tradeRepo;
+    private BidListRepository bidListRepo;
+    private AuditTrail auditTrail;
+    private PositionEngine positionEngine;
+    private OrderBookEngine orderBookEngine;
+    private ChangeFeed changeFeed;
+    private PlatformTransactionManager transactionManager;
+    private BulkEditService service;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepo = mock(TradeRepository.class);
+        bidListRepo = mock(BidListRepository.class);
+        auditTrail = mock(AuditTrail.class);
+        positionEngine = mock(PositionEngine.class);
+        orderBookEngine = mock(OrderBookEngine.class);
+        changeFeed = mock(ChangeFeed.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(auditTrail.currentUsername()).thenReturn("admin");
+        service = new BulkEditService(tradeRepo, bidListRepo, auditTrail, positionEngine, orderBookEngine,
+                changeFeed, transactionManager);
+    }
+
+    @Test
+    @DisplayName("deleteTrades supprime les identifiants existants, dédoublonnés, et journalise chaque ligne")
+    void deleteTrades_ShouldDeleteExistingIds() {
+        when(tradeRepo.findExistingIds(List.of(1, 2, 5))).thenReturn(List.of(1, 5));
+        when(tradeRepo.deleteByIds(List.of(1, 5))).thenReturn(2);
+
+        int deleted = service.deleteTrades(List.of(5, 1, 2, 1));
+
+        assertThat(deleted).isEqualTo(2);
+        verify(auditTrail).recordAll(eq(Trade.class), eq(List.of(1, 5)), eq(AuditAction.DELETE), anyString());
+        verify(positionEngine).tradesDeleted(List.of(1, 5));
+        verify(changeFeed).invalidate(ChangeFeed.TRADE);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("deleteTrades découpe une longue liste en une transaction par tranche")
+    void deleteTrades_ShouldChunkLongIdLists() {
+        List<Integer> ids = IntStream.rangeClosed(1, BulkEditService.CHUNK_SIZE + 1).boxed().toList();
+        when(tradeRepo.findExistingIds(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tradeRepo.deleteByIds(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        int deleted = service.deleteTrades(ids);
+
+        assertThat(deleted).isEqualTo(BulkEditService.CHUNK_SIZE + 1);
+        verify(tradeRepo).deleteByIds(ids.subList(0, BulkEditService.CHUNK_SIZE));
+        verify(tradeRepo).deleteByIds(List.of(BulkEditService.CHUNK_SIZE + 1));
+        verify(transactionManager, times(2)).commit(any());
+        verify(changeFeed).invalidate(ChangeFeed.TRADE);
+    }
+
+    @Test
+    @DisplayName("deleteTrades sans identifiant existant ne supprime rien et ne notifie pas les listes")
+    void deleteTrades_ShouldDoNothing_WhenNoIdExists() {
+        when(tradeRepo.findExistingIds(List.of(9))).thenReturn(List.of());
+
+        assertThat(service.deleteTrades(List.of(9))).isZero();
+
+        verify(tradeRepo, never()).deleteByIds(any());
+        verify(positionEngine, never()).tradesDeleted(any());
+        verify(changeFeed, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("deleteTrades par critères parcourt les identifiants par pages keyset jusqu'à la dernière")
+    void deleteTrades_ShouldWalkMatchingIdsByKeyset() {
+        List<Integer> firstChunk = IntStream.rangeClosed(1, BulkEditService.CHUNK_SIZE).boxed().toList();
+        when(tradeRepo.findIdsMatching(eq(0), eq("ACC"), isNull(), any())).thenReturn(firstChunk);
+        when(tradeRepo.findIdsMatching(eq(BulkEditService.CHUNK_SIZE), eq("ACC"), isNull(), any()))
+                .thenReturn(List.of(2000));
+        when(tradeRepo.deleteByIds(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        int deleted = service.deleteTrades(new BulkCriteria(" ACC ", "", null));
+
+        assertThat(deleted).isEqualTo(BulkEditService.CHUNK_SIZE + 1);
+        verify(tradeRepo).deleteByIds(firstChunk);
+        verify(tradeRepo).deleteByIds(List.of(2000));
+        verify(positionEngine, times(2)).tradesDeleted(anyCollection());
+    }
+
+    @Test
+    @DisplayName("deleteTrades sur une plage de dates parcourt l'index par date puis identifiant")
+    void deleteTrades_ShouldWalkDateRangeByDateAndId() {
+        DateRange range = DateRange.ofDays(LocalDate.of(2024, 3, 1), null, ZoneOffset.UTC);
+        Instant lastDate = range.from().plusSeconds(60);
+        List<DatedId> firstChunk = IntStream.rangeClosed(1, BulkEditService.CHUNK_SIZE)
+                .mapToObj(id -> new DatedId(id, id == BulkEditService.CHUNK_SIZE ? lastDate : range.from()))
+                .toList();
+        when(tradeRepo.findIdsBetween(eq(range.from()), eq(0), eq(range.to()), eq("ACC"), isNull(), any()))
+                .thenReturn(firstChunk);
+        when(tradeRepo.findIdsBetween(eq(lastDate), eq(BulkEditService.CHUNK_SIZE), eq(range.to()), eq("ACC"),
+                isNull(), any())).thenReturn(List.of(new DatedId(7, lastDate)));
+        when(tradeRepo.deleteByIds(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        int deleted = service.deleteTrades(new BulkCriteria("ACC", null, range));
+
+        assertThat(deleted).isEqualTo(BulkEditService.CHUNK_SIZE + 1);
+        verify(tradeRepo).deleteByIds(List.of(7));
+        verify(tradeRepo, never()).findIdsMatching(anyInt(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("deleteTrades refuse des critères vides qui viseraient toute la table")
+    void deleteTrades_ShouldRejectEmptyCriteria() {
+        assertThatThrownBy(() -> service.deleteTrades(new BulkCriteria(" ", null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(tradeRepo, transactionManager);
+    }
+
+    @Test
+    @DisplayName("updateTradeStatus change le statut sans toucher aux positions ni aux listes")
+    void updateTradeStatus_ShouldUpdateStatusAndAudit() {
+        when(tradeRepo.findExistingIds(List.of(3, 4))).thenReturn(List.of(3, 4));
+        when(tradeRepo.updateStatusByIds(eq(List.of(3, 4)), eq("CLOSED"), eq("admin"), any())).thenReturn(2);
+
+        assertThat(service.updateTradeStatus(List.of(4, 3), " CLOSED ")).isEqualTo(2);
+
+        verify(auditTrail).recordAll(eq(Trade.class), eq(List.of(3, 4)), eq(AuditAction.UPDATE), contains("status=CLOSED"));
+        verifyNoInteractions(positionEngine);
+        verify(changeFeed, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("updateTradeStatus refuse un statut vide")
+    void updateTradeStatus_ShouldRejectBlankStatus() {
+        assertThatThrownBy(() -> service.updateTradeStatus(List.of(1), " "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Le statut est obligatoire");
+    }
+
+    @Test
+    @DisplayName("deleteBidLists retire les offres des carnets d'ordres et invalide la liste")
+    void deleteBidLists_ShouldUpdateOrderBooks() {
+        when(bidListRepo.findIdsMatching(eq(0), isNull(), eq("BOOK"), any())).thenReturn(List.of(7, 8));
+        when(bidListRepo.deleteByIds(List.of(7, 8))).thenReturn(2);
+
+        assertThat(service.deleteBidLists(new BulkCriteria(null, "BOOK", null))).isEqualTo(2);
+
+        verify(auditTrail).recordAll(eq(BidList.class), eq(List.of(7, 8)), eq(AuditAction.DELETE), anyString());
+        verify(orderBookEngine).bidListsDeleted(List.of(7, 8));
+        verify(changeFeed).invalidate(ChangeFeed.BID_LIST);
+    }
+
+    @Test
+    @DisplayName("updateBidListStatus change le statut des offres listées")
+    void updateBidListStatus_ShouldUpdateStatus() {
+        when(bidListRepo.findExistingIds(List.of(7))).thenReturn(List.of(7));
+        when(bidListRepo.updateStatusByIds(eq(List.of(7)), eq("CANCELLED"), eq("admin"), any())).thenReturn(1);
+
+        assertThat(service.updateBidListStatus(List.of(7), "CANCELLED")).isEqualTo(1);
+
+        verify(auditTrail).recordAll(eq(BidList.class), eq(List.of(7)), eq(AuditAction.UPDATE), contains("status=CANCELLED"));
+        verifyNoInteractions(orderBookEngine);
+    }
+}
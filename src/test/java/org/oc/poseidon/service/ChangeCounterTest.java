@@ -0,0 +1,54 @@
+package org.oc.poseidon.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeCounterTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Chaque écriture change l'ETag de la liste")
+    void increment_ShouldChangeEtag() {
+        ChangeCounter counter = new ChangeCounter("rating");
+        ListVersion before = counter.current();
+
+        counter.increment();
+
+        assertThat(counter.current().changes()).isEqualTo(1);
+        assertThat(counter.current().etag("user")).isNotEqualTo(before.etag("user"));
+        assertThat(counter.current().lastModified()).isGreaterThanOrEqualTo(before.lastModified());
+    }
+
+    @Test
+    @DisplayName("L'ETag dépend de la session du client et est une ETag forte")
+    void etag_ShouldDependOnVariant() {
+        ListVersion version = new ChangeCounter("rating").current();
+
+        assertThat(version.etag("alice|s1")).startsWith("\"rating-").endsWith("\"");
+        assertThat(version.etag("alice|s1")).isNotEqualTo(version.etag("alice|s2"));
+    }
+
+    @Test
+    @DisplayName("Dans une transaction, le compteur n'avance qu'après la validation")
+    void increment_ShouldWaitForCommit() {
+        ChangeCounter counter = new ChangeCounter("rating");
+        TransactionSynchronizationManager.initSynchronization();
+
+        counter.increment();
+        assertThat(counter.current().changes()).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(counter.current().changes()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,159 @@
+package org.oc.poseidon.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.TradeSummary;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeFeedTest {
+
+    private SimpleMeterRegistry registry;
+    private ChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        feed = new ChangeFeed(registry, 2, Duration.ofMillis(50));
+    }
+
+    private static TradeSummary row(int id, double quantity) {
+        return new TradeSummary(id, "ACC", "Type", quantity);
+    }
+
+    @Test
+    @DisplayName("Les modifications successives d'une ligne sont fusionnées")
+    void coalesce_ShouldMergeChangesOfTheSameRow() {
+        ChangeEvent create = new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.CREATE, row(1, 10));
+        ChangeEvent update = new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.UPDATE, row(1, 20));
+        ChangeEvent delete = new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.DELETE, null);
+
+        assertThat(ChangeFeed.coalesce(null, update)).isEqualTo(update);
+        assertThat(ChangeFeed.coalesce(create, update))
+                .isEqualTo(new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.CREATE, row(1, 20)));
+        assertThat(ChangeFeed.coalesce(create, delete)).isNull();
+        assertThat(ChangeFeed.coalesce(update, delete)).isEqualTo(delete);
+    }
+
+    @Test
+    @DisplayName("Le tampon d'un client garde une entrée par ligne, dans l'ordre de première modification")
+    void subscriber_ShouldKeepOneEventPerRow() {
+        ChangeFeed.Subscriber subscriber = new ChangeFeed.Subscriber(new SseEmitter(), 2);
+
+        subscriber.offer(new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.UPDATE, row(1, 10)));
+        subscriber.offer(new ChangeEvent(ChangeFeed.TRADE, 2, AuditAction.CREATE, row(2, 5)));
+        subscriber.offer(new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.UPDATE, row(1, 30)));
+        subscriber.offer(new ChangeEvent(ChangeFeed.TRADE, 2, AuditAction.DELETE, null));
+
+        assertThat(subscriber.pendingEvents())
+                .containsExactly(new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.UPDATE, row(1, 30)));
+    }
+
+    @Test
+    @DisplayName("Un tampon plein est remplacé par un événement reset")
+    void subscriber_ShouldResetOnOverflow() {
+        ChangeFeed.Subscriber subscriber = new ChangeFeed.Subscriber(new SseEmitter(), 2);
+
+        assertThat(subscriber.offer(new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.UPDATE, row(1, 1)))).isTrue();
+        assertThat(subscriber.offer(new ChangeEvent(ChangeFeed.TRADE, 2, AuditAction.UPDATE, row(2, 2)))).isTrue();
+        assertThat(subscriber.offer(new ChangeEvent(ChangeFeed.TRADE, 3, AuditAction.UPDATE, row(3, 3)))).isFalse();
+
+        assertThat(subscriber.pendingEvents()).isEmpty();
+        assertThat(subscriber.hasPending()).isTrue();
+    }
+
+    @Test
+    @DisplayName("flush envoie les modifications en attente aux seuls abonnés du flux concerné")
+    void flush_ShouldSendPendingChangesToSubscribers() throws InterruptedException {
+        RecordingEmitter trades = new RecordingEmitter();
+        RecordingEmitter bids = new RecordingEmitter();
+        feed.subscribe(ChangeFeed.TRADE, trades);
+        feed.subscribe(ChangeFeed.BID_LIST, bids);
+
+        feed.publish(ChangeFeed.TRADE, 1, AuditAction.CREATE, row(1, 10));
+        feed.publish(ChangeFeed.TRADE, 1, AuditAction.UPDATE, row(1, 20));
+        feed.flush();
+
+        assertThat(trades.await(1)).containsExactly(
+                List.of(new ChangeEvent(ChangeFeed.TRADE, 1, AuditAction.CREATE, row(1, 20))));
+        assertThat(bids.sent).isEmpty();
+    }
+
+    @Test
+    @DisplayName("invalidate et le débordement d'un tampon envoient un événement reset")
+    void invalidate_ShouldSendReset() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(ChangeFeed.TRADE, emitter);
+
+        for (int id = 1; id <= 3; id++) {
+            feed.publish(ChangeFeed.TRADE, id, AuditAction.UPDATE, row(id, id));
+        }
+        feed.flush();
+
+        assertThat(emitter.await(1)).containsExactly(ChangeFeed.RESET_EVENT);
+        assertThat(registry.get("poseidon.feed.overflow").counter().count()).isEqualTo(1.0);
+
+        feed.invalidate(ChangeFeed.TRADE);
+        feed.flush();
+
+        assertThat(emitter.await(2)).containsExactly(ChangeFeed.RESET_EVENT, ChangeFeed.RESET_EVENT);
+    }
+
+    @Test
+    @DisplayName("Un client dont la connexion est fermée est désabonné")
+    void flush_ShouldUnsubscribeBrokenClients() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.broken = true;
+        feed.subscribe(ChangeFeed.TRADE, emitter);
+        assertThat(registry.get("poseidon.feed.clients").gauge().value()).isEqualTo(1.0);
+
+        feed.publish(ChangeFeed.TRADE, 1, AuditAction.DELETE, null);
+        feed.flush();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.get("poseidon.feed.clients").gauge().value() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(registry.get("poseidon.feed.clients").gauge().value()).isZero();
+    }
+
+    /**
+     * Connexion SSE enregistrant le nom de l'événement {@code reset} ou la liste des modifications envoyées.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof List<?> events) {
+                    sent.add(events);
+                } else if (part.getData() instanceof String text && text.contains("event:" + ChangeFeed.RESET_EVENT)) {
+                    sent.add(ChangeFeed.RESET_EVENT);
+                }
+            });
+        }
+
+        private List<Object> await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sent.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return sent;
+        }
+    }
+}
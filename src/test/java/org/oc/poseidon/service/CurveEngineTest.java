@@ -0,0 +1,168 @@
+package org.oc.poseidon.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.CurvePoint;
+import org.oc.poseidon.repositories.CurvePointRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.*;
+
+class CurveEngineTest {
+
+    private CurvePointRepository repo;
+    private CurveEngine engine;
+    private List<CurvePoint> points;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(CurvePointRepository.class);
+        engine = new CurveEngine(repo);
+        points = List.of(
+                new CurvePoint(1, 1.0, 1.0),
+                new CurvePoint(1, 2.0, 4.0),
+                new CurvePoint(1, 3.0, 9.0),
+                new CurvePoint(1, 4.0, 16.0));
+        when(repo.findByCurveIdOrderByTermAsc(1)).thenReturn(points);
+    }
+
+    @Test
+    @DisplayName("valueAt interpole linéairement entre deux points")
+    void valueAt_ShouldInterpolateLinearly() {
+        assertThat(engine.valueAt(1, 1.5)).isEqualTo(2.5);
+        assertThat(engine.valueAt(1, 3.0)).isEqualTo(9.0);
+    }
+
+    @Test
+    @DisplayName("valueAt extrapole à plat hors de l'intervalle")
+    void valueAt_ShouldExtrapolateFlat() {
+        assertThat(engine.valueAt(1, 0.0)).isEqualTo(1.0);
+        assertThat(engine.valueAt(1, 10.0)).isEqualTo(16.0);
+    }
+
+    @Test
+    @DisplayName("valueAt en spline cubique passe par les points et reste lisse")
+    void valueAt_ShouldInterpolateWithCubicSpline() {
+        assertThat(engine.valueAt(1, 2.0, Interpolation.CUBIC_SPLINE)).isEqualTo(4.0);
+        assertThat(engine.valueAt(1, 2.5, Interpolation.CUBIC_SPLINE)).isCloseTo(6.25, within(0.1));
+        assertThat(engine.valueAt(1, 2.5, Interpolation.CUBIC_SPLINE))
+                .isNotEqualTo(engine.valueAt(1, 2.5, Interpolation.LINEAR));
+    }
+
+    @Test
+    @DisplayName("Une courbe n'est lue qu'une fois en base tant qu'elle n'est pas invalidée")
+    void valueAt_ShouldCacheCurve() {
+        engine.valueAt(1, 1.5);
+        engine.valueAt(1, 2.5);
+        verify(repo, times(1)).findByCurveIdOrderByTermAsc(1);
+
+        engine.invalidate(1);
+        engine.valueAt(1, 2.5);
+        verify(repo, times(2)).findByCurveIdOrderByTermAsc(1);
+    }
+
+    @Test
+    @DisplayName("Un chargement en cours ne bloque ni les autres courbes ni les invalidations")
+    void load_ShouldNotBlockOtherCurvesOrInvalidation() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repo.findByCurveIdOrderByTermAsc(1)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return points;
+        });
+        when(repo.findByCurveIdOrderByTermAsc(2)).thenReturn(List.of(new CurvePoint(2, 1.0, 5.0)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Double> slow = executor.submit(() -> engine.valueAt(1, 1.5));
+            loading.await();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                engine.invalidate(3);
+                assertThat(engine.valueAt(2, 1.0)).isEqualTo(5.0);
+            });
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo(2.5);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Une courbe invalidée pendant son chargement n'est pas mise en cache")
+    void invalidate_ShouldDiscardCurveLoadedBeforeIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repo.findByCurveIdOrderByTermAsc(1))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return List.of(new CurvePoint(1, 1.0, 0.0));
+                })
+                .thenReturn(points);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Double> stale = executor.submit(() -> engine.valueAt(1, 1.0));
+            loading.await();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> engine.invalidate(1));
+            release.countDown();
+            assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo(0.0);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(engine.valueAt(1, 1.0)).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("invalidatePoint retire du cache la courbe qui contient le point")
+    void invalidatePoint_ShouldEvictOwningCurve() {
+        CurvePoint point = new CurvePoint(3, 1.0, 2.0);
+        point.setId(42);
+        when(repo.findByCurveIdOrderByTermAsc(3)).thenReturn(List.of(point));
+        engine.valueAt(1, 1.5);
+        engine.valueAt(3, 1.0);
+
+        engine.invalidatePoint(42);
+        engine.valueAt(1, 1.5);
+        engine.valueAt(3, 1.0);
+
+        verify(repo, times(1)).findByCurveIdOrderByTermAsc(1);
+        verify(repo, times(2)).findByCurveIdOrderByTermAsc(3);
+    }
+
+    @Test
+    @DisplayName("Les points sans maturité ou sans valeur sont ignorés")
+    void valueAt_ShouldIgnoreIncompletePoints() {
+        when(repo.findByCurveIdOrderByTermAsc(2)).thenReturn(List.of(
+                new CurvePoint(2, null, 5.0),
+                new CurvePoint(2, 1.0, 2.0),
+                new CurvePoint(2, 2.0, null)));
+
+        assertThat(engine.valueAt(2, 3.0, Interpolation.CUBIC_SPLINE)).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("valueAt lève une exception pour une courbe inconnue")
+    void valueAt_ShouldThrow_WhenCurveUnknown() {
+        when(repo.findByCurveIdOrderByTermAsc(99)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> engine.valueAt(99, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
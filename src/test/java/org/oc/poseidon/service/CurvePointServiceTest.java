@@ -4,22 +4,27 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.oc.poseidon.domain.CurvePoint;
+import org.oc.poseidon.domain.CurvePointSummary;
 import org.oc.poseidon.repositories.CurvePointRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class CurvePointServiceTest {
 
     private CurvePointRepository repo;
+    private CurveEngine curveEngine;
     private CurvePointService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(CurvePointRepository.class);
-        service = new CurvePointService(repo);
+        curveEngine = mock(CurveEngine.class);
+        service = new CurvePointService(repo, curveEngine);
     }
 
     @Test
@@ -33,6 +38,17 @@ class CurvePointServiceTest {
         verify(repo).findAll();
     }
 
+    @Test
+    @DisplayName("curveSummaries retourne les projections du dépôt")
+    void curveSummaries_ShouldReturnProjections() {
+        when(repo.findAllSummaries()).thenReturn(List.of(new CurvePointSummary(1, 3, 10.0, 5.0)));
+
+        List<CurvePointSummary> result = service.curveSummaries();
+
+        assertThat(result).extracting(CurvePointSummary::curveId).containsExactly(3);
+        verify(repo, never()).findAll();
+    }
+
     @Test
     @DisplayName("validCurvePoint retourne true pour un objet valide")
     void validCurvePoint_ShouldReturnTrue() {
@@ -65,7 +81,9 @@ class CurvePointServiceTest {
         boolean result = service.addCurvePoint(curve);
 
         assertThat(result).isTrue();
+        assertThat(service.listVersion().changes()).isEqualTo(1);
         verify(repo).save(curve);
+        verify(curveEngine).invalidate(1);
     }
 
     @Test
@@ -92,51 +110,58 @@ class CurvePointServiceTest {
     }
 
     @Test
-    @DisplayName("updateCurvePoint modifie les champs et sauvegarde")
-    void updateCurvePoint_ShouldUpdateAndSave() {
-        CurvePoint existing = new CurvePoint();
-        existing.setCurveId(1);
-        existing.setTerm(1.0);
-        existing.setValue(1.0);
-
+    @DisplayName("updateCurvePoint modifie les champs et invalide les courbes concernées")
+    void updateCurvePoint_ShouldUpdateAndInvalidate() {
         CurvePoint form = new CurvePoint();
         form.setCurveId(2);
         form.setTerm(5.5);
         form.setValue(10.0);
+        form.setVersion(0);
 
-        when(repo.findById(1)).thenReturn(existing);
+        when(repo.updateIfVersion(1, 0, 2, 5.5, 10.0)).thenReturn(1);
 
         boolean result = service.updateCurvePoint(form, 1);
 
         assertThat(result).isTrue();
-        assertThat(existing.getCurveId()).isEqualTo(2);
-        assertThat(existing.getTerm()).isEqualTo(5.5);
-        assertThat(existing.getValue()).isEqualTo(10.0);
-        verify(repo).save(existing);
+        verify(repo, never()).save(any());
+        verify(curveEngine).invalidatePoint(1);
+        verify(curveEngine).invalidate(2);
+    }
+
+    @Test
+    @DisplayName("updateCurvePoint signale un conflit sans invalider de courbe")
+    void updateCurvePoint_ShouldThrow_WhenVersionIsStale() {
+        CurvePoint form = new CurvePoint(2, 5.5, 10.0);
+        form.setVersion(0);
+
+        when(repo.updateIfVersion(1, 0, 2, 5.5, 10.0)).thenReturn(0);
+
+        assertThatThrownBy(() -> service.updateCurvePoint(form, 1))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verifyNoInteractions(curveEngine);
     }
 
     @Test
     @DisplayName("updateCurvePoint ne fait rien si invalide")
     void updateCurvePoint_ShouldNotUpdate_WhenInvalid() {
-        CurvePoint existing = new CurvePoint();
         CurvePoint form = new CurvePoint(); // invalide : curveId null
 
-        when(repo.findById(1)).thenReturn(existing);
-
         boolean result = service.updateCurvePoint(form, 1);
 
         assertThat(result).isFalse();
-        verify(repo, never()).save(any());
+        verifyNoInteractions(repo);
     }
 
     @Test
     @DisplayName("deleteCurvePoint appelle bien le repo")
     void deleteCurvePoint_ShouldDelete() {
         CurvePoint c = new CurvePoint();
+        c.setCurveId(3);
         when(repo.findById(1)).thenReturn(c);
 
         service.deleteCurvePoint(1);
 
         verify(repo).delete(c);
+        verify(curveEngine).invalidate(3);
     }
 }
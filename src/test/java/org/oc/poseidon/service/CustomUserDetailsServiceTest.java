@@ -5,9 +5,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.oc.poseidon.domain.User;
 import org.oc.poseidon.repositories.UserRepository;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
@@ -20,7 +29,7 @@ class CustomUserDetailsServiceTest {
     @BeforeEach
     void setup() {
         userRepository = mock(UserRepository.class);
-        userDetailsService = new CustomUserDetailsService(userRepository);
+        userDetailsService = new CustomUserDetailsService(userRepository, 100, Duration.ofMinutes(5));
     }
 
     @Test
@@ -48,4 +57,95 @@ class CustomUserDetailsServiceTest {
         assertThatThrownBy(() -> userDetailsService.loadUserByUsername("unknown"))
                 .isInstanceOf(UsernameNotFoundException.class);
     }
+
+    @Test
+    @DisplayName("loadUserByUsername ne consulte la base qu'une fois grâce au cache")
+    void loadUserByUsername_ShouldUseCache() {
+        when(userRepository.findByUsername("johndoe")).thenReturn(user("johndoe", "encrypted"));
+
+        userDetailsService.loadUserByUsername("johndoe");
+        UserDetails second = userDetailsService.loadUserByUsername("johndoe");
+
+        assertThat(second.getPassword()).isEqualTo("encrypted");
+        verify(userRepository, times(1)).findByUsername("johndoe");
+    }
+
+    @Test
+    @DisplayName("L'effacement du mot de passe par Spring Security n'altère pas le cache")
+    void loadUserByUsername_ShouldReturnDetachedCopies() {
+        when(userRepository.findByUsername("johndoe")).thenReturn(user("johndoe", "encrypted"));
+
+        UserDetails first = userDetailsService.loadUserByUsername("johndoe");
+        ((CredentialsContainer) first).eraseCredentials();
+
+        assertThat(userDetailsService.loadUserByUsername("johndoe").getPassword()).isEqualTo("encrypted");
+    }
+
+    @Test
+    @DisplayName("evict force le rechargement de l'utilisateur")
+    void evict_ShouldReloadUser() {
+        when(userRepository.findByUsername("johndoe"))
+                .thenReturn(user("johndoe", "old"))
+                .thenReturn(user("johndoe", "new"));
+
+        userDetailsService.loadUserByUsername("johndoe");
+        userDetailsService.evict("johndoe");
+
+        assertThat(userDetailsService.loadUserByUsername("johndoe").getPassword()).isEqualTo("new");
+        verify(userRepository, times(2)).findByUsername("johndoe");
+    }
+
+    @Test
+    @DisplayName("evict pendant un chargement en cours ne laisse pas l'ancien utilisateur en cache")
+    void evict_ShouldDiscardConcurrentLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("johndoe"))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return user("johndoe", "old");
+                })
+                .thenReturn(user("johndoe", "new"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<UserDetails> load = executor.submit(() -> userDetailsService.loadUserByUsername("johndoe"));
+            loading.await();
+            Future<?> evict = executor.submit(() -> userDetailsService.evict("johndoe"));
+            try {
+                evict.get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // l'invalidation attend la fin du chargement en cours
+            }
+            release.countDown();
+            assertThat(load.get(5, TimeUnit.SECONDS).getPassword()).isEqualTo("old");
+            evict.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(userDetailsService.loadUserByUsername("johndoe").getPassword()).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("updatePassword enregistre le nouveau hachage et vide le cache")
+    void updatePassword_ShouldPersistAndEvict() {
+        when(userRepository.findByUsername("johndoe")).thenReturn(user("johndoe", "legacy"));
+        UserDetails loaded = userDetailsService.loadUserByUsername("johndoe");
+
+        UserDetails upgraded = userDetailsService.updatePassword(loaded, "{bcrypt}new");
+
+        assertThat(upgraded.getPassword()).isEqualTo("{bcrypt}new");
+        verify(userRepository).updatePassword("johndoe", "{bcrypt}new");
+        userDetailsService.loadUserByUsername("johndoe");
+        verify(userRepository, times(2)).findByUsername("johndoe");
+    }
+
+    private static User user(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(password);
+        user.setRole("ROLE_USER");
+        return user;
+    }
 }
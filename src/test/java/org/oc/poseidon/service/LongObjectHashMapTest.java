@@ -0,0 +1,51 @@
+package org.oc.poseidon.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectHashMapTest {
+
+    @Test
+    @DisplayName("put, get et remove se comportent comme une Map, y compris après agrandissement")
+    void operations_ShouldMatchHashMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(2_000) * 1024L;
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = "v" + i;
+                assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 2_000 * 1024L; key += 1024) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+    }
+
+    @Test
+    @DisplayName("forEachValue parcourt toutes les valeurs présentes")
+    void forEachValue_ShouldVisitAllValues() {
+        LongObjectHashMap<Integer> map = new LongObjectHashMap<>(4);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.remove(50);
+
+        int[] sum = {0};
+        map.forEachValue(value -> sum[0] += value);
+
+        assertThat(sum[0]).isEqualTo(4950 - 50);
+    }
+}
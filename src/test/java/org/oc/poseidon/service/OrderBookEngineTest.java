@@ -0,0 +1,123 @@
+package org.oc.poseidon.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.BidList;
+import org.oc.poseidon.repositories.BidListRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+class OrderBookEngineTest {
+
+    private BidListRepository repo;
+    private OrderBookEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(BidListRepository.class);
+        engine = new OrderBookEngine(repo, mock(PlatformTransactionManager.class));
+        when(repo.streamAll()).thenAnswer(invocation -> Stream.of(
+                bid(1, "SEC", 10.0, 100.0, 11.0, 50.0),
+                bid(2, "SEC", 10.5, 20.0, null, null),
+                bid(3, "SEC", 10.0, 30.0, 12.0, 40.0),
+                bid(4, "OTHER", null, null, 5.0, 10.0),
+                bid(5, null, 99.0, 1.0, null, null)));
+    }
+
+    private static BidList bid(int id, String security, Double bid, Double bidQuantity, Double ask, Double askQuantity) {
+        BidList bidList = new BidList("Account", "Type", bidQuantity);
+        ReflectionTestUtils.setField(bidList, "BidListId", id);
+        bidList.setSecurity(security);
+        bidList.setBid(bid);
+        bidList.setAsk(ask);
+        bidList.setAskQuantity(askQuantity);
+        return bidList;
+    }
+
+    @Test
+    @DisplayName("Le premier accès construit les carnets à partir des offres lues en base")
+    void topOfBook_ShouldBuildOnFirstAccess() {
+        TopOfBook top = engine.topOfBook("SEC").orElseThrow();
+
+        assertThat(top.bestBid()).isEqualTo(new PriceLevel(10.5, 20.0, 1));
+        assertThat(top.bestAsk()).isEqualTo(new PriceLevel(11.0, 50.0, 1));
+        assertThat(top.spread()).isEqualTo(0.5);
+        assertThat(engine.topOfBook("OTHER").orElseThrow().bestBid()).isNull();
+        assertThat(engine.topOfBook("UNKNOWN")).isEmpty();
+        verify(repo, times(1)).streamAll();
+    }
+
+    @Test
+    @DisplayName("depth agrège les offres d'un même prix et classe chaque côté du meilleur au moins bon")
+    void depth_ShouldAggregateLevels() {
+        OrderBookDepth depth = engine.depth("SEC", 10).orElseThrow();
+
+        assertThat(depth.bids()).containsExactly(new PriceLevel(10.5, 20.0, 1), new PriceLevel(10.0, 130.0, 2));
+        assertThat(depth.asks()).containsExactly(new PriceLevel(11.0, 50.0, 1), new PriceLevel(12.0, 40.0, 1));
+        assertThat(engine.depth("SEC", 1).orElseThrow().bids()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("topOfBooks liste les titres par ordre alphabétique et ignore les offres sans titre")
+    void topOfBooks_ShouldBeSortedBySecurity() {
+        assertThat(engine.topOfBooks()).extracting(TopOfBook::security).containsExactly("OTHER", "SEC");
+    }
+
+    @Test
+    @DisplayName("Création, modification et suppression mettent à jour les carnets sans relire la base")
+    void writes_ShouldUpdateIncrementally() {
+        engine.topOfBook("SEC");
+
+        engine.bidListSaved(bid(6, "SEC", 10.8, 5.0, 10.9, 7.0));
+        assertThat(engine.topOfBook("SEC").orElseThrow().spread()).isCloseTo(0.1, within(1e-9));
+
+        engine.bidQuantityAmended(3, 70.0);
+        assertThat(engine.depth("SEC", 10).orElseThrow().bids())
+                .contains(new PriceLevel(10.0, 170.0, 2));
+
+        engine.bidListDeleted(2);
+        engine.bidListDeleted(6);
+        assertThat(engine.topOfBook("SEC").orElseThrow().bestBid()).isEqualTo(new PriceLevel(10.0, 170.0, 2));
+
+        engine.bidListDeleted(4);
+        assertThat(engine.topOfBook("OTHER")).isEmpty();
+        verify(repo, times(1)).streamAll();
+    }
+
+    @Test
+    @DisplayName("Une offre enregistrée de nouveau remplace sa contribution précédente")
+    void bidListSaved_ShouldReplaceKnownBid() {
+        engine.topOfBook("SEC");
+
+        engine.bidListSaved(bid(2, "OTHER", 4.0, 1.0, null, null));
+
+        assertThat(engine.topOfBook("SEC").orElseThrow().bestBid()).isEqualTo(new PriceLevel(10.0, 130.0, 2));
+        assertThat(engine.topOfBook("OTHER").orElseThrow().bestBid()).isEqualTo(new PriceLevel(4.0, 1.0, 1));
+    }
+
+    @Test
+    @DisplayName("Les écritures sont ignorées tant que les carnets ne sont pas construits")
+    void writes_ShouldBeIgnoredBeforeFirstAccess() {
+        engine.bidListSaved(bid(6, "NEW", 1.0, 1.0, null, null));
+
+        assertThat(engine.topOfBook("NEW")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("rebuild remplace les carnets et renvoie le nombre d'offres chargées")
+    void rebuild_ShouldReloadFromDatabase() {
+        engine.topOfBook("SEC");
+        engine.bidListSaved(bid(6, "NEW", 1.0, 1.0, null, null));
+
+        assertThat(engine.rebuild()).isEqualTo(4);
+        assertThat(engine.topOfBook("NEW")).isEmpty();
+        verify(repo, times(2)).streamAll();
+    }
+}
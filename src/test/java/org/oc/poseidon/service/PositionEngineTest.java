@@ -0,0 +1,137 @@
+package org.oc.poseidon.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.TradeRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+class PositionEngineTest {
+
+    private TradeRepository repo;
+    private PositionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(TradeRepository.class);
+        engine = new PositionEngine(repo, mock(PlatformTransactionManager.class));
+        when(repo.streamAll()).thenAnswer(invocation -> Stream.of(
+                trade(1, "ACC", "BOOK", "SEC", 100.0, 10.0, null, null),
+                trade(2, "ACC", "BOOK", "SEC", 300.0, 20.0, 50.0, 30.0),
+                trade(3, "ACC", "BOOK", "OTHER", 5.0, null, null, null)));
+    }
+
+    private static Trade trade(int id, String account, String book, String security,
+                               Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice) {
+        Trade trade = new Trade(account, "Type");
+        trade.setTradeId(id);
+        trade.setBook(book);
+        trade.setSecurity(security);
+        trade.setBuyQuantity(buyQuantity);
+        trade.setBuyPrice(buyPrice);
+        trade.setSellQuantity(sellQuantity);
+        trade.setSellPrice(sellPrice);
+        return trade;
+    }
+
+    @Test
+    @DisplayName("Le premier accès agrège les transactions lues en base")
+    void position_ShouldAggregateOnFirstAccess() {
+        Position position = engine.position("ACC", "BOOK", "SEC").orElseThrow();
+
+        assertThat(position.buyQuantity()).isEqualTo(400.0);
+        assertThat(position.sellQuantity()).isEqualTo(50.0);
+        assertThat(position.netQuantity()).isEqualTo(350.0);
+        assertThat(position.averageBuyPrice()).isCloseTo(17.5, within(1e-9));
+        assertThat(position.averageSellPrice()).isEqualTo(30.0);
+        assertThat(position.trades()).isEqualTo(2);
+        assertThat(engine.position("ACC", "BOOK", "OTHER").orElseThrow().averageBuyPrice()).isNull();
+        assertThat(engine.position("ACC", "BOOK", "UNKNOWN")).isEmpty();
+        verify(repo, times(1)).streamAll();
+    }
+
+    @Test
+    @DisplayName("Les écritures avant le premier accès sont ignorées : la base fait foi au chargement")
+    void writes_ShouldBeIgnored_BeforeFirstLoad() {
+        engine.tradeSaved(trade(9, "ACC", "BOOK", "SEC", 1.0, null, null, null));
+
+        assertThat(engine.position("ACC", "BOOK", "SEC").orElseThrow().trades()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Une création s'ajoute à la position, et la réappliquer ne la compte pas deux fois")
+    void tradeSaved_ShouldBeIdempotent() {
+        engine.positions();
+        Trade trade = trade(4, "ACC", "BOOK", "SEC", 100.0, 40.0, null, null);
+
+        engine.tradeSaved(trade);
+        engine.tradeSaved(trade);
+
+        Position position = engine.position("ACC", "BOOK", "SEC").orElseThrow();
+        assertThat(position.buyQuantity()).isEqualTo(500.0);
+        assertThat(position.trades()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Un changement de compte déplace la contribution vers la nouvelle position")
+    void tradeAmended_ShouldMoveContribution() {
+        engine.positions();
+
+        engine.tradeAmended(2, "NEW", 30.0);
+
+        Position old = engine.position("ACC", "BOOK", "SEC").orElseThrow();
+        assertThat(old.buyQuantity()).isEqualTo(100.0);
+        assertThat(old.sellQuantity()).isZero();
+        Position moved = engine.position("NEW", "BOOK", "SEC").orElseThrow();
+        assertThat(moved.buyQuantity()).isEqualTo(30.0);
+        assertThat(moved.averageBuyPrice()).isEqualTo(20.0);
+        assertThat(moved.averageSellPrice()).isEqualTo(30.0);
+    }
+
+    @Test
+    @DisplayName("Une suppression retire la position devenue vide de l'instantané")
+    void tradeDeleted_ShouldRemoveEmptyPosition() {
+        engine.positions();
+
+        engine.tradeDeleted(3);
+        engine.tradeDeleted(3);
+
+        assertThat(engine.position("ACC", "BOOK", "OTHER")).isEmpty();
+        assertThat(engine.positions()).extracting(Position::security).containsExactly("SEC");
+    }
+
+    @Test
+    @DisplayName("Le prix moyen redevient nul quand toutes les transactions valorisées sont retirées")
+    void averagePrice_ShouldBeNull_WhenPricedTradesAreRemoved() {
+        engine.positions();
+        engine.tradeSaved(trade(4, "ACC", "BOOK", "DRIFT", 0.1, 10.0, 0.1, 10.0));
+        engine.tradeSaved(trade(5, "ACC", "BOOK", "DRIFT", 0.2, 30.0, 0.2, 30.0));
+        engine.tradeSaved(trade(6, "ACC", "BOOK", "DRIFT", 1.0, null, 1.0, null));
+
+        engine.tradeDeleted(4);
+        engine.tradeDeleted(5);
+
+        Position position = engine.position("ACC", "BOOK", "DRIFT").orElseThrow();
+        assertThat(position.trades()).isEqualTo(1);
+        assertThat(position.averageBuyPrice()).isNull();
+        assertThat(position.averageSellPrice()).isNull();
+    }
+
+    @Test
+    @DisplayName("rebuild relit la base et remplace l'agrégat")
+    void rebuild_ShouldReloadFromDatabase() {
+        engine.positions();
+        when(repo.streamAll()).thenAnswer(invocation -> Stream.of(trade(1, "ACC", "BOOK", "SEC", 1.0, null, null, null)));
+
+        assertThat(engine.rebuild()).isEqualTo(1);
+        assertThat(engine.positions()).singleElement()
+                .satisfies(position -> assertThat(position.buyQuantity()).isEqualTo(1.0));
+    }
+}
@@ -0,0 +1,118 @@
+package org.oc.poseidon.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.Rating;
+import org.oc.poseidon.repositories.RatingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérifie que les lectures de {@link Rating} sont servies par le cache de second niveau
+ * et que chaque écriture via {@link RatingService} invalide la liste mise en cache.
+ */
+@SpringBootTest
+class RatingCacheTest {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("La liste des ratings, une fois chargée, ne sollicite plus la base")
+    void ratingAll_ShouldBeServedFromCacheOnceWarm() {
+        ratingService.addRating(new Rating("Aaa", "AAA", "AAA", 1));
+        ratingService.addRating(new Rating("Aa1", "AA+", "AA+", 2));
+        ratingService.ratingAll();
+
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(2, ratingService.ratingAll().size());
+        assertEquals(2, ratingService.ratingAll().size());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("La projection de la liste des ratings est servie par le cache de requêtes")
+    void ratingSummaries_ShouldBeServedFromCacheOnceWarm() {
+        ratingService.addRating(new Rating("Aaa", "AAA", "AAA", 1));
+        ratingService.ratingSummaries();
+
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals("Aaa", ratingService.ratingSummaries().get(0).moodysRating());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Un rating lu par identifiant est servi par le cache")
+    void ratingById_ShouldBeServedFromCacheOnceWarm() {
+        ratingService.addRating(new Rating("Aaa", "AAA", "AAA", 1));
+        int id = ratingService.ratingAll().get(0).getId();
+        ratingService.ratingById(id);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals("Aaa", ratingService.ratingById(id).getMoodysRating());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Ajout, mise à jour et suppression invalident la liste en cache")
+    void writes_ShouldInvalidateCachedList() {
+        ratingService.addRating(new Rating("Aaa", "AAA", "AAA", 1));
+        assertEquals(1, ratingService.ratingAll().size());
+
+        ratingService.addRating(new Rating("Aa1", "AA+", "AA+", 2));
+        assertEquals(2, ratingService.ratingAll().size());
+
+        Rating first = ratingService.ratingAll().get(0);
+        Rating form = new Rating("Baa1", "BBB+", "BBB+", 9);
+        form.setVersion(first.getVersion());
+        ratingService.updateRating(form, first.getId());
+        assertTrue(ratingService.ratingAll().stream().anyMatch(r -> "Baa1".equals(r.getMoodysRating())));
+        assertEquals("Baa1", ratingService.ratingById(first.getId()).getMoodysRating());
+
+        ratingService.deleteRating(first.getId());
+        assertEquals(1, ratingService.ratingAll().size());
+    }
+
+    @Test
+    @DisplayName("Une mise à jour avec une version périmée est rejetée et ne modifie rien")
+    void update_ShouldRejectStaleVersion() {
+        ratingService.addRating(new Rating("Aaa", "AAA", "AAA", 1));
+        Rating loaded = ratingService.ratingAll().get(0);
+
+        Rating firstForm = new Rating("Aa1", "AA+", "AA+", 1);
+        firstForm.setVersion(loaded.getVersion());
+        ratingService.updateRating(firstForm, loaded.getId());
+
+        Rating staleForm = new Rating("Baa1", "BBB+", "BBB+", 1);
+        staleForm.setVersion(loaded.getVersion());
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> ratingService.updateRating(staleForm, loaded.getId()));
+        assertEquals("Aa1", ratingService.ratingById(loaded.getId()).getMoodysRating());
+    }
+}
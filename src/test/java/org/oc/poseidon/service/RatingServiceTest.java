@@ -4,11 +4,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.oc.poseidon.domain.Rating;
+import org.oc.poseidon.domain.RatingSummary;
 import org.oc.poseidon.repositories.RatingRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class RatingServiceTest {
@@ -33,6 +36,17 @@ class RatingServiceTest {
         verify(repo).findAll();
     }
 
+    @Test
+    @DisplayName("ratingSummaries retourne les projections du dépôt")
+    void ratingSummaries_ShouldReturnProjections() {
+        when(repo.findAllSummaries()).thenReturn(List.of(new RatingSummary(1, "Aaa", "AAA", "AAA", 1)));
+
+        List<RatingSummary> result = service.ratingSummaries();
+
+        assertThat(result).extracting(RatingSummary::moodysRating).containsExactly("Aaa");
+        verify(repo, never()).findAll();
+    }
+
     @Test
     @DisplayName("validRating retourne true si au moins un champ est rempli")
     void validRating_ShouldReturnTrue() {
@@ -63,6 +77,7 @@ class RatingServiceTest {
         boolean result = service.addRating(rating);
 
         assertThat(result).isTrue();
+        assertThat(service.listVersion().changes()).isEqualTo(1);
         verify(repo).save(rating);
     }
 
@@ -90,39 +105,46 @@ class RatingServiceTest {
     }
 
     @Test
-    @DisplayName("updateRating modifie et sauvegarde un rating existant")
-    void updateRating_ShouldUpdateAndSave() {
-        Rating existing = new Rating();
-        existing.setMoodysRating("Old");
-
+    @DisplayName("updateRating modifie un rating existant et reconstruit l'index")
+    void updateRating_ShouldUpdateAndRebuildIndex() {
         Rating form = new Rating();
         form.setMoodysRating("New");
         form.setFitchRating("Fitch A");
         form.setSandPRating("S&P B");
         form.setOrderNumber(5);
+        form.setVersion(1);
 
-        when(repo.findById(1)).thenReturn(existing);
+        when(repo.updateIfVersion(1, 1, "New", "S&P B", "Fitch A", 5)).thenReturn(1);
 
         boolean result = service.updateRating(form, 1);
 
         assertThat(result).isTrue();
-        assertThat(existing.getMoodysRating()).isEqualTo("New");
-        assertThat(existing.getFitchRating()).isEqualTo("Fitch A");
-        verify(repo).save(existing);
+        verify(repo, never()).save(any());
+        verify(repo).findAllFromPrimary();
+    }
+
+    @Test
+    @DisplayName("updateRating signale un conflit si la version a changé")
+    void updateRating_ShouldThrow_WhenVersionIsStale() {
+        Rating form = new Rating("New", "S&P B", "Fitch A", 5);
+        form.setVersion(1);
+
+        when(repo.updateIfVersion(1, 1, "New", "S&P B", "Fitch A", 5)).thenReturn(0);
+
+        assertThatThrownBy(() -> service.updateRating(form, 1))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(repo, never()).findAllFromPrimary();
     }
 
     @Test
     @DisplayName("updateRating ne fait rien si rating invalide")
     void updateRating_ShouldNotUpdate_WhenInvalid() {
-        Rating existing = new Rating();
         Rating form = new Rating(); // tous les champs null
 
-        when(repo.findById(1)).thenReturn(existing);
-
         boolean result = service.updateRating(form, 1);
 
         assertThat(result).isFalse();
-        verify(repo, never()).save(any());
+        verifyNoInteractions(repo);
     }
 
     @Test
@@ -135,4 +157,56 @@ class RatingServiceTest {
 
         verify(repo).delete(rating);
     }
+
+    @Test
+    @DisplayName("translate convertit une note d'une agence vers une autre")
+    void translate_ShouldMapBetweenAgencies() {
+        when(repo.findAllFromPrimary()).thenReturn(List.of(
+                new Rating("Aaa", "AAA", "AAA", 1),
+                new Rating("Aa1", "AA+", "AA+", 2),
+                new Rating("Baa3", "BBB-", null, 10)));
+
+        assertThat(service.translate(RatingAgency.MOODYS, "Aa1", RatingAgency.SANDP)).contains("AA+");
+        assertThat(service.translate(RatingAgency.SANDP, " AAA ", RatingAgency.MOODYS)).contains("Aaa");
+        assertThat(service.translate(RatingAgency.MOODYS, "Baa3", RatingAgency.FITCH)).isEmpty();
+        assertThat(service.translate(RatingAgency.FITCH, "D", RatingAgency.MOODYS)).isEmpty();
+        verify(repo, times(1)).findAllFromPrimary();
+    }
+
+    @Test
+    @DisplayName("rank et ratingAt donnent le rang d'une note et la note d'un rang")
+    void rank_ShouldReturnOrderNumber() {
+        when(repo.findAllFromPrimary()).thenReturn(List.of(
+                new Rating("Aa1", "AA+", "AA+", 2),
+                new Rating("Aaa", "AAA", "AAA", 1)));
+
+        assertThat(service.rank(RatingAgency.FITCH, "AA+")).contains(2);
+        assertThat(service.rank(RatingAgency.MOODYS, "Caa1")).isEmpty();
+        assertThat(service.ratingAt(1, RatingAgency.MOODYS)).contains("Aaa");
+        assertThat(service.ratingAt(99, RatingAgency.MOODYS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Une note présente sur plusieurs lignes est rattachée au plus petit rang")
+    void rank_ShouldPreferLowestOrderNumberOnDuplicates() {
+        when(repo.findAllFromPrimary()).thenReturn(List.of(
+                new Rating("Aaa", "AAA", "AAA", 3),
+                new Rating("Aaa", "AAA", "AAA", 1)));
+
+        assertThat(service.rank(RatingAgency.MOODYS, "Aaa")).contains(1);
+    }
+
+    @Test
+    @DisplayName("L'index est reconstruit après une écriture")
+    void addRating_ShouldRebuildIndex() {
+        when(repo.findAllFromPrimary()).thenReturn(List.of(new Rating("Aaa", "AAA", "AAA", 1)));
+        assertThat(service.rank(RatingAgency.MOODYS, "Aa1")).isEmpty();
+
+        when(repo.findAllFromPrimary()).thenReturn(List.of(
+                new Rating("Aaa", "AAA", "AAA", 1),
+                new Rating("Aa1", "AA+", "AA+", 2)));
+        service.addRating(new Rating("Aa1", "AA+", "AA+", 2));
+
+        assertThat(service.rank(RatingAgency.MOODYS, "Aa1")).contains(2);
+    }
 }
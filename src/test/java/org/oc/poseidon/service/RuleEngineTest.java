@@ -0,0 +1,164 @@
+package org.oc.poseidon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.RuleName;
+import org.oc.poseidon.repositories.RuleNameRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.*;
+
+class RuleEngineTest {
+
+    private RuleNameRepository repo;
+    private JdbcTemplate jdbcTemplate;
+    private RuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(RuleNameRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        engine = new RuleEngine(repo, new RuleSqlExecutor(jdbcTemplate), new ObjectMapper(),
+                mock(PlatformTransactionManager.class));
+
+        RuleName rule = new RuleName("Limit", "desc", "{\"limit\": 100, \"currency\": \"EUR\"}",
+                "Compte ${account} : limite ${limit} ${currency}",
+                "select * from trade where account = :account", "and buy_quantity > :limit");
+        rule.setId(1);
+        when(repo.findById(1)).thenReturn(rule);
+    }
+
+    @Test
+    @DisplayName("render utilise le contexte puis les paramètres JSON de la règle")
+    void render_ShouldResolveContextThenJson() {
+        String result = engine.render(1, Map.of("account", "ACC1", "currency", "USD"));
+
+        assertThat(result).isEqualTo("Compte ACC1 : limite 100 USD");
+    }
+
+    @Test
+    @DisplayName("query exécute le SQL préparé avec les paramètres liés dans l'ordre")
+    void query_ShouldBindNamedParameters() {
+        engine.query(1, Map.of("account", "ACC1"));
+
+        verify(jdbcTemplate).queryForList(
+                "select * from trade where account = ? and buy_quantity > ?", "ACC1", 100);
+    }
+
+    @Test
+    @DisplayName("Une règle n'est compilée qu'une fois tant qu'elle n'est pas évincée")
+    void compiled_ShouldBeCachedUntilEvicted() {
+        CompiledRule first = engine.compiled(1);
+        engine.render(1, Map.of());
+        assertThat(engine.compiled(1)).isSameAs(first);
+        verify(repo, times(1)).findById(1);
+
+        engine.evict(1);
+
+        assertThat(engine.compiled(1)).isNotSameAs(first);
+        verify(repo, times(2)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Une règle sans modèle ni SQL ne rend rien")
+    void render_ShouldReturnNull_WhenNoTemplate() {
+        RuleName rule = new RuleName("Empty", null, null, null, null, null);
+        when(repo.findById(2)).thenReturn(rule);
+
+        assertThat(engine.render(2, Map.of())).isNull();
+        assertThat(engine.query(2, Map.of())).isNull();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("compiled lève une exception pour un JSON invalide ou une règle inconnue")
+    void compiled_ShouldThrow_WhenInvalid() {
+        RuleName rule = new RuleName("Broken", null, "{not json", null, null, null);
+        when(repo.findById(3)).thenReturn(rule);
+
+        assertThatThrownBy(() -> engine.compiled(3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> engine.compiled(4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("compiled refuse une règle enregistrée dont la requête n'est pas un SELECT")
+    void compiled_ShouldRejectWritingSql() {
+        RuleName rule = new RuleName("Purge", null, null, null, "select 1 from trade", "; delete from users");
+        when(repo.findById(4)).thenReturn(rule);
+
+        assertThatThrownBy(() -> engine.query(4, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("SELECT");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Une compilation en cours ne bloque ni les autres règles ni les retraits")
+    void compiled_ShouldNotBlockOtherRulesOrEviction() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RuleName slowRule = new RuleName("Slow", null, null, "lent", null, null);
+        when(repo.findById(5)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return slowRule;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> engine.render(5, Map.of()));
+            loading.await();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                engine.evict(6);
+                assertThat(engine.render(1, Map.of("account", "ACC1"))).isEqualTo("Compte ACC1 : limite 100 EUR");
+            });
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("lent");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Une règle retirée pendant sa compilation n'est pas mise en cache")
+    void evict_ShouldDiscardRuleCompiledBeforeIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repo.findById(5))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return new RuleName("Old", null, null, "ancienne", null, null);
+                })
+                .thenReturn(new RuleName("New", null, null, "nouvelle", null, null));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> engine.render(5, Map.of()));
+            loading.await();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> engine.evict(5));
+            release.countDown();
+            assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("ancienne");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(engine.render(5, Map.of())).isEqualTo("nouvelle");
+    }
+}
@@ -4,22 +4,27 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.oc.poseidon.domain.RuleName;
+import org.oc.poseidon.domain.RuleNameSummary;
 import org.oc.poseidon.repositories.RuleNameRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class RuleNameServiceTest {
 
     private RuleNameRepository repo;
+    private RuleEngine ruleEngine;
     private RuleNameService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(RuleNameRepository.class);
-        service = new RuleNameService(repo);
+        ruleEngine = mock(RuleEngine.class);
+        service = new RuleNameService(repo, ruleEngine);
     }
 
     @Test
@@ -33,6 +38,17 @@ class RuleNameServiceTest {
         verify(repo).findAll();
     }
 
+    @Test
+    @DisplayName("ruleNameSummaries retourne les projections du dépôt")
+    void ruleNameSummaries_ShouldReturnProjections() {
+        when(repo.findAllSummaries()).thenReturn(List.of(new RuleNameSummary(1, "Name", null, null, null, null, null)));
+
+        List<RuleNameSummary> result = service.ruleNameSummaries();
+
+        assertThat(result).extracting(RuleNameSummary::name).containsExactly("Name");
+        verify(repo, never()).findAll();
+    }
+
     @Test
     @DisplayName("validRuleName retourne true si au moins un champ est non-null")
     void validRuleName_ShouldReturnTrue() {
@@ -59,6 +75,7 @@ class RuleNameServiceTest {
         boolean result = service.addRuleName(rule);
 
         assertThat(result).isTrue();
+        assertThat(service.listVersion().changes()).isEqualTo(1);
         verify(repo).save(rule);
     }
 
@@ -86,41 +103,42 @@ class RuleNameServiceTest {
     }
 
     @Test
-    @DisplayName("updateRuleName met à jour les champs et sauvegarde")
-    void updateRuleName_ShouldUpdateAndSave() {
-        RuleName existing = new RuleName();
-        existing.setName("Old");
-
-        RuleName form = new RuleName();
-        form.setName("New");
-        form.setDescription("New desc");
-        form.setJson("{...}");
-        form.setTemplate("tpl");
-        form.setSqlStr("SQL");
-        form.setSqlPart("PART");
+    @DisplayName("updateRuleName met à jour les champs et évince la règle compilée")
+    void updateRuleName_ShouldUpdateAndEvict() {
+        RuleName form = new RuleName("New", "New desc", "{...}", "tpl", "select trade_id from trade", "where account = :account");
+        form.setVersion(4);
 
-        when(repo.findById(1)).thenReturn(existing);
+        when(repo.updateIfVersion(1, 4, "New", "New desc", "{...}", "tpl", "select trade_id from trade", "where account = :account")).thenReturn(1);
 
         boolean result = service.updateRuleName(form, 1);
 
         assertThat(result).isTrue();
-        assertThat(existing.getName()).isEqualTo("New");
-        assertThat(existing.getDescription()).isEqualTo("New desc");
-        verify(repo).save(existing);
+        verify(repo, never()).save(any());
+        verify(ruleEngine).evict(1);
+    }
+
+    @Test
+    @DisplayName("updateRuleName signale un conflit et conserve la règle compilée")
+    void updateRuleName_ShouldThrow_WhenVersionIsStale() {
+        RuleName form = new RuleName("New", "New desc", "{...}", "tpl", "select trade_id from trade", "where account = :account");
+        form.setVersion(4);
+
+        when(repo.updateIfVersion(1, 4, "New", "New desc", "{...}", "tpl", "select trade_id from trade", "where account = :account")).thenReturn(0);
+
+        assertThatThrownBy(() -> service.updateRuleName(form, 1))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verifyNoInteractions(ruleEngine);
     }
 
     @Test
     @DisplayName("updateRuleName ne fait rien si invalide")
     void updateRuleName_ShouldNotUpdate_WhenInvalid() {
-        RuleName existing = new RuleName();
         RuleName form = new RuleName(); // tous les champs null
 
-        when(repo.findById(1)).thenReturn(existing);
-
         boolean result = service.updateRuleName(form, 1);
 
         assertThat(result).isFalse();
-        verify(repo, never()).save(any());
+        verifyNoInteractions(repo);
     }
 
     @Test
@@ -132,5 +150,16 @@ class RuleNameServiceTest {
         service.deleteRuleName(1);
 
         verify(repo).delete(rule);
+        verify(ruleEngine).evict(1);
+    }
+
+    @Test
+    @DisplayName("validRuleName refuse une règle dont la requête n'est pas une seule instruction SELECT")
+    void validRuleName_ShouldRejectWritingSql() {
+        RuleName rule = new RuleName("Purge", null, null, null, "delete from trade", null);
+
+        assertThat(service.validRuleName(rule)).isFalse();
+        assertThat(service.addRuleName(rule)).isFalse();
+        verify(repo, never()).save(any());
     }
 }
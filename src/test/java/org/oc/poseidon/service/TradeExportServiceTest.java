@@ -0,0 +1,88 @@
+package org.oc.poseidon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.repositories.TradeRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TradeExportServiceTest {
+
+    private TradeRepository repo;
+    private EntityManager entityManager;
+    private TradeExportService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(TradeRepository.class);
+        entityManager = mock(EntityManager.class);
+        service = new TradeExportService(repo, entityManager, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("exportCsv écrit l'en-tête puis une ligne échappée par transaction")
+    void exportCsv_ShouldWriteHeaderAndRows() throws Exception {
+        Trade trade = new Trade("Account, Inc", "Type");
+        trade.setTradeId(1);
+        trade.setBuyQuantity(12.5);
+        when(repo.streamAll()).thenReturn(Stream.of(trade));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = service.exportCsv(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(1);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("tradeId,account,type,buyQuantity,");
+        assertThat(lines[1]).startsWith("1,\"Account, Inc\",Type,12.5,");
+        verify(entityManager).detach(trade);
+    }
+
+    @Test
+    @DisplayName("exportNdjson écrit un objet JSON par ligne")
+    void exportNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        Trade first = new Trade("A", "T");
+        first.setTradeId(1);
+        Trade second = new Trade("B", "T");
+        second.setTradeId(2);
+        when(repo.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = service.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(mapper.readTree(lines[0]).get("account").asText()).isEqualTo("A");
+        assertThat(mapper.readTree(lines[1]).get("tradeId").asInt()).isEqualTo(2);
+        assertThat(mapper.readTree(lines[1]).get("book").isNull()).isTrue();
+        verify(entityManager, times(2)).detach(any(Trade.class));
+    }
+
+    @Test
+    @DisplayName("exportNdjson ne vide la sortie qu'à intervalle régulier, pas à chaque ligne")
+    void exportNdjson_ShouldFlushOnInterval() throws Exception {
+        when(repo.streamAll()).thenReturn(IntStream.rangeClosed(1, 10).mapToObj(id -> {
+            Trade trade = new Trade("A", "T");
+            trade.setTradeId(id);
+            return trade;
+        }));
+        OutputStream out = spy(new ByteArrayOutputStream());
+
+        assertThat(service.exportNdjson(out)).isEqualTo(10);
+
+        verify(out, times(1)).flush();
+    }
+}
@@ -3,23 +3,37 @@ package org.oc.poseidon.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.oc.poseidon.domain.AuditAction;
+import org.oc.poseidon.domain.AuditEntry;
 import org.oc.poseidon.domain.Trade;
+import org.oc.poseidon.domain.TradeSummary;
 import org.oc.poseidon.repositories.TradeRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class TradeServiceTest {
 
     private TradeRepository repo;
+    private AuditTrail auditTrail;
+    private PositionEngine positionEngine;
+    private ChangeFeed changeFeed;
     private TradeService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(TradeRepository.class);
-        service = new TradeService(repo);
+        auditTrail = mock(AuditTrail.class);
+        when(auditTrail.currentUsername()).thenReturn("admin");
+        positionEngine = mock(PositionEngine.class);
+        changeFeed = mock(ChangeFeed.class);
+        service = new TradeService(repo, auditTrail, positionEngine, changeFeed);
     }
 
     @Test
@@ -33,6 +47,54 @@ class TradeServiceTest {
         verify(repo).findAll();
     }
 
+    @Test
+    @DisplayName("tradePage retourne la première page et le curseur suivant")
+    void tradePage_ShouldReturnFirstPage() {
+        when(repo.findSummariesAfter(0, PageRequest.ofSize(3)))
+                .thenReturn(List.of(summary(1), summary(2), summary(3)));
+
+        KeysetPage<TradeSummary> page = service.tradePage(null, null, 2);
+
+        assertThat(page.content()).extracting(TradeSummary::tradeId).containsExactly(1, 2);
+        assertThat(page.previousCursor()).isNull();
+        assertThat(page.nextCursor()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("tradePage remonte à la page précédente dans l'ordre croissant")
+    void tradePage_ShouldReturnPreviousPage() {
+        when(repo.findSummariesBefore(5, PageRequest.ofSize(3)))
+                .thenReturn(List.of(summary(4), summary(3)));
+
+        KeysetPage<TradeSummary> page = service.tradePage(null, 5, 2);
+
+        assertThat(page.content()).extracting(TradeSummary::tradeId).containsExactly(3, 4);
+        assertThat(page.previousCursor()).isNull();
+        assertThat(page.nextCursor()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("tradePage limite la page à la plage de dates demandée")
+    void tradePage_ShouldQueryDateRange() {
+        DateRange range = new DateRange(Instant.parse("2024-03-01T00:00:00Z"), Instant.parse("2024-03-02T00:00:00Z"));
+        when(repo.findSummariesBetweenAfter(range.from(), range.to(), 0, PageRequest.ofSize(3)))
+                .thenReturn(List.of(summary(7)));
+
+        KeysetPage<TradeSummary> page = service.tradePage(null, null, 2, range);
+
+        assertThat(page.content()).extracting(TradeSummary::tradeId).containsExactly(7);
+        assertThat(page.nextCursor()).isNull();
+        verify(repo, never()).findSummariesAfter(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("tradePage borne la taille de page")
+    void tradePage_ShouldClampSize() {
+        service.tradePage(null, null, 10_000);
+
+        verify(repo).findSummariesAfter(0, PageRequest.ofSize(TradeService.MAX_PAGE_SIZE + 1));
+    }
+
     @Test
     @DisplayName("validTrade retourne true si au moins un champ est non-null")
     void validTrade_ShouldReturnTrue() {
@@ -51,7 +113,7 @@ class TradeServiceTest {
     }
 
     @Test
-    @DisplayName("addTrade sauvegarde si trade valide")
+    @DisplayName("addTrade sauvegarde si trade valide, avec son auteur, et l'enregistre dans l'audit")
     void addTrade_ShouldSave_WhenValid() {
         Trade trade = new Trade();
         trade.setType("Type");
@@ -59,7 +121,13 @@ class TradeServiceTest {
         boolean result = service.addTrade(trade);
 
         assertThat(result).isTrue();
+        assertThat(trade.getCreationName()).isEqualTo("admin");
+        assertThat(trade.getCreationDate()).isNotNull();
+        assertThat(trade.getTradeDate()).isEqualTo(trade.getCreationDate().toInstant());
         verify(repo).save(trade);
+        verify(positionEngine).tradeSaved(trade);
+        verify(auditTrail).record(eq(Trade.class), any(), eq(AuditAction.CREATE), contains("type=Type"));
+        verify(changeFeed).publish(eq(ChangeFeed.TRADE), any(), eq(AuditAction.CREATE), any(TradeSummary.class));
     }
 
     @Test
@@ -71,6 +139,7 @@ class TradeServiceTest {
 
         assertThat(result).isFalse();
         verifyNoInteractions(repo);
+        verify(auditTrail, never()).record(any(), any(), any(), any());
     }
 
     @Test
@@ -86,38 +155,53 @@ class TradeServiceTest {
     }
 
     @Test
-    @DisplayName("updateTrade met à jour et sauvegarde un trade valide")
-    void updateTrade_ShouldUpdateAndSave_WhenValid() {
-        Trade existing = new Trade();
-        existing.setAccount("Old");
-
+    @DisplayName("updateTrade met à jour un trade valide en une seule requête versionnée")
+    void updateTrade_ShouldUpdate_WhenValid() {
         Trade form = new Trade();
         form.setAccount("New");
         form.setType("Type");
         form.setBuyQuantity(100.0);
+        form.setVersion(3);
 
-        when(repo.findByTradeId(1)).thenReturn(existing);
+        when(repo.updateIfVersion(eq(1), eq(3), eq("New"), eq("Type"), eq(100.0), eq("admin"), any()))
+                .thenReturn(1);
 
         boolean result = service.updateTrade(form, 1);
 
         assertThat(result).isTrue();
-        assertThat(existing.getAccount()).isEqualTo("New");
-        assertThat(existing.getBuyQuantity()).isEqualTo(100.0);
-        verify(repo).save(existing);
+        verify(repo).updateIfVersion(eq(1), eq(3), eq("New"), eq("Type"), eq(100.0), eq("admin"), any());
+        verify(positionEngine).tradeAmended(1, "New", 100.0);
+        verify(auditTrail).record(eq(Trade.class), eq(1), eq(AuditAction.UPDATE), contains("account=New"));
+        verify(changeFeed).publish(ChangeFeed.TRADE, 1, AuditAction.UPDATE, new TradeSummary(1, "New", "Type", 100.0));
+        verify(repo, never()).findByTradeId(anyInt());
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("updateTrade signale un conflit si la version a changé")
+    void updateTrade_ShouldThrow_WhenVersionIsStale() {
+        Trade form = new Trade("New", "Type");
+        form.setBuyQuantity(100.0);
+        form.setVersion(3);
+
+        when(repo.updateIfVersion(eq(1), eq(3), eq("New"), eq("Type"), eq(100.0), eq("admin"), any()))
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> service.updateTrade(form, 1))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verifyNoInteractions(positionEngine);
+        verify(auditTrail, never()).record(any(), any(), any(), any());
     }
 
     @Test
     @DisplayName("updateTrade ne fait rien si invalide")
     void updateTrade_ShouldNotUpdate_WhenInvalid() {
-        Trade existing = new Trade();
         Trade form = new Trade(); // tout est null
 
-        when(repo.findByTradeId(1)).thenReturn(existing);
-
         boolean result = service.updateTrade(form, 1);
 
         assertThat(result).isFalse();
-        verify(repo, never()).save(any());
+        verifyNoInteractions(repo);
     }
 
     @Test
@@ -129,5 +213,21 @@ class TradeServiceTest {
         service.deleteTrade(1);
 
         verify(repo).delete(trade);
+        verify(positionEngine).tradeDeleted(1);
+        verify(auditTrail).record(eq(Trade.class), eq(1), eq(AuditAction.DELETE), any());
+        verify(changeFeed).publish(ChangeFeed.TRADE, 1, AuditAction.DELETE, null);
+    }
+
+    @Test
+    @DisplayName("tradeHistory délègue à l'historique d'audit")
+    void tradeHistory_ShouldReadAuditTrail() {
+        AuditEntry entry = new AuditEntry("Trade", 1, AuditAction.CREATE, "admin", null, null);
+        when(auditTrail.history(Trade.class, 1)).thenReturn(List.of(entry));
+
+        assertThat(service.tradeHistory(1)).containsExactly(entry);
+    }
+
+    private static TradeSummary summary(int id) {
+        return new TradeSummary(id, "Account", "Type", 1.0);
     }
 }
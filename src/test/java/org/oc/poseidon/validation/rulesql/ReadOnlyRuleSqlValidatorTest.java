@@ -0,0 +1,42 @@
+package org.oc.poseidon.validation.rulesql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadOnlyRuleSqlValidatorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "select * from trade where account = :account",
+            "SELECT t.trade_id FROM trade t JOIN bidlist b ON b.account = t.account",
+            "select account from trade where commentary = 'a; delete from users -- x'",
+            "select account from trade where commentary = 'it''s'"
+    })
+    @DisplayName("Une seule instruction SELECT est acceptée, y compris avec des caractères spéciaux dans les chaînes")
+    void isSingleSelect_ShouldAcceptSelect(String sql) {
+        assertThat(ReadOnlyRuleSqlValidator.isSingleSelect(sql)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "delete from trade",
+            "update trade set status = 'X'",
+            "select 1; delete from trade",
+            "select 1 from trade -- commentaire",
+            "select 1 from trade /*!50000 union select password from users */",
+            "select password from users",
+            "select password from `users`",
+            "select * from information_schema.tables",
+            "select * from trade into outfile '/tmp/trades'",
+            "select * from trade for update",
+            "select sleep(10)",
+            "select * from trade where account = 'open"
+    })
+    @DisplayName("Toute autre instruction, commentaire, verrou ou accès aux utilisateurs est refusé")
+    void isSingleSelect_ShouldRejectOtherStatements(String sql) {
+        assertThat(ReadOnlyRuleSqlValidator.isSingleSelect(sql)).isFalse();
+    }
+}